@@ -0,0 +1,122 @@
+package com.codewise.config;
+
+import com.codewise.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Encoders;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+
+import java.lang.reflect.Proxy;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter 요청당 비용 (./gradlew jmh, 평균 시간 + gc.alloc.rate.norm)
+ * - legacyFilter: 기존 방식 (validateToken 으로 파싱/서명 검증 → getEmail 로 다시 파싱/서명 검증, 매번 문자열 키 디코딩)
+ * - singlePassFilter: JwtUtil.verify 한 번 (캐시 크기 0 → 매 요청 파싱 + 서명 검증 1회)
+ * - cachedFilter: JwtUtil.verify + 검증된 클레임 캐시 (tokens 개 토큰을 돌려가며 사용)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"1", "1000"})
+    public int tokens;
+
+    private String secretKey;
+    private HttpServletRequest[] requests;
+    private JwtAuthenticationFilter singlePassFilter;
+    private JwtAuthenticationFilter cachedFilter;
+    private final FilterChain chain = (request, response) -> { };
+    private int next;
+
+    @Setup
+    public void setUp() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        secretKey = Encoders.BASE64.encode(secret);
+
+        JwtUtil issuer = new JwtUtil(secretKey, 0);
+        requests = new HttpServletRequest[tokens];
+        for (int i = 0; i < tokens; i++) {
+            requests[i] = request("Bearer " + issuer.generateToken("user" + i + "@codewise.com"));
+        }
+        singlePassFilter = new JwtAuthenticationFilter(new JwtUtil(secretKey, 0));
+        cachedFilter = new JwtAuthenticationFilter(new JwtUtil(secretKey, 10_000));
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public void legacyFilter(Blackhole bh) {
+        HttpServletRequest request = nextRequest();
+        String token = request.getHeader("Authorization").substring(7);
+        boolean valid;
+        try {
+            Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token);
+            valid = true;
+        } catch (JwtException | IllegalArgumentException e) {
+            valid = false;
+        }
+        if (valid) {
+            Claims claims = Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token).getBody();
+            String email = claims.get("email", String.class);
+            UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                    email != null ? email : claims.getSubject(), null, new ArrayList<>());
+            auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(auth);
+        }
+        bh.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void singlePassFilter(Blackhole bh) throws Exception {
+        singlePassFilter.doFilter(nextRequest(), null, chain);
+        bh.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void cachedFilter(Blackhole bh) throws Exception {
+        cachedFilter.doFilter(nextRequest(), null, chain);
+        bh.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    private HttpServletRequest nextRequest() {
+        HttpServletRequest request = requests[next];
+        next = next + 1 == requests.length ? 0 : next + 1;
+        return request;
+    }
+
+    // 필터가 읽는 Authorization 헤더 / 원격 주소만 돌려주는 요청 (세션 없음)
+    private static HttpServletRequest request(String authorization) {
+        return (HttpServletRequest) Proxy.newProxyInstance(
+                JwtAuthenticationFilterBenchmark.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getHeader" -> "Authorization".equalsIgnoreCase((String) args[0]) ? authorization : null;
+                    case "getRemoteAddr" -> "127.0.0.1";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "BenchmarkRequest";
+                    default -> method.getReturnType() == boolean.class ? Boolean.FALSE : null;
+                });
+    }
+}
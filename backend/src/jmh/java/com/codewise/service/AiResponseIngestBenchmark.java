@@ -0,0 +1,103 @@
+package com.codewise.service;
+
+import com.codewise.config.ObjectMapperConfig;
+import com.codewise.dto.AiAnalysisPayload;
+import com.codewise.dto.AnalyzeResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI 응답 처리 경로 비교 (./gradlew jmh, gc 프로파일러의 gc.alloc.rate.norm = 호출당 할당 바이트)
+ * - treePath: 기존 방식 (컨트롤러 readTree → toString → saveNewResult 에서 readTree → issues.toString → STOMP 전송 시 트리 직렬화)
+ * - ingestPath: AiResponseIngestor 로 한 번 파싱 → issues 원문 구간 저장 → 원문 바이트 그대로 전송
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AiResponseIngestBenchmark {
+
+    @Param({"10", "200", "2000"})
+    public int issueCount;
+
+    private ObjectMapper objectMapper;
+    private AiResponseIngestor ingestor;
+    private String responseJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapperConfig().objectMapper();
+        ingestor = new AiResponseIngestor(objectMapper);
+
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("summary", "전반적으로 읽기 쉬운 코드지만 예외 처리가 부족합니다.");
+        root.putObject("metrics")
+                .put("maintainability", 72.5)
+                .put("readability", 81.0)
+                .put("bug_probability", 0.18)
+                .put("score", 77);
+        ArrayNode issues = root.putArray("issues");
+        for (int i = 0; i < issueCount; i++) {
+            issues.addObject()
+                    .put("severity", i % 3 == 0 ? "error" : "warning")
+                    .put("message", "변수 이름이 의미를 드러내지 않습니다 (#" + i + ")")
+                    .put("line", i + 1)
+                    .put("suggestion", "count 대신 activeUserCount 처럼 구체적인 이름을 사용하세요.");
+        }
+        root.put("fix", "def main():\n    pass\n");
+        responseJson = objectMapper.writeValueAsString(root);
+    }
+
+    @Benchmark
+    public void treePath(Blackhole bh) throws Exception {
+        // AnalyzeStompController.receive
+        JsonNode controllerNode = objectMapper.readTree(responseJson);
+        String forwarded = controllerNode.toString();
+
+        // AnalysisResultService.saveNewResult
+        JsonNode root = objectMapper.readTree(forwarded);
+        JsonNode metrics = root.path("metrics");
+        bh.consume(metrics.path("maintainability").asDouble(0.0));
+        bh.consume(metrics.path("readability").asDouble(0.0));
+        bh.consume(metrics.path("bug_probability").asDouble(0.0));
+        bh.consume(metrics.path("score").asInt(0));
+        bh.consume(root.path("summary").asText(""));
+        JsonNode issues = root.path("issues");
+        bh.consume(issues.toString());
+        for (JsonNode issue : issues) {
+            bh.consume(issue.path("severity").asText(null));
+            bh.consume(issue.path("message").asText(null));
+        }
+
+        // STOMP 전송 (MappingJackson2MessageConverter 가 트리를 직렬화)
+        bh.consume(objectMapper.writeValueAsBytes(controllerNode));
+    }
+
+    @Benchmark
+    public void ingestPath(Blackhole bh) {
+        AiAnalysisPayload payload = ingestor.ingest(responseJson);
+        AnalyzeResponse response = payload.response();
+        bh.consume(response.metrics());
+        bh.consume(response.summary());
+        bh.consume(payload.issuesJson());
+        for (AnalyzeResponse.Issue issue : response.issues()) {
+            bh.consume(issue.severity());
+            bh.consume(issue.message());
+        }
+
+        // STOMP 전송 (원문 바이트 그대로)
+        bh.consume(payload.raw());
+    }
+}
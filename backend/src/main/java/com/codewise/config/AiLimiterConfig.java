@@ -0,0 +1,32 @@
+package com.codewise.config;
+
+import com.codewise.service.AimdLimitStrategy;
+import com.codewise.service.ConcurrencyLimitStrategy;
+import com.codewise.service.GradientLimitStrategy;
+import com.codewise.service.StaticLimitStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AiLimiterConfig { // AI 서버 동시 호출 한도 전략 선택 (ai.limiter.mode = static | aimd | gradient)
+
+    @Bean
+    public ConcurrencyLimitStrategy concurrencyLimitStrategy(
+            @Value("${ai.limiter.mode:aimd}") String mode,
+            @Value("${ai.bulkhead.max-concurrent:16}") int initialLimit,
+            @Value("${ai.limiter.min-limit:1}") int minLimit,
+            @Value("${ai.limiter.max-limit:64}") int maxLimit,
+            @Value("${ai.limiter.aimd.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${ai.limiter.aimd.latency-threshold-ms:5000}") long latencyThresholdMs,
+            @Value("${ai.limiter.gradient.tolerance:1.5}") double tolerance,
+            @Value("${ai.limiter.gradient.smoothing:0.2}") double smoothing) {
+
+        return switch (mode.toLowerCase()) {
+            case "static" -> new StaticLimitStrategy(initialLimit);
+            case "aimd" -> new AimdLimitStrategy(initialLimit, minLimit, maxLimit, backoffRatio, latencyThresholdMs);
+            case "gradient" -> new GradientLimitStrategy(initialLimit, minLimit, maxLimit, tolerance, smoothing);
+            default -> throw new IllegalArgumentException("지원하지 않는 ai.limiter.mode 입니다: " + mode);
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.codewise.config;
+
+import com.codewise.domain.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate 2차 캐시 (JCache + Caffeine), 지금은 User 만 캐시
+ * 거의 모든 요청이 email 로 사용자를 찾으므로 email → id (natural id 영역) 과 id → 사용자 (엔티티 영역) 를 노드 로컬에 둔다.
+ * - 영역마다 크기 상한 + 만료 (hibernate.cache.user.ttl-ms): 캐시는 노드마다 따로라서 다른 노드의 수정/탈퇴는 만료 시간 안에 반영됨
+ * - 같은 노드의 수정/탈퇴/OAuth2 정보 갱신은 UserCacheEvictor 가 커밋 직후 바로 지움
+ * - 적중률: cache.gets{cache, result=hit|miss} (JCache 통계)
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(MeterRegistry meterRegistry,
+                                              @Value("${hibernate.cache.user.max-size:100000}") long maxSize,
+                                              @Value("${hibernate.cache.user.ttl-ms:60000}") long ttlMs) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("codewise-hibernate"), getClass().getClassLoader());
+        for (String region : new String[]{User.CACHE_REGION, User.NATURAL_ID_CACHE_REGION}) {
+            Cache<Object, Object> cache = cacheManager.getCache(region);
+            if (cache == null) {
+                cache = cacheManager.createCache(region, regionConfiguration(maxSize, ttlMs));
+            }
+            JCacheMetrics.monitor(meterRegistry, cache);
+        }
+        return cacheManager;
+    }
+
+    // 위에서 만든 영역만 사용 (엔티티에 없는 영역이 생기면 시작 시 실패)
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", true);
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(long maxSize, long ttlMs) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(Math.max(1, maxSize)));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(Math.max(1, ttlMs))));
+        configuration.setStoreByValue(false);     // Hibernate 가 이미 분해된 CacheEntry 를 넣으므로 복사 불필요
+        configuration.setStatisticsEnabled(true); // JCache 통계 MBean → JCacheMetrics
+        return configuration;
+    }
+}
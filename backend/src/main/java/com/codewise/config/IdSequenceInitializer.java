@@ -0,0 +1,61 @@
+package com.codewise.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.Map;
+
+/**
+ * pooled 시퀀스 시작값 보정 (MySQL)
+ * MySQL 은 시퀀스가 없어서 Hibernate 가 {name}_seq 테이블(next_val)로 대신하는데,
+ * IDENTITY 로 쌓인 기존 행이 있으면 새 테이블의 next_val(1)이 기존 id 와 겹친다.
+ * 스케줄러/웹 서버가 시작되기 전에 next_val 을 max(id) + 할당 크기 이상으로 올려둔다.
+ * 보정에 실패한 채 뜨면 새 행이 기존 id 와 충돌하므로 시작 자체를 실패시킨다.
+ */
+@Component
+public class IdSequenceInitializer implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    // 시퀀스 테이블 → 그 시퀀스를 쓰는 엔티티 테이블
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "analysis_history_seq", "analysis_history",
+            "analysis_result_seq", "analysis_result",
+            "analysis_issue_seq", "analysis_issue"
+    );
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceInitializer(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            if (!"MySQL".equalsIgnoreCase(product)) {
+                return;   // 실제 시퀀스를 지원하는 DB (H2 등) 는 보정 불필요
+            }
+            SEQUENCES.forEach((sequence, table) -> {
+                int updated = jdbcTemplate.update(
+                        "UPDATE " + sequence + " SET next_val = GREATEST(next_val, "
+                                + "(SELECT COALESCE(MAX(id), 0) + " + (ALLOCATION_SIZE + 1) + " FROM " + table + "))");
+                log.info("✅ ID 시퀀스 시작값 확인 (sequence={}, updated={})", sequence, updated);
+            });
+        } catch (Exception e) {
+            log.error("❌ ID 시퀀스 시작값 보정 실패, 애플리케이션 시작 중단", e);
+            throw new IllegalStateException("ID 시퀀스 시작값 보정 실패", e);
+        }
+    }
+}
@@ -25,15 +25,13 @@ public class JwtAuthenticationFilter extends GenericFilter { // JWT 토큰을 
             throws IOException, ServletException {
         HttpServletRequest request = (HttpServletRequest) req;
         String token = jwtUtil.resolveToken(request); // HTTP 요청에서 JWT 토큰을 추출
-        if (token != null && jwtUtil.validateToken(token)) { // 토큰이 존재하고 유효한 경우에만 인증 처리
-            String email = jwtUtil.getEmail(token);
-
+        // 한 번만 파싱 + 서명 검증 (같은 토큰은 exp 까지 캐시된 클레임 사용), 유효한 경우에만 인증 처리
+        jwtUtil.verify(token).ifPresent(verified -> {
             UsernamePasswordAuthenticationToken auth =
-                    new UsernamePasswordAuthenticationToken(email, null, new ArrayList<>());
+                    new UsernamePasswordAuthenticationToken(verified.email(), null, new ArrayList<>());
             auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
             SecurityContextHolder.getContext().setAuthentication(auth);
-
-        }
+        });
 
         chain.doFilter(req, res);
     }
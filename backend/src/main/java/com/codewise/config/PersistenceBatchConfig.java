@@ -0,0 +1,40 @@
+package com.codewise.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PersistenceBatchConfig { // JDBC 배치 insert 설정 (히스토리/결과 행을 모아서 한 번에 전송)
+
+    // 같은 엔티티 insert 를 모아 batch-size 개씩 전송 (키는 pooled 시퀀스로 미리 받아두므로 배치가 꺼지지 않음)
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchCustomizer(
+            @Value("${ai.persistence.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", batchSize);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+        };
+    }
+
+    // MySQL 드라이버는 rewriteBatchedStatements 가 있어야 배치를 multi-row INSERT 한 문장으로 보냄 (없으면 행마다 왕복)
+    // static: DataSource 보다 먼저 등록되어야 하는 BeanPostProcessor
+    @Bean
+    public static BeanPostProcessor mysqlBatchRewritePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource
+                        && dataSource.getJdbcUrl() != null
+                        && dataSource.getJdbcUrl().startsWith("jdbc:mysql:")) {
+                    dataSource.addDataSourceProperty("rewriteBatchedStatements", "true");
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.codewise.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * read-your-writes 구간
+ * 복제본은 primary 보다 조금 늦게 따라오므로, 사용자가 방금 저장한 결과/히스토리를 곧바로 목록에서 읽으면 빠져 보일 수 있다.
+ * 저장이 커밋된 뒤 datasource.read-your-writes-ms 동안은 그 사용자(email)의 읽기 전용 트랜잭션도 primary 로 보낸다.
+ * (ReplicaRoutingDataSource 가 현재 로그인 사용자 기준으로 확인, 0 이면 끔)
+ */
+@Component
+public class ReadYourWritesWindow {
+
+    private final Cache<String, Boolean> recentWriters;
+    private final boolean enabled;
+
+    @Autowired
+    public ReadYourWritesWindow(@Value("${datasource.read-your-writes-ms:5000}") long windowMs,
+                                @Value("${datasource.read-your-writes-max-users:100000}") long maxUsers) {
+        this(windowMs, maxUsers, Ticker.systemTicker());
+    }
+
+    // 테스트에서 가짜 시계로 구간 만료를 확인
+    ReadYourWritesWindow(long windowMs, long maxUsers, Ticker ticker) {
+        this.enabled = windowMs > 0;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(Math.max(1, windowMs)))
+                .maximumSize(Math.max(1, maxUsers))
+                .ticker(ticker)
+                .build();
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤부터 구간 시작 (롤백되면 표시하지 않음)
+    public void markWrite(String email) {
+        if (!enabled || email == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentWriters.put(email, Boolean.TRUE);
+                }
+            });
+        } else {
+            recentWriters.put(email, Boolean.TRUE);
+        }
+    }
+
+    public boolean isPinned(String email) {
+        return enabled && email != null && recentWriters.getIfPresent(email) != null;
+    }
+
+    // 현재 스레드의 로그인 사용자 (REST 요청) 가 최근에 저장했는지
+    public boolean isCurrentUserPinned() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && isPinned(authentication.getName());
+    }
+}
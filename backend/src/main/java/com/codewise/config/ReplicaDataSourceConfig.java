@@ -0,0 +1,93 @@
+package com.codewise.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기 복제본 설정 (datasource.replica.urls 가 있을 때만)
+ * - primary: spring.datasource.* / spring.datasource.hikari.* 그대로 (기존 단일 DataSource 와 같은 풀)
+ * - 복제본: datasource.replica.urls (쉼표로 여러 개), 계정이 없으면 primary 계정 사용, 읽기 전용 연결
+ * 애플리케이션이 쓰는 DataSource 는 LazyConnectionDataSourceProxy(ReplicaRoutingDataSource) 하나.
+ * Hibernate 는 트랜잭션이 끝날 때마다 연결을 돌려주도록 바꾼다. 기본값(DELAYED_ACQUISITION_AND_HOLD)은 세션이 닫힐 때까지
+ * 연결을 쥐고 있어서, open-in-view 로 요청 전체가 세션 하나를 쓰면 요청의 첫 트랜잭션이 고른 연결(primary 또는 복제본)을
+ * 이후 트랜잭션도 그대로 쓰게 된다 (복제본 연결로 쓰기 시도 / 읽기가 모두 primary 로).
+ * 설정이 없으면 이 클래스는 빠지고 Spring Boot 기본 DataSource 하나로 동작한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replica", name = "urls")
+public class ReplicaDataSourceConfig implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaDataSourceConfig.class);
+
+    private final List<HikariDataSource> replicas = new ArrayList<>();
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 DataSourceProperties properties,
+                                 ReadYourWritesWindow readYourWritesWindow,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${datasource.replica.urls}") List<String> urls,
+                                 @Value("${datasource.replica.username:}") String username,
+                                 @Value("${datasource.replica.password:}") String password,
+                                 @Value("${datasource.replica.maximum-pool-size:10}") int maximumPoolSize) {
+        for (String url : urls) {
+            if (url == null || url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(url.trim())
+                    .username(username.isBlank() ? properties.determineUsername() : username)
+                    .password(username.isBlank() ? properties.determinePassword() : password)
+                    .build();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setReadOnly(true);
+            replica.setMaximumPoolSize(Math.max(1, maximumPoolSize));
+            replica.setMetricRegistry(meterRegistry);   // hikaricp.connections{pool=replica-N}
+            replicas.add(replica);
+        }
+        log.info("✅ 읽기 복제본 라우팅 사용 (replicas={})", replicas.size());
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWritesWindow, meterRegistry));
+    }
+
+    // 트랜잭션마다 연결을 새로 받아 readOnly 여부로 다시 라우팅 (open-in-view 세션이어도)
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+        return properties -> properties.put("hibernate.connection.handling_mode",
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(HikariDataSource::close);
+    }
+}
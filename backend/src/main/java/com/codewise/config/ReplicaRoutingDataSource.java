@@ -0,0 +1,71 @@
+package com.codewise.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * primary / 복제본 라우팅
+ * - 읽기 전용 트랜잭션 (@Transactional(readOnly = true)) → 복제본 (여러 개면 라운드로빈)
+ * - 그 밖의 모든 연결 (쓰기 트랜잭션, 트랜잭션 밖 조회, 스키마/시퀀스 초기화) → primary
+ * - 읽기 전용이어도 현재 사용자가 read-your-writes 구간 안이면 → primary
+ * 연결을 고르는 시점에 트랜잭션의 readOnly 가 정해져 있어야 하므로 반드시 LazyConnectionDataSourceProxy 로 감싸서 쓴다
+ * (트랜잭션 시작 시점에는 프록시 연결만 받고, 첫 쿼리 때 실제 연결을 고름).
+ * 라우팅 결과: datasource.route{target=primary|replica|pinned}
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<String> replicaKeys;
+    private final ReadYourWritesWindow readYourWritesWindow;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter primaryCounter;
+    private final Counter replicaCounter;
+    private final Counter pinnedCounter;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas,
+                                    ReadYourWritesWindow readYourWritesWindow, MeterRegistry meterRegistry) {
+        this.readYourWritesWindow = readYourWritesWindow;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        this.replicaKeys = new ArrayList<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            targets.put(key, replicas.get(i));
+            replicaKeys.add(key);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+
+        this.primaryCounter = Counter.builder("datasource.route").tag("target", PRIMARY).register(meterRegistry);
+        this.replicaCounter = Counter.builder("datasource.route").tag("target", "replica").register(meterRegistry);
+        this.pinnedCounter = Counter.builder("datasource.route").tag("target", "pinned").register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaKeys.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryCounter.increment();
+            return PRIMARY;
+        }
+        if (readYourWritesWindow.isCurrentUserPinned()) {
+            pinnedCounter.increment();
+            return PRIMARY;   // 방금 저장한 사용자 → 복제 지연과 상관없이 자기 쓰기가 보이도록
+        }
+        replicaCounter.increment();
+        return replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+    }
+}
@@ -0,0 +1,9 @@
+package com.codewise.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig { // 캐시 정리 등 주기 작업(@Scheduled) 활성화
+}
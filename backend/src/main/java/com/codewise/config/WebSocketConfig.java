@@ -1,9 +1,10 @@
 package com.codewise.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
-import org.springframework.scheduling.concurrent.ConcurrentTaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.*;
 
 @Configuration
@@ -11,9 +12,17 @@ import org.springframework.web.socket.config.annotation.*;
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final JwtChannelInterceptor jwtChannelInterceptor;
+    private final boolean virtualThreads;
+    private final int virtualMaxConcurrency;
 
-    public WebSocketConfig(JwtChannelInterceptor jwtChannelInterceptor) {
+    // spring.threads.virtual.enabled=true 면 Tomcat 요청 스레드와 함께 STOMP inbound/outbound 채널도 가상 스레드에서 실행
+    // false 면 기존 플랫폼 스레드 풀 그대로 (같은 부하 테스트로 처리량/메모리 비교용)
+    public WebSocketConfig(JwtChannelInterceptor jwtChannelInterceptor,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                           @Value("${ws.virtual.max-concurrency:256}") int virtualMaxConcurrency) {
         this.jwtChannelInterceptor = jwtChannelInterceptor;
+        this.virtualThreads = virtualThreads;
+        this.virtualMaxConcurrency = virtualMaxConcurrency;
     }
 
     @Override
@@ -39,5 +48,27 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         registration.interceptors(jwtChannelInterceptor);
+        if (virtualThreads) {
+            registration.taskExecutor(virtualThreadExecutor("stomp-inbound-"));
+        }
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (virtualThreads) {
+            registration.taskExecutor(virtualThreadExecutor("stomp-outbound-"));
+        }
+    }
+
+    // ChannelRegistration 은 ThreadPoolTaskExecutor 만 받으므로, 스레드 팩토리를 가상 스레드로 바꾼 풀을 사용
+    // 쉬는 스레드는 바로 정리되고 (allowCoreThreadTimeOut), 동시 실행 수만 virtualMaxConcurrency 로 제한
+    private ThreadPoolTaskExecutor virtualThreadExecutor(String namePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadFactory(Thread.ofVirtual().name(namePrefix, 0).factory());
+        executor.setCorePoolSize(virtualMaxConcurrency);
+        executor.setMaxPoolSize(virtualMaxConcurrency);
+        executor.setKeepAliveSeconds(1);
+        executor.setAllowCoreThreadTimeOut(true);
+        return executor;
     }
 }
@@ -0,0 +1,30 @@
+package com.codewise.controller;
+
+import com.codewise.dto.AnalysisJobDto;
+import com.codewise.dto.AnalyzeRequest;
+import com.codewise.service.AnalysisJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/analysis/jobs")
+@RequiredArgsConstructor
+public class AnalysisJobController {
+
+    private final AnalysisJobService analysisJobService;
+
+    // 분석 작업 등록 → 202 + jobId (결과는 GET 폴링 또는 STOMP /user/queue/result 로 수신)
+    @PostMapping
+    public ResponseEntity<AnalysisJobDto> submit(@RequestBody AnalyzeRequest req, Authentication authentication) {
+        AnalysisJobDto job = AnalysisJobDto.fromEntity(analysisJobService.submit(authentication.getName(), req));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<AnalysisJobDto> getJob(@PathVariable Long jobId, Authentication authentication) {
+        return ResponseEntity.ok(AnalysisJobDto.fromEntity(analysisJobService.getJob(authentication.getName(), jobId)));
+    }
+}
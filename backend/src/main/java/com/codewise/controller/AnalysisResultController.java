@@ -1,18 +1,29 @@
 package com.codewise.controller;
 
+import com.codewise.dto.AnalysisIssueDto;
 import com.codewise.dto.AnalysisResultDto;
+import com.codewise.dto.CursorPage;
+import com.codewise.dto.SearchHitDto;
+import com.codewise.service.AnalysisIssueService;
 import com.codewise.service.AnalysisResultService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping("/analysis")
 public class AnalysisResultController {
 
     private final AnalysisResultService analysisResultService;
+    private final AnalysisIssueService analysisIssueService;
 
-    public AnalysisResultController(AnalysisResultService analysisResultService) {
+    public AnalysisResultController(AnalysisResultService analysisResultService,
+                                    AnalysisIssueService analysisIssueService) {
         this.analysisResultService = analysisResultService;
+        this.analysisIssueService = analysisIssueService;
     }
 
     @GetMapping("/result/{submissionId}")
@@ -20,6 +31,36 @@ public class AnalysisResultController {
         return ResponseEntity.ok(analysisResultService.getResultBySubmissionId(submissionId));
     }
 
+    // 로그인 사용자의 분석 결과 목록 (최신순 페이지, size 최대 100, nextCursor 를 cursor 로 넘기면 다음 페이지)
+    @GetMapping("/results")
+    public ResponseEntity<CursorPage<AnalysisResultDto>> getMyResults(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(analysisResultService.getAllResultsForUser(authentication.getName(), cursor, size));
+    }
+
+    // 분석 요약, issue 메시지, 히스토리 에러 메시지 전문 검색 (관련도 순, snippet 의 일치 부분은 <em> 으로 표시)
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<SearchHitDto>> search(
+            Authentication authentication,
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(analysisResultService.search(authentication.getName(), query, cursor, size));
+    }
+
+    // 로그인 사용자의 severity 별 issue (since 이후 최신순 페이지, since 기본 최근 7일) 예) ?severity=HIGH&since=2026-10-12T00:00:00
+    @GetMapping("/issues")
+    public ResponseEntity<CursorPage<AnalysisIssueDto>> getIssues(
+            Authentication authentication,
+            @RequestParam String severity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(analysisIssueService.findBySeverity(authentication.getName(), severity, since, cursor, size));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<AnalysisResultDto> getAnalysisById(@PathVariable Long id) {
         return ResponseEntity.ok(analysisResultService.getAnalysisById(id));
@@ -1,20 +1,40 @@
 package com.codewise.controller;
 
+import com.codewise.dto.AiAnalysisPayload;
 import com.codewise.dto.AnalyzeRequest;
+import com.codewise.exception.AiServerBusyException;
+import com.codewise.domain.AnalysisJob;
+import com.codewise.domain.AnalysisPriority;
+import com.codewise.service.AiResponseIngestor;
 import com.codewise.service.AiServerClient;
+import com.codewise.service.AnalysisJobService;
+import com.codewise.service.AnalysisPersistenceStage;
+import com.codewise.service.AnalysisResultAssembler;
 import com.codewise.service.AnalysisResultService;
+import com.codewise.service.AnalysisScheduler;
+import com.codewise.service.IncrementalAnalysisService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.security.Principal;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Slf4j
 @Controller
@@ -22,9 +42,14 @@ import java.util.Map;
 public class AnalyzeStompController {
 
     private final AiServerClient aiServerClient;
+    private final IncrementalAnalysisService incrementalAnalysisService;
     private final SimpMessagingTemplate messaging;
     private final AnalysisResultService analysisResultService;
+    private final AnalysisJobService analysisJobService;
+    private final AiResponseIngestor aiResponseIngestor;
+    private final AnalysisPersistenceStage persistenceStage;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
 
     // 세션에 WebSocket 메시지를 보내기 위한 Header 설정
     private org.springframework.messaging.MessageHeaders headersForSession(String sessionId) {
@@ -35,63 +60,179 @@ public class AnalyzeStompController {
         return accessor.getMessageHeaders();
     }
 
+    // principal 이 있으면 사용자 destination, 없으면 세션 헤더로 전송
+    private void sendResult(String email, Principal principal, Object payload) {
+        if (principal != null) {
+            messaging.convertAndSendToUser(email, "/queue/result", payload);
+        } else {
+            messaging.convertAndSendToUser(email, "/queue/result", payload, headersForSession(email));
+        }
+    }
+
+    // 이미 직렬화된 JSON 바이트를 메시지 변환 없이 그대로 전송 (content-type: application/json)
+    private void sendJson(String email, Principal principal, byte[] json) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        if (principal == null) {
+            accessor.setSessionId(email);
+        }
+        accessor.setLeaveMutable(true);
+        String destination = messaging.getUserDestinationPrefix() + email.replace("/", "%2F") + "/queue/result";
+        messaging.send(destination, MessageBuilder.createMessage(json, accessor.getMessageHeaders()));
+    }
+
+    // ✅ userKey 는 무조건 email (principal.name = email)
+    private String resolveUserKey(Principal principal, SimpMessageHeaderAccessor accessor) {
+        if (principal != null) {
+            String email = principal.getName();   // ✅ JwtChannelInterceptor 에서 email 넣어줌
+            log.info(">>> [AnalyzeStompController] Email from principal = {}", email);
+            return email;
+        }
+        // 로그인 안 했을 경우 세션 id 를 key 로 사용
+        String sessionId = accessor.getSessionId();
+        log.warn(">>> [AnalyzeStompController] principal is NULL -> fallback sessionId = {}", sessionId);
+        return sessionId;
+    }
+
+    // 요청 수신 ~ 사용자에게 첫 분석 내용이 전달될 때까지 걸린 시간 (mode = buffered | stream)
+    private void recordTimeToFirstFeedback(String mode, long startedAt) {
+        Timer.builder("ai.analysis.time-to-first-feedback")
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    // 저장은 AnalysisPersistenceStage 에서 비동기로 (결과 전송을 막지 않음), 실패하면 오류 프레임 전송
+    private void persistAsync(String email, Principal principal, Runnable save) {
+        persistenceStage.submit(save).whenComplete((ignored, err) -> {
+            if (err != null) {
+                log.error("❌ 분석 결과 저장 실패 (email={})", email, err);
+                sendResult(email, principal, Map.of("error", "DB 저장 실패 또는 JSON 변환 오류"));
+            }
+        });
+    }
+
+    private void sendAiError(String email, Principal principal, Throwable err) {
+        if (err instanceof AiServerBusyException busy) {
+            // ⏳ 동시 호출 한도 + 대기열 초과 → 즉시 거절, 재시도 시간 안내
+            log.warn("⏳ AI 서버 혼잡으로 요청 거절 email={}, retryAfterMs={}", email, busy.getRetryAfterMs());
+            sendResult(email, principal, Map.of(
+                    "error", "busy",
+                    "message", busy.getMessage(),
+                    "retryAfterMs", busy.getRetryAfterMs()));
+            return;
+        }
+
+        log.error("🚨 AI 서버 요청 실패 email={}, err={}", email, err.getMessage());
+
+        Map<String, Object> error = Map.of("error", String.valueOf(err.getMessage()));
+        sendResult(email, principal, error);
+    }
+
     @MessageMapping("/analyze")   // ✅ WebSocket 메시지 받는 엔드포인트
     public void receive(AnalyzeRequest req,
                         Principal principal,
                         SimpMessageHeaderAccessor accessor) {
 
-        // ✅ userKey 는 무조건 email (principal.name = email)
-        String email;
-        if (principal != null) {
-            email = principal.getName();   // ✅ JwtChannelInterceptor 에서 email 넣어줌
-            log.info(">>> [AnalyzeStompController] Email from principal = {}", email);
-        } else {
-            // 로그인 안 했을 경우 세션 id 를 key 로 사용
-            email = accessor.getSessionId();
-            log.warn(">>> [AnalyzeStompController] principal is NULL -> fallback sessionId = {}", email);
-        }
+        String email = resolveUserKey(principal, accessor);
+        long startedAt = System.nanoTime();
 
         // ✅ AI Server 호출 (Mono<String> 으로 JSON 문자열 반환)
-        aiServerClient.analyze(req).subscribe(aiResponseJson -> {
-            try {
-                JsonNode jsonNode = objectMapper.readTree(aiResponseJson);
+        // 재제출이면 바뀐 영역만, 큰 코드는 분할 분석 후 병합 (실시간 요청이므로 INTERACTIVE 등급)
+        Mono<String> analysis = AnalysisScheduler.withPriority(
+                incrementalAnalysisService.analyze(email, req), AnalysisPriority.INTERACTIVE, email);
 
-                // ✅ DB 저장 (Stomp + WebSocket)
-                analysisResultService.saveNewResult(
-                        email,
-                        req.code(),
-                        req.language(),
-                        jsonNode.toString()
-                );
+        analysis.subscribe(aiResponseJson -> {
+            try {
+                // ✅ 응답은 한 번만 파싱 (저장용 값 + 원문 바이트)
+                AiAnalysisPayload payload = aiResponseIngestor.ingest(aiResponseJson);
 
-                log.info("✅ 분석 결과 저장 완료 (email={}, lang={})", email, req.language());
+                // ✅ WebSocket 메시지 먼저 전송 (원문 JSON 그대로)
+                sendJson(email, principal, payload.raw());
+                recordTimeToFirstFeedback("buffered", startedAt);
 
-                // ✅ WebSocket 메시지 전송
-                if (principal != null) {
-                    messaging.convertAndSendToUser(email, "/queue/result", jsonNode);
-                } else {
-                    messaging.convertAndSendToUser(email, "/queue/result", jsonNode, headersForSession(email));
-                }
+                // ✅ DB 저장은 I/O 스레드가 아닌 저장 단계에서 (Stomp + WebSocket)
+                persistAsync(email, principal, () -> {
+                    analysisResultService.saveNewResult(
+                            email,
+                            req.code(),
+                            req.language(),
+                            req.fileName(),
+                            payload
+                    );
+                    log.info("✅ 분석 결과 저장 완료 (email={}, lang={})", email, req.language());
+                });
 
             } catch (Exception e) {
-                log.error("❌ DB 저장 또는 JSON 변환 실패 (email={})", email, e);
+                log.error("❌ JSON 변환 실패 (email={})", email, e);
 
                 Map<String, Object> error = Map.of("error", "DB 저장 실패 또는 JSON 변환 오류");
-                if (principal != null) {
-                    messaging.convertAndSendToUser(email, "/queue/result", error);
-                } else {
-                    messaging.convertAndSendToUser(email, "/queue/result", error, headersForSession(email));
-                }
+                sendResult(email, principal, error);
             }
-        }, err -> {
-            log.error("🚨 AI 서버 요청 실패 email={}, err={}", email, err.getMessage());
-
-            Map<String, Object> error = Map.of("error", err.getMessage());
-            if (principal != null) {
-                messaging.convertAndSendToUser(email, "/queue/result", error);
-            } else {
-                messaging.convertAndSendToUser(email, "/queue/result", error, headersForSession(email));
+        }, err -> sendAiError(email, principal, err));
+    }
+
+    /**
+     * 스트리밍 분석 엔드포인트
+     * AI 응답 조각이 도착할 때마다 {"type": "summary" | "metrics" | "issues" ..., "data": ...} 프레임을 바로 전송하고,
+     * 스트림이 끝나면 조립된 전체 결과로 {"type": "done", "result": ...} 프레임을 전송하고 저장 단계에 저장을 넘긴다.
+     */
+    @MessageMapping("/analyze/stream")
+    public void receiveStream(AnalyzeRequest req,
+                              Principal principal,
+                              SimpMessageHeaderAccessor accessor) {
+
+        String email = resolveUserKey(principal, accessor);
+        long startedAt = System.nanoTime();
+        AtomicBoolean firstFrame = new AtomicBoolean(true);
+        AnalysisResultAssembler assembler = new AnalysisResultAssembler(objectMapper);
+
+        Flux<JsonNode> parts = AnalysisScheduler.withPriority(
+                aiServerClient.analyzeStream(req), AnalysisPriority.INTERACTIVE, email);
+
+        parts.subscribe(part -> {
+            assembler.accept(part);
+
+            Iterator<Map.Entry<String, JsonNode>> fields = part.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                sendResult(email, principal, Map.of("type", field.getKey(), "data", field.getValue()));
             }
+            if (firstFrame.compareAndSet(true, false)) {
+                recordTimeToFirstFeedback("stream", startedAt);
+            }
+        }, err -> sendAiError(email, principal, err), () -> {
+            ObjectNode result = assembler.result();
+            sendResult(email, principal, Map.of("type", "done", "result", result));
+            persistAsync(email, principal, () -> {
+                analysisResultService.saveNewResult(email, req.code(), req.language(), req.fileName(), result.toString());
+                log.info("✅ 스트리밍 분석 결과 저장 완료 (email={}, lang={})", email, req.language());
+            });
         });
     }
+
+    /**
+     * 작업 큐 분석 엔드포인트
+     * 요청을 AnalysisJob 으로 저장하고 {"type": "job", "jobId", "status": "PENDING"} 을 바로 전송한다.
+     * 워커가 처리를 마치면 같은 /queue/result 로 {"type": "job", "jobId", "status": "DONE" | "FAILED", ...} 이 전송된다.
+     */
+    @MessageMapping("/analyze/job")
+    public void receiveJob(AnalyzeRequest req,
+                           Principal principal,
+                           SimpMessageHeaderAccessor accessor) {
+
+        String email = resolveUserKey(principal, accessor);
+        try {
+            AnalysisJob job = principal != null
+                    ? analysisJobService.submit(email, req)
+                    : analysisJobService.submitForSession(email, req);
+            sendResult(email, principal, Map.of(
+                    "type", "job",
+                    "jobId", job.getId(),
+                    "status", job.getStatus().name()));
+        } catch (Exception e) {
+            log.error("❌ 분석 작업 등록 실패 (email={})", email, e);
+            sendResult(email, principal, Map.of("error", "분석 작업 등록 실패"));
+        }
+    }
 }
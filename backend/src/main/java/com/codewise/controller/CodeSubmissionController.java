@@ -1,12 +1,11 @@
 package com.codewise.controller;
 
 import com.codewise.dto.CodeSubmissionDto;
+import com.codewise.dto.CursorPage;
 import com.codewise.service.CodeSubmissionService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/code")
 public class CodeSubmissionController {
@@ -35,8 +34,12 @@ public class CodeSubmissionController {
         return ResponseEntity.ok("코드 삭제 완료");
     }
 
+    // 최신순 페이지 조회 (size 최대 100, 응답의 nextCursor 를 cursor 로 넘기면 다음 페이지)
     @GetMapping("/submission/user/{userId}")
-    public ResponseEntity<List<CodeSubmissionDto>> getUserSubmissions(@PathVariable Long userId) {
-        return ResponseEntity.ok(codeSubmissionService.getSubmissionsByUserId(userId));
+    public ResponseEntity<CursorPage<CodeSubmissionDto>> getUserSubmissions(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(codeSubmissionService.getSubmissionsByUserId(userId, cursor, size));
     }
 }
@@ -2,10 +2,14 @@ package com.codewise.controller;
 
 import com.codewise.domain.AnalysisHistory;
 import com.codewise.domain.User;
+import com.codewise.dto.AnalysisHistoryDto;
+import com.codewise.dto.CursorPage;
 import com.codewise.dto.HistoryRequestDto;
 import com.codewise.repository.AnalysisHistoryRepository;
 import com.codewise.repository.UserRepository;
+import com.codewise.service.AnalysisHistoryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -13,11 +17,10 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/user/history")
@@ -26,6 +29,7 @@ public class HistoryController {
 
     private final AnalysisHistoryRepository analysisHistoryRepository;
     private final UserRepository userRepository;
+    private final AnalysisHistoryService analysisHistoryService;
 
     @PostMapping
     public ResponseEntity<String> saveHistory(
@@ -45,8 +49,9 @@ public class HistoryController {
             return ResponseEntity.ok("Duplicate request ignored");
         }
 
-        // 에러 목록이 비었을 경우에도 최소 1건 저장
+        // 에러 목록이 비었을 경우에도 최소 1건 저장 (모아서 한 트랜잭션으로 배치 저장)
         List<HistoryRequestDto.ErrorInfo> errors = dto.getErrors();
+        List<AnalysisHistory> histories = new ArrayList<>();
         if (errors != null && !errors.isEmpty()) {
             for (HistoryRequestDto.ErrorInfo e : errors) {
                 AnalysisHistory h = AnalysisHistory.builder()
@@ -58,7 +63,7 @@ public class HistoryController {
                         .createdAt(createdAt)
                         .idempotencyKey(idemKey != null ? idemKey : UUID.randomUUID().toString())
                         .build();
-                analysisHistoryRepository.save(h);
+                histories.add(h);
             }
         } else {
             AnalysisHistory h = AnalysisHistory.builder()
@@ -70,82 +75,30 @@ public class HistoryController {
                     .createdAt(createdAt)
                     .idempotencyKey(idemKey != null ? idemKey : UUID.randomUUID().toString())
                     .build();
-            analysisHistoryRepository.save(h);
+            histories.add(h);
         }
+        analysisHistoryService.saveAll(histories);
 
         return ResponseEntity.ok("History saved successfully");
     }
 
+    // 최신순 keyset 페이지 조회 (size 최대 100, 응답의 nextCursor 를 cursor 로 넘기면 다음 페이지)
+    // 응답은 AnalysisHistoryDto (LAZY 연관 프록시를 직렬화하지 않고 analysisResultId 만 노출)
+    // 조회는 서비스의 읽기 전용 트랜잭션 → 복제본이 있으면 복제본에서 읽음 (방금 저장한 사용자는 primary)
     @GetMapping
-    public ResponseEntity<List<AnalysisHistory>> getUserHistory(Authentication authentication) {
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-        List<AnalysisHistory> historyList = analysisHistoryRepository.findByUser(user);
-        return ResponseEntity.ok(historyList);
+    public ResponseEntity<CursorPage<AnalysisHistoryDto>> getUserHistory(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(analysisHistoryService.getHistoryPage(authentication.getName(), cursor, size));
     }
 
+    // from / to 가 없으면 전체 기간, 있으면 [from, to) 기간 집계
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Object>> getUserStats(org.springframework.security.core.Authentication authentication) {
-        String email = authentication.getName();
-
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-
-        List<AnalysisHistory> historyList = analysisHistoryRepository.findByUser(user);
-
-        Map<String, Long> langCount = historyList.stream()
-                .filter(h -> h.getLanguage() != null && !h.getLanguage().isEmpty())
-                .collect(Collectors.groupingBy(AnalysisHistory::getLanguage, Collectors.counting()));
-
-        Map<String, Long> purposeCount = historyList.stream()
-                .filter(h -> h.getPurpose() != null && !h.getPurpose().isEmpty())
-                .collect(Collectors.groupingBy(AnalysisHistory::getPurpose, Collectors.counting()));
-
-        Map<String, Long> errorCount = historyList.stream()
-                .filter(h -> h.getErrorMessage() != null && !h.getErrorMessage().isEmpty())
-                .collect(Collectors.groupingBy(AnalysisHistory::getErrorMessage, Collectors.counting()));
-
-        List<Map<String, Object>> topLanguages = langCount.entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                .limit(5)
-                .map(e -> {
-                    Map<String, Object> m = new HashMap<>();
-                    m.put("language", e.getKey());
-                    m.put("count", e.getValue());
-                    return m;
-                })
-                .collect(Collectors.toList());
-
-        List<Map<String, Object>> topPurposes = purposeCount.entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                .limit(5)
-                .map(e -> {
-                    Map<String, Object> m = new HashMap<>();
-                    m.put("purpose", e.getKey());
-                    m.put("count", e.getValue());
-                    return m;
-                })
-                .collect(Collectors.toList());
-
-        List<Map<String, Object>> topErrors = errorCount.entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                .limit(10)
-                .map(e -> {
-                    Map<String, Object> m = new HashMap<>();
-                    m.put("error", e.getKey());
-                    m.put("count", e.getValue());
-                    return m;
-                })
-                .collect(Collectors.toList());
-
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("topLanguages", topLanguages);
-        stats.put("topPurposes", topPurposes);
-        stats.put("topErrors", topErrors);
-
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<Map<String, Object>> getUserStats(
+            Authentication authentication,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(analysisHistoryService.getStats(authentication.getName(), from, to));
     }
-
-
 }
@@ -0,0 +1,34 @@
+package com.codewise.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "analysis_cache", indexes = {
+        @Index(name = "idx_analysis_cache_created_at", columnList = "created_at"),
+        @Index(name = "idx_analysis_cache_last_accessed_at", columnList = "last_accessed_at")
+})
+public class AnalysisCacheEntry { // AI 분석 응답을 코드 해시 기준으로 보관하는 캐시 엔티티 (DB 계층)
+
+    @Id
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey; // 정규화된 코드 + 언어의 SHA-256 해시
+
+    private String language;
+
+    @Column(columnDefinition = "MEDIUMTEXT")
+    private String responseJson; // AI 서버가 반환한 JSON 원본
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt; // TTL 기준 시각
+
+    @Column(name = "last_accessed_at")
+    private LocalDateTime lastAccessedAt; // 용량 초과 시 오래 안 쓰인 항목부터 제거
+}
@@ -10,17 +10,25 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "analysis_history")
+@Table(name = "analysis_history",
+        indexes = @Index(name = "idx_history_user_created", columnList = "user_id, created_at, id"))   // keyset 페이지
 public class AnalysisHistory {
 
+    // IDENTITY 는 insert 마다 키를 받아와야 해서 JDBC 배치가 꺼짐 → pooled 시퀀스로 50개씩 미리 할당
+    // (MySQL 에서는 analysis_history_seq 테이블로 대체, 기존 행과 겹치지 않게 IdSequenceInitializer 가 시작값을 맞춤)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "analysis_history_seq")
+    @SequenceGenerator(name = "analysis_history_seq", sequenceName = "analysis_history_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "analysis_result_id")
+    private AnalysisResult analysisResult; // 이 히스토리를 만든 분석 결과 (도입 전 행 / 결과 없이 저장한 행은 null)
+
     private String language;
     private String purpose;
     private String errorType;
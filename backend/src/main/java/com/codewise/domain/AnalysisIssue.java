@@ -0,0 +1,51 @@
+package com.codewise.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "analysis_issue",
+        indexes = {
+                @Index(name = "idx_issue_user_severity_created", columnList = "user_id, severity, created_at, id"),   // 사용자별 keyset 페이지
+                @Index(name = "idx_issue_result", columnList = "analysis_result_id")
+        })
+public class AnalysisIssue { // 분석 결과의 issue 한 건 (suggestions JSON 을 풀어 severity/시간으로 인덱스 조회할 수 있게 저장)
+
+    // 결과 하나에 issue 가 여러 개라 pooled 시퀀스로 키를 미리 받아 JDBC 배치 insert
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "analysis_issue_seq")
+    @SequenceGenerator(name = "analysis_issue_seq", sequenceName = "analysis_issue_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "analysis_result_id", nullable = false)
+    private AnalysisResult analysisResult;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId; // 제출자 (결과 → 제출 → 사용자 조인 없이 사용자별 조회)
+
+    @Column(length = 32)
+    private String severity;
+
+    @Column(length = 64)
+    private String type;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+
+    @Column(name = "start_line")
+    private Integer startLine;
+
+    @Column(name = "end_line")
+    private Integer endLine;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt; // 결과 생성 시각과 같음
+}
@@ -0,0 +1,62 @@
+package com.codewise.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "analysis_job", indexes = {
+        @Index(name = "idx_analysis_job_status_id", columnList = "status, id"),
+        @Index(name = "idx_analysis_job_user_email", columnList = "user_email")
+})
+public class AnalysisJob { // 재시작/연결 끊김에도 유지되어야 하는 분석 요청을 보관하는 작업 큐 엔티티
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id; // 작업 고유 식별자 (ID)
+
+    @Column(name = "user_email")
+    private String userEmail; // 요청한 사용자 key (email, 비로그인 STOMP 세션이면 세션 id)
+
+    @Column(name = "session_owned")
+    private boolean sessionOwned; // true 면 userEmail 이 비로그인 STOMP 세션 id (결과는 세션 단위로 전송)
+
+    @Column(columnDefinition = "MEDIUMTEXT")
+    private String code; // 분석할 코드
+
+    private String language;
+
+    private String fileName; // 선택: 증분 분석 기준 파일 이름
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private JobStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private AnalysisPriority priority; // AI 호출 우선순위 등급 (STANDARD: REST/작업 큐, BACKGROUND: 재분석)
+
+    @Column(columnDefinition = "MEDIUMTEXT")
+    private String resultJson; // 분석 완료 시 AI 결과 JSON
+
+    @Column(length = 1000)
+    private String errorMessage; // 실패 사유
+
+    private int attempts; // 워커가 가져간 횟수 (재시도 한도 판단)
+
+    private String workerId; // 처리 중인 워커(노드) 식별자
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt; // 마지막으로 RUNNING 이 된 시각 (오래 멈춘 작업 복구 기준)
+
+    private LocalDateTime nextAttemptAt; // 이 시각 전에는 다시 가져가지 않음 (AI 서버 혼잡으로 반납된 작업의 재시도 대기)
+
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,6 @@
+package com.codewise.domain;
+public enum AnalysisPriority { // AI 분석 요청의 우선순위 등급 (선언 순서가 곧 처리 순서)
+    INTERACTIVE, // STOMP 실시간 분석 (/app/analyze, /app/analyze/stream)
+    STANDARD,    // REST / 작업 큐로 등록된 분석
+    BACKGROUND   // 재분석 등 사용자가 기다리지 않는 작업
+}
@@ -11,15 +11,32 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+        @Index(name = "idx_result_user_created", columnList = "user_id, created_at, id"),    // 사용자별 keyset 페이지 / 아카이브
+        // 이력 필터/정렬 (AnalysisResultQueryRepositoryImpl): 정렬 기준마다 사용자 구간을 정렬 순서대로 읽고 LIMIT 에서 멈춤
+        @Index(name = "idx_result_user_language_created", columnList = "user_id, language, created_at, id"),
+        @Index(name = "idx_result_user_score", columnList = "user_id, score, id"),
+        @Index(name = "idx_result_user_maintainability", columnList = "user_id, maintainability_score, id"),
+        @Index(name = "idx_result_user_readability", columnList = "user_id, readability_score, id"),
+        @Index(name = "idx_result_user_bug", columnList = "user_id, bug_probability, id"),
+        @Index(name = "idx_result_submission_created", columnList = "code_submission_id, created_at")   // 사용자 이력 조인 + 정렬
+})
 public class AnalysisResult { // AI 분석 결과(점수, 요약 등)를 저장하는 엔티티 클래스
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id; // 분석 결과 고유 식별자 (ID)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "analysis_result_seq")
+    @SequenceGenerator(name = "analysis_result_seq", sequenceName = "analysis_result_seq", allocationSize = 50)
+    private Long id; // 분석 결과 고유 식별자 (ID, pooled 시퀀스라 히스토리와 함께 배치 insert 가능)
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)   // 목록은 projection 으로 읽으므로 제출 코드(TEXT)를 함께 읽지 않음
     private CodeSubmission codeSubmission;
 
+    @Column(name = "user_id")
+    private Long userId; // 제출한 사용자 id (code_submission.user_id 복제, 조인 없이 사용자 범위 인덱스로 페이지 조회)
+
+    @Column(name = "language")
+    private String language; // 제출 언어 (code_submission.language 복제, 언어 필터도 analysis_result 인덱스로 처리)
+
     private double maintainabilityScore; // 코드 유지보수성 점수
     private double readabilityScore;  // 코드 가독성 점수
     private double bugProbability; // 코드에 버그가 있을 확률
@@ -35,4 +52,18 @@ public class AnalysisResult { // AI 분석 결과(점수, 요약 등)를 저장
 
     @Column(name = "score")
     private Integer score;// 전반적인 코드 품질 점수
+
+    // 저장 시 제출의 사용자 id / 언어를 복제 (user 는 LAZY 프록시여도 id 만 읽으므로 추가 SELECT 없음)
+    @PrePersist
+    void copySubmissionColumns() {
+        if (codeSubmission == null) {
+            return;
+        }
+        if (userId == null && codeSubmission.getUser() != null) {
+            userId = codeSubmission.getUser().getId();
+        }
+        if (language == null) {
+            language = codeSubmission.getLanguage() != null ? codeSubmission.getLanguage() : "";
+        }
+    }
 }
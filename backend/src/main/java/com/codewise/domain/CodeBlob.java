@@ -0,0 +1,36 @@
+package com.codewise.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "code_blob")
+public class CodeBlob { // 제출 코드 본문 저장소 (내용 SHA-256 기준으로 한 번만 저장, 여러 제출이 같은 blob 을 참조)
+
+    @Id
+    @Column(length = 64)
+    private String hash; // 코드 원문(UTF-8)의 SHA-256
+
+    @Column(length = 16, nullable = false)
+    private String compression; // NONE | DEFLATE
+
+    @Lob
+    @Column(columnDefinition = "LONGBLOB", nullable = false)
+    private byte[] content; // 저장된 바이트 (compression 에 따라 원문 또는 Deflate 압축본)
+
+    @Column(name = "original_size", nullable = false)
+    private int originalSize; // 원문 UTF-8 바이트 수
+
+    @Column(name = "stored_size", nullable = false)
+    private int storedSize; // content 바이트 수
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -13,6 +13,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = @Index(name = "idx_submission_user_language", columnList = "user_id, language, id"))   // 사용자/언어별 이력 필터
 public class CodeSubmission { // 사용자가 제출한 코드 정보를 저장하는 엔티티 클래스
 
     @Id
@@ -24,12 +25,18 @@ public class CodeSubmission { // 사용자가 제출한 코드 정보를 저장
     private User user; // 코드를 제출한 사용자 엔티티
 
     @Column(columnDefinition = "TEXT")
-    private String code; // 사용자가 제출한 실제 코드 내용
+    private String code; // 코드 원문 (blob 도입 전 행만 사용, 새 제출은 null → CodeBlobStore.text 로 조회)
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "blob_hash")
+    private CodeBlob blob; // 코드 본문 (내용 해시 기준 중복 제거 + 압축 저장, 본문이 필요할 때만 로딩)
 
     private String language; // 제출된 코드의 프로그래밍 언어 (예: "Java", "Python")
 
     private String purpose; // 추가: 코드 제출 목적
 
+    private String fileName; // 제출한 파일 이름 (선택, 같은 파일 재제출 시 증분 분석 기준)
+
     private LocalDateTime submittedAt;
 
 }
@@ -0,0 +1,7 @@
+package com.codewise.domain;
+public enum JobStatus { // 분석 작업(AnalysisJob)의 처리 상태를 나타내는 enum 타입
+    PENDING, // 대기 중 (워커가 가져가기 전)
+    RUNNING, // 워커가 처리 중
+    DONE,    // 분석 완료
+    FAILED   // 재시도 한도를 넘겨 실패
+}
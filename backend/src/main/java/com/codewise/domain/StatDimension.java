@@ -0,0 +1,8 @@
+package com.codewise.domain;
+
+// 사용자 통계 집계 기준 (AnalysisHistory 의 language / purpose / errorMessage)
+public enum StatDimension {
+    LANGUAGE,
+    PURPOSE,
+    ERROR
+}
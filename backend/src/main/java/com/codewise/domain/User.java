@@ -2,6 +2,13 @@ package com.codewise.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.SQLRestriction;
+
+import java.time.LocalDateTime;
 
 @Entity
 @Getter
@@ -9,12 +16,20 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@SQLRestriction("deleted_at IS NULL")   // 탈퇴 표시된 계정은 모든 엔티티 조회에서 제외 (행 삭제는 UserPurgeService 가 나중에)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)   // id → 사용자 (2차 캐시)
+@NaturalIdCache(region = User.NATURAL_ID_CACHE_REGION)                          // email → id
 public class User { // 사용자 정보(이메일, 비밀번호, 역할 등)를 저장하는 엔티티 클래스
 
+    public static final String CACHE_REGION = "user";
+    public static final String NATURAL_ID_CACHE_REGION = "user-natural-id";
+
     @Id // 기본 키 임을 명시
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id; // 사용자 고유 식별자 (ID)
 
+    @NaturalId(mutable = true) // findByEmail 은 natural id 로 조회 (UserNaturalIdRepository), 정보 수정/탈퇴 시 바뀔 수 있음
     @Column(nullable = false, unique = true) // 데이터베이스 컬럼과 매핑. null 을 허용하지 않으며, 값은 유일해야 함
     private String email; // 사용자 이메일 (로그인 ID로 사용될 수 있음)
 
@@ -27,4 +42,7 @@ public class User { // 사용자 정보(이메일, 비밀번호, 역할 등)를
     // Google 소셜 로그인 추가 필드
     private String provider; // 예: "google"
     private String providerId; // Google 에서 제공하는 사용자 고유 ID
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt; // 탈퇴 시각 (null 이 아니면 백그라운드 삭제 대기)
 }
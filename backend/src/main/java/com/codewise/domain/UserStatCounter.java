@@ -0,0 +1,33 @@
+package com.codewise.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "user_stat_counter",
+        uniqueConstraints = @UniqueConstraint(name = "uk_user_stat", columnNames = {"user_id", "dimension", "stat_key"}),
+        indexes = @Index(name = "idx_user_stat_top", columnList = "user_id, dimension, count"))
+public class UserStatCounter { // 사용자별 히스토리 집계 (언어/목적/에러 메시지별 건수), 히스토리 저장과 같은 트랜잭션에서 갱신
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private StatDimension dimension;
+
+    @Column(name = "stat_key", nullable = false)
+    private String statKey; // 언어 / 목적 / 에러 메시지 값
+
+    @Column(nullable = false)
+    private long count;
+}
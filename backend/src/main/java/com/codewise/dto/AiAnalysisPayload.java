@@ -0,0 +1,28 @@
+package com.codewise.dto;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 한 번 읽은 AI 분석 응답
+ * - raw: 응답 JSON 원문 (UTF-8) → 그대로 STOMP 로 전달
+ * - response: 저장에 필요한 값 (요약, 점수, issue 별 severity/type/message/줄 범위)
+ * - issuesOffset / issuesLength: raw 안에서 issues 배열이 차지하는 구간 (없으면 -1)
+ */
+public record AiAnalysisPayload(
+        byte[] raw,
+        AnalyzeResponse response,
+        int issuesOffset,
+        int issuesLength
+) {
+    // issues 배열 원문 (AnalysisResult.suggestions 저장용), issues 가 없으면 빈 문자열
+    public String issuesJson() {
+        if (issuesOffset < 0) {
+            return "";
+        }
+        return new String(raw, issuesOffset, issuesLength, StandardCharsets.UTF_8);
+    }
+
+    public String rawJson() {
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,29 @@
+package com.codewise.dto;
+
+import com.codewise.domain.AnalysisHistory;
+
+import java.time.LocalDateTime;
+
+// 히스토리 목록 응답 한 건 (엔티티의 LAZY 연관(user / analysisResult) 대신 결과 id 만 노출)
+public record AnalysisHistoryDto(
+        Long id,
+        String language,
+        String purpose,
+        String errorType,
+        String errorMessage,
+        Long analysisResultId,
+        LocalDateTime createdAt
+) {
+
+    // analysisResult 가 프록시여도 id 는 초기화 없이 읽음 (추가 SELECT 없음)
+    public static AnalysisHistoryDto fromEntity(AnalysisHistory history) {
+        return new AnalysisHistoryDto(
+                history.getId(),
+                history.getLanguage(),
+                history.getPurpose(),
+                history.getErrorType(),
+                history.getErrorMessage(),
+                history.getAnalysisResult() != null ? history.getAnalysisResult().getId() : null,
+                history.getCreatedAt());
+    }
+}
@@ -0,0 +1,16 @@
+package com.codewise.dto;
+
+import java.time.LocalDateTime;
+
+// 분석 결과 issue 한 건 (AnalysisIssueRepository 의 projection 으로 바로 생성, 결과/제출 엔티티를 읽지 않음)
+public record AnalysisIssueDto(
+        Long id,
+        Long resultId,
+        String severity,
+        String type,
+        String message,
+        Integer startLine,
+        Integer endLine,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,36 @@
+package com.codewise.dto;
+
+import com.codewise.domain.AnalysisJob;
+import com.codewise.domain.JobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class AnalysisJobDto { // 분석 작업 상태와 결과를 클라이언트에 전달하는 DTO 클래스
+    private Long jobId;
+    private JobStatus status;          // PENDING | RUNNING | DONE | FAILED
+    private String language;
+    private String fileName;
+    private String resultJson;         // DONE 일 때 AI 분석 결과 JSON
+    private String errorMessage;       // FAILED 일 때 실패 사유
+    private int attempts;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+
+    public static AnalysisJobDto fromEntity(AnalysisJob job) {
+        return new AnalysisJobDto(
+                job.getId(),
+                job.getStatus(),
+                job.getLanguage(),
+                job.getFileName(),
+                job.getResultJson(),
+                job.getErrorMessage(),
+                job.getAttempts(),
+                job.getCreatedAt(),
+                job.getFinishedAt()
+        );
+    }
+}
@@ -4,6 +4,8 @@ import com.codewise.domain.AnalysisResult;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.time.LocalDateTime;
+
 @Getter
 @AllArgsConstructor
 public class AnalysisResultDto { // 클라이언트에 전달할 분석 결과 데이터를 담는 DTO 클래스
@@ -15,6 +17,10 @@ public class AnalysisResultDto { // 클라이언트에 전달할 분석 결과 
     private double bugProbability;       // 코드 버그 발생 확률
     private String summary;              // 분석 결과 요약
     private String suggestions;          // 코드 개선 제안 사항
+    private LocalDateTime createdAt;     // 분석 시각 (목록 페이지 커서 기준)
+
+    // 목록/조회 쿼리는 AnalysisResultRepository 의 projection (SELECT new ...) 으로 이 생성자를 바로 호출
+    // → 엔티티, 제출 코드(code TEXT), 사용자 행을 읽지 않음
 
     public static AnalysisResultDto fromEntity(AnalysisResult result) {
         return new AnalysisResultDto(
@@ -26,7 +32,8 @@ public class AnalysisResultDto { // 클라이언트에 전달할 분석 결과 
                 result.getReadabilityScore(),
                 result.getBugProbability(),
                 result.getSummary(),
-                result.getSuggestions()
+                result.getSuggestions(),
+                result.getCreatedAt()
         );
     }
 
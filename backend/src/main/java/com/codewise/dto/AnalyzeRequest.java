@@ -1,6 +1,14 @@
 package com.codewise.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record AnalyzeRequest(
         String code,
-        String language
-) {}
+        String language,
+        String fileName     // 선택: 같은 파일 재제출 시 이전 제출과 비교(증분 분석)하기 위한 파일 이름
+) {
+    public AnalyzeRequest(String code, String language) {
+        this(code, language, null);
+    }
+}
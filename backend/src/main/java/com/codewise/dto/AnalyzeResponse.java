@@ -1,10 +1,26 @@
 package com.codewise.dto;
 
 import java.util.List;
-import java.util.Map;
 
+// AI 분석 응답 중 저장에 쓰는 값만 담은 타입 (issues 원문 JSON 은 AiAnalysisPayload 의 raw 에서 잘라 씀)
 public record AnalyzeResponse(
         String summary,
-        Map<String, Object> metrics,
-        List<Map<String, Object>> issues
-) {}
+        Metrics metrics,
+        List<Issue> issues,     // 응답의 issues 가 배열이 아니면 null
+        String fix
+) {
+    public record Metrics(
+            double maintainability,
+            double readability,
+            double bugProbability,
+            int score
+    ) {}
+
+    public record Issue(
+            String severity,
+            String type,            // issue 분류 (type / category), 없으면 null
+            String message,
+            Integer startLine,      // 가리키는 줄 범위 (없으면 null, 한 줄이면 start == end)
+            Integer endLine
+    ) {}
+}
@@ -0,0 +1,21 @@
+package com.codewise.dto;
+
+import java.time.LocalDateTime;
+
+// 아카이브된 analysis_history 행 (AnalysisHistoryRepository 의 projection 으로 바로 생성)
+public record ArchivedHistory(
+        Long id,
+        Long userId,
+        String language,
+        String purpose,
+        String errorType,
+        String errorMessage,
+        Long analysisResultId,
+        LocalDateTime createdAt
+) implements ArchivedRow {
+
+    // 히스토리 목록 응답용 (hot 행과 같은 형태)
+    public AnalysisHistoryDto toDto() {
+        return new AnalysisHistoryDto(id, language, purpose, errorType, errorMessage, analysisResultId, createdAt);
+    }
+}
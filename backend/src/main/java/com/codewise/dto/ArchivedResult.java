@@ -0,0 +1,23 @@
+package com.codewise.dto;
+
+import java.time.LocalDateTime;
+
+// 아카이브된 analysis_result 행 (AnalysisResultRepository 의 projection 으로 바로 생성)
+public record ArchivedResult(
+        Long id,
+        Long submissionId,
+        Long userId,
+        double maintainabilityScore,
+        double readabilityScore,
+        double bugProbability,
+        String summary,
+        String suggestions,
+        Integer score,
+        LocalDateTime createdAt
+) implements ArchivedRow {
+
+    public AnalysisResultDto toDto() {
+        return new AnalysisResultDto(id, submissionId, userId, maintainabilityScore, readabilityScore,
+                bugProbability, summary, suggestions, createdAt);
+    }
+}
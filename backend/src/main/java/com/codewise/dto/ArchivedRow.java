@@ -0,0 +1,11 @@
+package com.codewise.dto;
+
+import java.time.LocalDateTime;
+
+// 콜드 아카이브 세그먼트에 NDJSON 한 줄로 저장되는 행 (block 인덱스와 keyset 정렬에 쓰는 키)
+public interface ArchivedRow {
+
+    Long id();
+
+    LocalDateTime createdAt();
+}
@@ -1,6 +1,7 @@
 package com.codewise.dto;
 
 import com.codewise.domain.CodeSubmission;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -16,15 +17,22 @@ import java.time.LocalDateTime; // LocalDateTime을 사용하기 위해 임포
 public class CodeSubmissionDto { // 클라이언트에 전달할 코드 제출 정보를 담는 DTO 클래스
     @JsonProperty("submissionId") // 프론트에서 오는 submissionId를 id랑 매핑
     private Long id;         // 제출된 코드의 고유 식별자
-    private String code;     // 제출된 코드 내용
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String code;     // 제출된 코드 내용 (단건 조회에서만 채움, 목록에서는 생략)
     private String language; // 제출된 코드의 프로그래밍 언어
     private Long userId;     // 제출한 사용자 ID
     private LocalDateTime submittedAt; // 코드가 제출된 시간
 
-    public static CodeSubmissionDto fromEntity(CodeSubmission sub) {
+    // 목록 projection 용 (코드 본문 없이)
+    public CodeSubmissionDto(Long id, String language, Long userId, LocalDateTime submittedAt) {
+        this(id, null, language, userId, submittedAt);
+    }
+
+    // code: CodeBlobStore.text 로 읽은 본문
+    public static CodeSubmissionDto fromEntity(CodeSubmission sub, String code) {
         return new CodeSubmissionDto(
                 sub.getId(),
-                sub.getCode(),
+                code,
                 sub.getLanguage(),
                 sub.getUser() != null ? sub.getUser().getId() : null,
                 sub.getSubmittedAt()
@@ -0,0 +1,7 @@
+package com.codewise.dto;
+
+import java.util.List;
+
+// 커서(keyset) 페이지 응답: nextCursor 를 다음 요청의 cursor 로 그대로 넘기면 이어서 조회 (마지막 페이지면 null)
+public record CursorPage<T>(List<T> items, String nextCursor) {
+}
@@ -0,0 +1,7 @@
+package com.codewise.dto;
+
+import java.time.LocalDateTime;
+
+// 전문 검색 결과 한 건 (type = RESULT: 분석 결과 id, HISTORY: 분석 히스토리 id), snippet 은 일치 부분이 <em> 으로 감싸진 HTML
+public record SearchHitDto(String type, Long id, double score, String snippet, LocalDateTime createdAt) {
+}
@@ -0,0 +1,17 @@
+package com.codewise.exception;
+
+
+// AI 서버 동시 호출 한도와 대기열이 모두 찬 경우 즉시 거절하기 위한 예외 클래스 (재시도 권장 시간 포함)
+public class AiServerBusyException extends RuntimeException {
+
+    private final long retryAfterMs;
+
+    public AiServerBusyException(long retryAfterMs) {
+        super("AI 서버가 혼잡합니다. " + retryAfterMs + "ms 후 다시 시도해주세요.");
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    public long getRetryAfterMs() {
+        return retryAfterMs;
+    }
+}
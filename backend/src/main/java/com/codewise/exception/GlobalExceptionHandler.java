@@ -1,5 +1,7 @@
 package com.codewise.exception;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,6 +22,15 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body("Invalid input: " + e.getMessage());
     }
 
+    // AI 서버 혼잡으로 요청이 거절되었을 때 503 + Retry-After 헤더로 응답
+    @ExceptionHandler(AiServerBusyException.class)
+    public ResponseEntity<String> handleAiServerBusy(AiServerBusyException e) {
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfterMs() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(e.getMessage());
+    }
+
     // 모든 종류의 Exception (최상위 예외)이 발생했을 때 이 메서드가 처리하도록 지정
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGeneral(Exception e) {
@@ -0,0 +1,30 @@
+package com.codewise.repository;
+
+import com.codewise.domain.AnalysisCacheEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 분석 캐시(AnalysisCacheEntry)를 DB 에 저장하고 만료/용량 기준으로 정리하기 위한 JPA 리포지토리 인터페이스
+public interface AnalysisCacheRepository extends JpaRepository<AnalysisCacheEntry, String> {
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE AnalysisCacheEntry e SET e.lastAccessedAt = :now WHERE e.cacheKey = :cacheKey")
+    int touch(@Param("cacheKey") String cacheKey, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM AnalysisCacheEntry e WHERE e.createdAt < :threshold")
+    int deleteExpired(@Param("threshold") LocalDateTime threshold);
+
+    // 가장 오래 사용되지 않은 항목의 키 목록 (용량 기반 제거용)
+    @Query("SELECT e.cacheKey FROM AnalysisCacheEntry e ORDER BY e.lastAccessedAt ASC")
+    List<String> findLeastRecentlyUsedKeys(Pageable pageable);
+}
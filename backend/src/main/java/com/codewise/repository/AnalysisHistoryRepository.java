@@ -2,21 +2,99 @@ package com.codewise.repository;
 
 import com.codewise.domain.AnalysisHistory;
 import com.codewise.domain.User;
+import com.codewise.dto.ArchivedHistory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying; // [추가]
 import org.springframework.data.jpa.repository.Query; // [추가]
 import org.springframework.data.repository.query.Param; // [추가]
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface AnalysisHistoryRepository extends JpaRepository<AnalysisHistory, Long> {
     List<AnalysisHistory> findByUser(User user);
 
+    // keyset 페이지 (최신순, (createdAt, id) 기준) - Pageable 의 크기가 LIMIT 으로 내려감
+    @Query("SELECT h FROM AnalysisHistory h WHERE h.user = :user ORDER BY h.createdAt DESC, h.id DESC")
+    List<AnalysisHistory> findFirstPage(@Param("user") User user, Pageable pageable);
+
+    @Query("SELECT h FROM AnalysisHistory h WHERE h.user = :user " +
+            "AND (h.createdAt < :createdAt OR (h.createdAt = :createdAt AND h.id < :id)) " +
+            "ORDER BY h.createdAt DESC, h.id DESC")
+    List<AnalysisHistory> findPageAfter(@Param("user") User user,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
+
+    // 통계 정합성 검사용 전체 집계 (원본 기준)
+    @Query("SELECT h.language, COUNT(h) FROM AnalysisHistory h WHERE h.user.id = :userId " +
+            "AND h.language IS NOT NULL AND h.language <> '' GROUP BY h.language")
+    List<Object[]> countByLanguage(@Param("userId") Long userId);
+
+    @Query("SELECT h.purpose, COUNT(h) FROM AnalysisHistory h WHERE h.user.id = :userId " +
+            "AND h.purpose IS NOT NULL AND h.purpose <> '' GROUP BY h.purpose")
+    List<Object[]> countByPurpose(@Param("userId") Long userId);
+
+    @Query("SELECT h.errorMessage, COUNT(h) FROM AnalysisHistory h WHERE h.user.id = :userId " +
+            "AND h.errorMessage IS NOT NULL AND h.errorMessage <> '' GROUP BY h.errorMessage")
+    List<Object[]> countByErrorMessage(@Param("userId") Long userId);
+
+    // 기간 통계 (hot 행만, [from, to) - idx_history_user_created 범위 스캔)
+    @Query("SELECT h.language, COUNT(h) FROM AnalysisHistory h WHERE h.user.id = :userId " +
+            "AND h.createdAt >= :from AND h.createdAt < :to " +
+            "AND h.language IS NOT NULL AND h.language <> '' GROUP BY h.language")
+    List<Object[]> countByLanguageBetween(@Param("userId") Long userId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to);
+
+    @Query("SELECT h.purpose, COUNT(h) FROM AnalysisHistory h WHERE h.user.id = :userId " +
+            "AND h.createdAt >= :from AND h.createdAt < :to " +
+            "AND h.purpose IS NOT NULL AND h.purpose <> '' GROUP BY h.purpose")
+    List<Object[]> countByPurposeBetween(@Param("userId") Long userId,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to);
+
+    @Query("SELECT h.errorMessage, COUNT(h) FROM AnalysisHistory h WHERE h.user.id = :userId " +
+            "AND h.createdAt >= :from AND h.createdAt < :to " +
+            "AND h.errorMessage IS NOT NULL AND h.errorMessage <> '' GROUP BY h.errorMessage")
+    List<Object[]> countByErrorMessageBetween(@Param("userId") Long userId,
+                                              @Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to);
+
+    // [from, to] 구간 hot 행 id (아카이브 집계에서 hot 에도 아직 남은 행을 빼기 위함, idx_history_user_created 범위 스캔)
+    @Query("SELECT h.id FROM AnalysisHistory h WHERE h.user.id = :userId " +
+            "AND h.createdAt >= :from AND h.createdAt <= :to")
+    List<Long> findIdsCreatedBetween(@Param("userId") Long userId,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to);
+
+    @Query("SELECT DISTINCT h.user.id FROM AnalysisHistory h")
+    List<Long> findDistinctUserIds();
+
     boolean existsByUserAndIdempotencyKey(User user, String idempotencyKey);
 
     // [추가] 특정 User가 남긴 모든 AnalysisHistory 기록을 삭제하는 JPQL 쿼리
     @Modifying // 데이터 변경 쿼리임을 명시
     @Query("DELETE FROM AnalysisHistory ah WHERE ah.user = :user")
     void deleteAllByUser(@Param("user") User user);
-}
\ No newline at end of file
+
+    // 탈퇴 사용자 정리: id 묶음 단위로 deleteAllByIdInBatch
+    @Query("SELECT h.id FROM AnalysisHistory h WHERE h.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // 아카이브 대상: 보관 기간이 지난 한 사용자의 행 (오래된 순, idx_history_user_created 범위 스캔)
+    @Query("SELECT new com.codewise.dto.ArchivedHistory(h.id, h.user.id, h.language, h.purpose, h.errorType, " +
+            "h.errorMessage, r.id, h.createdAt) FROM AnalysisHistory h LEFT JOIN h.analysisResult r " +
+            "WHERE h.user.id = :userId AND h.createdAt < :cutoff ORDER BY h.createdAt, h.id")
+    List<ArchivedHistory> findArchiveCandidates(@Param("userId") Long userId,
+                                                @Param("cutoff") LocalDateTime cutoff,
+                                                Pageable pageable);
+
+    // 아카이브로 옮기는 분석 결과를 가리키는 히스토리의 FK 해제 (결과 행 삭제 전)
+    @Modifying
+    @Query("UPDATE AnalysisHistory h SET h.analysisResult = NULL WHERE h.analysisResult.id IN :resultIds")
+    int detachResults(@Param("resultIds") List<Long> resultIds);
+}
@@ -0,0 +1,52 @@
+package com.codewise.repository;
+
+import com.codewise.domain.AnalysisIssue;
+import com.codewise.dto.AnalysisIssueDto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AnalysisIssueRepository extends JpaRepository<AnalysisIssue, Long> {
+
+    // analysis_result_id 는 FK 컬럼이라 결과 조인 없음
+    String DTO_SELECT = "SELECT new com.codewise.dto.AnalysisIssueDto(i.id, i.analysisResult.id, i.severity, i.type, " +
+            "i.message, i.startLine, i.endLine, i.createdAt) FROM AnalysisIssue i ";
+
+    // 사용자 + severity + 기간 keyset 페이지 (최신순, idx_issue_user_severity_created 범위 스캔)
+    @Query(DTO_SELECT + "WHERE i.userId = :userId AND i.severity = :severity AND i.createdAt >= :since " +
+            "ORDER BY i.createdAt DESC, i.id DESC")
+    List<AnalysisIssueDto> findFirstPage(@Param("userId") Long userId,
+                                         @Param("severity") String severity,
+                                         @Param("since") LocalDateTime since,
+                                         Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE i.userId = :userId AND i.severity = :severity AND i.createdAt >= :since " +
+            "AND (i.createdAt < :createdAt OR (i.createdAt = :createdAt AND i.id < :id)) " +
+            "ORDER BY i.createdAt DESC, i.id DESC")
+    List<AnalysisIssueDto> findPageAfter(@Param("userId") Long userId,
+                                         @Param("severity") String severity,
+                                         @Param("since") LocalDateTime since,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    // 탈퇴 사용자 정리: id 묶음 단위로 deleteAllByIdInBatch
+    @Query("SELECT i.id FROM AnalysisIssue i WHERE i.userId = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // 백필 대상: issue 행이 없고 suggestions 가 남아 있는 결과 (id 순 batch) → [resultId, userId, suggestions, createdAt]
+    @Query("SELECT r.id, s.user.id, r.suggestions, r.createdAt FROM AnalysisResult r JOIN r.codeSubmission s " +
+            "WHERE r.id > :afterId AND r.suggestions IS NOT NULL AND r.suggestions <> '' " +
+            "AND NOT EXISTS (SELECT 1 FROM AnalysisIssue i WHERE i.analysisResult = r) ORDER BY r.id")
+    List<Object[]> findResultsWithoutIssues(@Param("afterId") Long afterId, Pageable pageable);
+
+    // 아카이브로 옮기는 분석 결과의 issue 삭제 (issue 는 보관되는 suggestions 에 그대로 들어 있음)
+    @Modifying
+    @Query("DELETE FROM AnalysisIssue i WHERE i.analysisResult.id IN :resultIds")
+    int deleteByResultIds(@Param("resultIds") List<Long> resultIds);
+}
@@ -0,0 +1,115 @@
+package com.codewise.repository;
+
+import com.codewise.domain.AnalysisJob;
+import com.codewise.domain.JobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+// 분석 작업 큐(AnalysisJob)를 저장하고 워커가 작업을 가져가기(claim) 위한 JPA 리포지토리 인터페이스
+public interface AnalysisJobRepository extends JpaRepository<AnalysisJob, Long> {
+
+    Optional<AnalysisJob> findByIdAndUserEmail(Long id, String userEmail);
+
+    /**
+     * 다음에 처리할 대기 작업 후보 (잠그지 않음, MySQL 8.0+)
+     * 우선순위 등급 순, 같은 등급에서는 사용자별 대기 순번(user_turn) 순으로 정렬해
+     * 한 사용자가 작업을 많이 쌓아도 다른 사용자의 작업이 번갈아 선택되도록 한다.
+     * 등급은 agingSeconds 만큼 기다릴 때마다 한 단계씩 올라가므로 (최고 INTERACTIVE 수준) 아래 등급 작업도 결국 선택된다.
+     * 반납되어 재시도 대기 중인 작업(next_attempt_at 이 아직 안 된 작업)은 후보에서 빠진다.
+     */
+    @Query(value = "SELECT id FROM (" +
+            "  SELECT id, GREATEST(0, CASE priority WHEN 'INTERACTIVE' THEN 0 WHEN 'BACKGROUND' THEN 2 ELSE 1 END" +
+            "           - FLOOR(TIMESTAMPDIFF(SECOND, created_at, :now) / :agingSeconds)) AS priority_rank," +
+            "         ROW_NUMBER() OVER (PARTITION BY user_email ORDER BY id) AS user_turn" +
+            "  FROM analysis_job WHERE status = 'PENDING' AND (next_attempt_at IS NULL OR next_attempt_at <= :now)" +
+            ") pending ORDER BY priority_rank, user_turn, id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findNextPendingIds(@Param("now") LocalDateTime now,
+                                  @Param("agingSeconds") long agingSeconds,
+                                  @Param("limit") int limit);
+
+    // 후보 중 아직 대기 중인 행 잠금 (다른 워커/노드가 잠근 행은 건너뜀), 호출 측 트랜잭션 안에서 사용
+    @Query(value = "SELECT id FROM analysis_job WHERE id IN (:ids) AND status = 'PENDING' FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> lockPendingIds(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("UPDATE AnalysisJob j SET j.status = :running, j.workerId = :workerId, j.startedAt = :now, " +
+            "j.attempts = j.attempts + 1 WHERE j.id IN :ids")
+    int markRunning(@Param("ids") List<Long> ids,
+                    @Param("workerId") String workerId,
+                    @Param("now") LocalDateTime now,
+                    @Param("running") JobStatus running);
+
+    // 아래 완료/실패/반납은 해당 워커가 아직 작업을 소유하고 있을 때만 반영 (복구 후 늦게 끝난 워커 무시)
+    @Transactional
+    @Modifying
+    @Query("UPDATE AnalysisJob j SET j.status = :done, j.resultJson = :resultJson, j.finishedAt = :now " +
+            "WHERE j.id = :id AND j.workerId = :workerId AND j.status = :running")
+    int complete(@Param("id") Long id,
+                 @Param("workerId") String workerId,
+                 @Param("resultJson") String resultJson,
+                 @Param("now") LocalDateTime now,
+                 @Param("running") JobStatus running,
+                 @Param("done") JobStatus done);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE AnalysisJob j SET j.status = :failed, j.errorMessage = :errorMessage, j.finishedAt = :now " +
+            "WHERE j.id = :id AND j.workerId = :workerId AND j.status = :running")
+    int fail(@Param("id") Long id,
+             @Param("workerId") String workerId,
+             @Param("errorMessage") String errorMessage,
+             @Param("now") LocalDateTime now,
+             @Param("running") JobStatus running,
+             @Param("failed") JobStatus failed);
+
+    // AI 서버 혼잡 등으로 처리하지 못한 작업을 대기 상태로 되돌림 (시도 횟수는 세지 않고, nextAttemptAt 까지는 다시 가져가지 않음)
+    @Transactional
+    @Modifying
+    @Query("UPDATE AnalysisJob j SET j.status = :pending, j.workerId = null, j.attempts = j.attempts - 1, " +
+            "j.nextAttemptAt = :nextAttemptAt " +
+            "WHERE j.id = :id AND j.workerId = :workerId AND j.status = :running")
+    int release(@Param("id") Long id,
+                @Param("workerId") String workerId,
+                @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                @Param("running") JobStatus running,
+                @Param("pending") JobStatus pending);
+
+    // 워커가 죽어 오래 RUNNING 으로 남은 작업: 재시도 한도 안이면 다시 대기 상태로
+    @Transactional
+    @Modifying
+    @Query("UPDATE AnalysisJob j SET j.status = :pending, j.workerId = null " +
+            "WHERE j.status = :running AND j.startedAt < :threshold AND j.attempts < :maxAttempts")
+    int requeueStale(@Param("threshold") LocalDateTime threshold,
+                     @Param("maxAttempts") int maxAttempts,
+                     @Param("running") JobStatus running,
+                     @Param("pending") JobStatus pending);
+
+    // 재시도 한도를 넘긴 채 오래 RUNNING 으로 남은 작업은 실패 처리
+    @Transactional
+    @Modifying
+    @Query("UPDATE AnalysisJob j SET j.status = :failed, j.errorMessage = :errorMessage, j.finishedAt = :now " +
+            "WHERE j.status = :running AND j.startedAt < :threshold")
+    int failStale(@Param("threshold") LocalDateTime threshold,
+                  @Param("errorMessage") String errorMessage,
+                  @Param("now") LocalDateTime now,
+                  @Param("running") JobStatus running,
+                  @Param("failed") JobStatus failed);
+
+    // 탈퇴 시 작업 소유자 key 를 탈퇴 표시용 email 로 바꿔 같은 email 로 새로 가입한 계정에 보이지 않게 함
+    @Modifying
+    @Query("UPDATE AnalysisJob j SET j.userEmail = :tombstone WHERE j.userEmail = :email")
+    int reassignUserEmail(@Param("email") String email, @Param("tombstone") String tombstone);
+
+    @Query("SELECT j.id FROM AnalysisJob j WHERE j.userEmail = :email")
+    List<Long> findIdsByUserEmail(@Param("email") String email, Pageable pageable);
+}
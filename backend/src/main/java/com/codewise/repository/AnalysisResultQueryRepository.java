@@ -0,0 +1,12 @@
+package com.codewise.repository;
+
+import com.codewise.dto.AnalysisResultDto;
+
+import java.util.List;
+
+// 분석 이력 동적 조회 (언어/키워드 필터 + 정렬 + LIMIT 을 모두 SQL 로 처리)
+public interface AnalysisResultQueryRepository {
+
+    List<AnalysisResultDto> search(Long userId, String language, String keyword,
+                                String sortBy, String order, int limit);
+}
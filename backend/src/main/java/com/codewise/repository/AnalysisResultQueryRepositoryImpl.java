@@ -0,0 +1,86 @@
+package com.codewise.repository;
+
+import com.codewise.domain.AnalysisResult;
+import com.codewise.domain.CodeSubmission;
+import com.codewise.dto.AnalysisResultDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AnalysisResultQueryRepository 구현 (Criteria API)
+ * 조건은 값이 있는 것만 WHERE 에 넣고, 정렬 + 동점 시 id 정렬 + setMaxResults(LIMIT) 까지 DB 에서 처리한다.
+ * 결과는 DTO 생성자 projection 으로 필요한 컬럼만 읽는다 (제출 코드 TEXT, 사용자 행은 읽지 않음).
+ * 사용자 / 언어 조건은 analysis_result 의 복제 컬럼(user_id, language)으로 걸고, 정렬 기준마다 (user_id, 기준, id) 인덱스가 있어
+ * 사용자 구간을 정렬 순서대로 읽다가 LIMIT 에서 멈춘다 (이력 전체를 filesort 하지 않음). 제출은 code_submission_id FK 로 조인된다.
+ * 인덱스가 없는 정렬 기준은 받지 않고 생성 시각 순으로 처리한다.
+ */
+public class AnalysisResultQueryRepositoryImpl implements AnalysisResultQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AnalysisResultDto> search(Long userId, String language, String keyword,
+                                       String sortBy, String order, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AnalysisResultDto> query = cb.createQuery(AnalysisResultDto.class);
+        Root<AnalysisResult> result = query.from(AnalysisResult.class);
+        Join<AnalysisResult, CodeSubmission> submission = result.join("codeSubmission", JoinType.INNER);
+
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(result.get("userId"), userId));
+        if (language != null && !language.isBlank()) {
+            where.add(cb.equal(result.get("language"), language));
+        }
+        if (keyword != null && !keyword.isBlank()) {
+            where.add(cb.like(result.get("summary"), "%" + escapeLike(keyword) + "%", '\\'));
+        }
+        query.select(cb.construct(AnalysisResultDto.class,
+                        result.get("id"),
+                        submission.get("id"),
+                        submission.get("user").get("id"),
+                        result.get("maintainabilityScore"),
+                        result.get("readabilityScore"),
+                        result.get("bugProbability"),
+                        result.get("summary"),
+                        result.get("suggestions"),
+                        result.get("createdAt")))
+                .where(where.toArray(Predicate[]::new));
+
+        boolean desc = !"asc".equalsIgnoreCase(order);   // 지정하지 않으면 최신(큰 값) 순 → 기본 LIMIT 이 가장 오래된 행을 고르지 않도록
+        Expression<?> sortKey = result.get(sortProperty(sortBy));
+        query.orderBy(desc ? cb.desc(sortKey) : cb.asc(sortKey),
+                desc ? cb.desc(result.get("id")) : cb.asc(result.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // sortBy → 엔티티 필드, AnalysisResult 의 (user_id, 필드, id) 인덱스가 있는 것만 (알 수 없는 값은 생성 시각)
+    static final Map<String, String> SORT_PROPERTIES = Map.of(
+            "score", "score",
+            "maintainability", "maintainabilityScore",
+            "readability", "readabilityScore",
+            "bug", "bugProbability");
+
+    static String sortProperty(String sortBy) {
+        return sortBy == null ? "createdAt" : SORT_PROPERTIES.getOrDefault(sortBy.toLowerCase(), "createdAt");
+    }
+
+    // 키워드 안의 % _ 는 와일드카드가 아닌 문자 그대로 검색
+    private static String escapeLike(String keyword) {
+        return keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -3,15 +3,19 @@ package com.codewise.repository;
 import com.codewise.domain.AnalysisResult;
 import com.codewise.domain.CodeSubmission;
 import com.codewise.domain.User;
+import com.codewise.dto.AnalysisResultDto;
+import com.codewise.dto.ArchivedResult;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
-public interface AnalysisResultRepository extends JpaRepository<AnalysisResult, Long> {
+public interface AnalysisResultRepository extends JpaRepository<AnalysisResult, Long>, AnalysisResultQueryRepository {
 
     Optional<AnalysisResult> findByCodeSubmission(CodeSubmission submission);
 
@@ -19,6 +23,36 @@ public interface AnalysisResultRepository extends JpaRepository<AnalysisResult,
 
     List<AnalysisResult> findAllByCodeSubmission_User(User user);
 
+    // DTO projection: DTO 에 필요한 컬럼만 한 번에 SELECT (s.user.id 는 FK 컬럼이라 user 조인 없음)
+    String DTO_SELECT = "SELECT new com.codewise.dto.AnalysisResultDto(r.id, s.id, s.user.id, r.maintainabilityScore, " +
+            "r.readabilityScore, r.bugProbability, r.summary, r.suggestions, r.createdAt) " +
+            "FROM AnalysisResult r JOIN r.codeSubmission s ";
+
+    // keyset 페이지 (최신순, (createdAt, id) 기준) - Pageable 의 크기가 LIMIT 으로 내려감
+    // r.userId 조건 + 정렬이 idx_result_user_created(user_id, created_at, id) 와 같은 모양이라 그 사용자 구간만 역순으로 읽고 멈춤
+    @Query(DTO_SELECT + "WHERE r.userId = :userId ORDER BY r.createdAt DESC, r.id DESC")
+    List<AnalysisResultDto> findFirstPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE r.userId = :userId " +
+            "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<AnalysisResultDto> findPageAfterByUserId(@Param("userId") Long userId,
+                                                  @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") Long id,
+                                                  Pageable pageable);
+
+    // user_id / language 도입 전 행 채우기 (AnalysisResultOwnerBackfillRunner)
+    @Query("SELECT r.id FROM AnalysisResult r WHERE (r.userId IS NULL OR r.language IS NULL) AND r.id > :afterId ORDER BY r.id")
+    List<Long> findIdsWithoutSubmissionColumnsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // 언어가 없는 제출은 빈 문자열로 (다음 실행 때 다시 고르지 않도록)
+    @Modifying
+    @Query("UPDATE AnalysisResult r SET " +
+            "r.userId = (SELECT s.user.id FROM CodeSubmission s WHERE s = r.codeSubmission), " +
+            "r.language = (SELECT COALESCE(s.language, '') FROM CodeSubmission s WHERE s = r.codeSubmission) " +
+            "WHERE r.id IN :ids")
+    int copySubmissionColumns(@Param("ids") List<Long> ids);
+
     List<AnalysisResult> findByCodeSubmission_User_Id(Long userId);
 
     @Modifying
@@ -28,4 +62,28 @@ public interface AnalysisResultRepository extends JpaRepository<AnalysisResult,
 
     // submissionId + userId 조합 조회
     Optional<AnalysisResult> findByCodeSubmission_IdAndCodeSubmission_User_Id(Long submissionId, Long userId);
+
+    // 단건 조회 projection
+    @Query(DTO_SELECT + "WHERE r.id = :id")
+    Optional<AnalysisResultDto> findDtoById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + "WHERE s.id = :submissionId")
+    Optional<AnalysisResultDto> findDtoBySubmissionId(@Param("submissionId") Long submissionId);
+
+    @Query(DTO_SELECT + "WHERE s.id = :submissionId AND s.user.id = :userId")
+    Optional<AnalysisResultDto> findDtoBySubmissionIdAndUserId(@Param("submissionId") Long submissionId,
+                                                               @Param("userId") Long userId);
+
+    // 탈퇴 사용자 정리: id 묶음 단위로 deleteAllByIdInBatch (s.user.id 는 FK 컬럼이라 user 조인 없음)
+    @Query("SELECT r.id FROM AnalysisResult r JOIN r.codeSubmission s WHERE s.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // 아카이브 대상: 보관 기간이 지난 한 사용자의 결과 (오래된 순)
+    @Query("SELECT new com.codewise.dto.ArchivedResult(r.id, s.id, s.user.id, r.maintainabilityScore, " +
+            "r.readabilityScore, r.bugProbability, r.summary, r.suggestions, r.score, r.createdAt) " +
+            "FROM AnalysisResult r JOIN r.codeSubmission s " +
+            "WHERE r.userId = :userId AND r.createdAt < :cutoff ORDER BY r.createdAt, r.id")
+    List<ArchivedResult> findArchiveCandidates(@Param("userId") Long userId,
+                                               @Param("cutoff") LocalDateTime cutoff,
+                                               Pageable pageable);
 }
@@ -0,0 +1,44 @@
+package com.codewise.repository;
+
+import com.codewise.domain.CodeBlob;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface CodeBlobRepository extends JpaRepository<CodeBlob, String> {
+
+    // 같은 hash 가 이미 있으면 아무것도 하지 않음 (동시 저장 시 중복 키 예외 없이 한 행만 남음), 새로 넣었으면 1 반환
+    // native_spaces: 바뀌는 테이블만 알려서 Hibernate 가 2차 캐시 전체를 비우지 않게 함
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "code_blob"))
+    @Query(value = "INSERT INTO code_blob (hash, compression, content, original_size, stored_size, created_at) " +
+            "VALUES (:hash, :compression, :content, :originalSize, :storedSize, :createdAt) " +
+            "ON DUPLICATE KEY UPDATE hash = hash", nativeQuery = true)
+    int insertIfAbsent(@Param("hash") String hash,
+                       @Param("compression") String compression,
+                       @Param("content") byte[] content,
+                       @Param("originalSize") int originalSize,
+                       @Param("storedSize") int storedSize,
+                       @Param("createdAt") LocalDateTime createdAt);
+
+    // 주어진 hash 중 어떤 제출도 참조하지 않는 blob 만 삭제, 지운 행 수 반환
+    // (참조 확인과 삭제를 한 문장으로 처리, 그 사이 같은 코드가 다시 제출되어 참조가 생기면 FK 가 삭제를 막음)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "code_blob"))
+    @Query(value = "DELETE FROM code_blob WHERE hash IN (:hashes) " +
+            "AND NOT EXISTS (SELECT 1 FROM code_submission s WHERE s.blob_hash = code_blob.hash)", nativeQuery = true)
+    int deleteUnreferenced(@Param("hashes") Collection<String> hashes);
+
+    @Query("SELECT COALESCE(SUM(b.storedSize), 0) FROM CodeBlob b")
+    long sumStoredSize();
+
+    @Query("SELECT COALESCE(SUM(b.originalSize), 0) FROM CodeBlob b")
+    long sumOriginalSize();
+}
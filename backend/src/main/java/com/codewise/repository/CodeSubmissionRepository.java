@@ -2,13 +2,47 @@ package com.codewise.repository;
 
 import com.codewise.domain.CodeSubmission;
 import com.codewise.domain.User;
+import com.codewise.dto.CodeSubmissionDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 
 // CodeSubmission 데이터를 DB에 저장하고 검색하기 위한 JPA 리포지토리 인터페이스
 public interface CodeSubmissionRepository extends JpaRepository<CodeSubmission, Long> {
     List<CodeSubmission> findAllByUser(User user); // 특정 User 가 제출한 모든 CodeSubmission 목록을 조회하는 메서드
-    void deleteAllByUser(User user);
+
+    // 탈퇴 사용자 정리: id 묶음 단위로 deleteAllByIdInBatch (파생 delete 처럼 엔티티/코드 본문을 읽지 않음)
+    @Query("SELECT s.id FROM CodeSubmission s WHERE s.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // 삭제할 제출들이 참조하는 코드 blob (제출을 지운 뒤 참조가 없어진 blob 정리용)
+    @Query("SELECT DISTINCT s.blob.hash FROM CodeSubmission s WHERE s.id IN :ids AND s.blob IS NOT NULL")
+    List<String> findBlobHashesByIdIn(@Param("ids") List<Long> ids);
+
+    // DTO projection: DTO 컬럼만 SELECT (s.user.id 는 FK 컬럼이라 user 조인 없음, 코드 본문은 읽지 않음)
+    String DTO_SELECT = "SELECT new com.codewise.dto.CodeSubmissionDto(s.id, s.language, s.user.id, s.submittedAt) " +
+            "FROM CodeSubmission s ";
+
+    // keyset 페이지 (최신순) - 제출 id 는 IDENTITY 라 제출 순서와 같으므로 id 만으로 정렬
+    @Query(DTO_SELECT + "WHERE s.user.id = :userId ORDER BY s.id DESC")
+    List<CodeSubmissionDto> findDtoFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE s.user.id = :userId AND s.id < :id ORDER BY s.id DESC")
+    List<CodeSubmissionDto> findDtoPageAfter(@Param("userId") Long userId, @Param("id") Long id, Pageable pageable);
+
+    // blob 도입 전 행 (code 컬럼에 원문이 있는 행) - 마이그레이션용
+    @Query("SELECT s FROM CodeSubmission s WHERE s.blob IS NULL AND s.code IS NOT NULL AND s.id > :afterId ORDER BY s.id")
+    List<CodeSubmission> findLegacyCodeAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(value = "SELECT COALESCE(SUM(LENGTH(code)), 0) FROM code_submission WHERE code IS NOT NULL", nativeQuery = true)
+    long sumLegacyCodeBytes();
+
+    // 증분 분석: 같은 파일(이름)의 직전 제출, 파일 이름이 없으면 같은 언어의 직전 제출
+    Optional<CodeSubmission> findTopByUser_EmailAndFileNameOrderByIdDesc(String email, String fileName);
+    Optional<CodeSubmission> findTopByUser_EmailAndLanguageOrderByIdDesc(String email, String language);
 }
@@ -0,0 +1,13 @@
+package com.codewise.repository;
+
+import com.codewise.domain.User;
+
+import java.util.Optional;
+
+// email(natural id) 로 사용자 조회 (Hibernate natural id 캐시 → 2차 캐시 → DB 순)
+public interface UserNaturalIdRepository {
+
+    Optional<User> findByEmail(String email);
+
+    boolean existsByEmail(String email);
+}
@@ -0,0 +1,39 @@
+package com.codewise.repository;
+
+import com.codewise.domain.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * UserNaturalIdRepository 구현
+ * 파생 쿼리(findByEmail)는 매번 SELECT ... WHERE email = ? 를 보내지만, natural id 로 읽으면
+ * email → id 는 natural id 캐시에서, 사용자 행은 2차 캐시에서 찾고 둘 다 없을 때만 DB 를 읽는다.
+ * SUPPORTS: 트랜잭션 밖 (JWT 필터 등) 에서 불려도 Session 이 열려 있도록 하고, 호출한 쪽 트랜잭션이 있으면 합류.
+ */
+public class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean existsByEmail(String email) {
+        return findByEmail(email).isPresent();
+    }
+}
@@ -1,14 +1,36 @@
 package com.codewise.repository;
 
 import com.codewise.domain.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 import java.util.Optional;
 
 // 사용자(User) 정보를 DB 에서 조회하고 관리하기 위한 JPA 리포지토리 인터페이스
-public interface UserRepository extends JpaRepository<User, Long> {
-    boolean existsByEmail(String email);
-    Optional<User> findByEmail(String email);
+// findByEmail / existsByEmail 은 natural id 캐시를 타도록 UserNaturalIdRepository 에서 구현
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
 
     // Google 소셜 로그인 추가 메서드
     Optional<User> findByProviderAndProviderId(String provider, String providerId);
+
+    @Query("SELECT u.id FROM User u ORDER BY u.id")
+    List<Long> findAllIds();
+
+    // 탈퇴 표시된 계정은 엔티티 조회에서 빠지므로(@SQLRestriction) 삭제 대기 목록과 최종 삭제는 native 로 처리
+    @Query(value = "SELECT id FROM user WHERE deleted_at IS NOT NULL ORDER BY deleted_at, id LIMIT :limit", nativeQuery = true)
+    List<Long> findPendingPurgeIds(@Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM user WHERE deleted_at IS NOT NULL", nativeQuery = true)
+    long countPendingPurge();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user"))
+    @Query(value = "DELETE FROM user WHERE id = :id AND deleted_at IS NOT NULL", nativeQuery = true)
+    int deletePurged(@Param("id") Long id);
 }
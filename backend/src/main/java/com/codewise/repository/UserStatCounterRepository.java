@@ -0,0 +1,60 @@
+package com.codewise.repository;
+
+import com.codewise.domain.StatDimension;
+import com.codewise.domain.UserStatCounter;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+// native INSERT 는 QueryHints 로 바뀌는 테이블을 알려줌 (없으면 Hibernate 가 2차 캐시 전체를 비움)
+public interface UserStatCounterRepository extends JpaRepository<UserStatCounter, Long> {
+
+    // 상위 N 개 (idx_user_stat_top 인덱스 순서대로 읽고 LIMIT)
+    List<UserStatCounter> findByUserIdAndDimensionOrderByCountDesc(Long userId, StatDimension dimension, Pageable pageable);
+
+    List<UserStatCounter> findByUserId(Long userId);
+
+    // 카운터가 없으면 만들고 있으면 delta 만큼 더함 (같은 행 동시 갱신은 행 잠금으로 직렬화)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_stat_counter"))
+    @Query(value = "INSERT INTO user_stat_counter (user_id, dimension, stat_key, count) " +
+            "VALUES (:userId, :dimension, :statKey, :delta) " +
+            "ON DUPLICATE KEY UPDATE count = count + VALUES(count)", nativeQuery = true)
+    void increment(@Param("userId") Long userId,
+                   @Param("dimension") String dimension,
+                   @Param("statKey") String statKey,
+                   @Param("delta") long delta);
+
+    @Modifying
+    @Query("DELETE FROM UserStatCounter c WHERE c.userId = :userId")
+    void deleteAllByUserId(@Param("userId") Long userId);
+
+    // 백필: 히스토리 원본에서 한 사용자의 집계를 GROUP BY 로 다시 채움
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_stat_counter"))
+    @Query(value = "INSERT INTO user_stat_counter (user_id, dimension, stat_key, count) " +
+            "SELECT user_id, 'LANGUAGE', language, COUNT(*) FROM analysis_history " +
+            "WHERE user_id = :userId AND language IS NOT NULL AND language <> '' GROUP BY user_id, language", nativeQuery = true)
+    int backfillLanguages(@Param("userId") Long userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_stat_counter"))
+    @Query(value = "INSERT INTO user_stat_counter (user_id, dimension, stat_key, count) " +
+            "SELECT user_id, 'PURPOSE', purpose, COUNT(*) FROM analysis_history " +
+            "WHERE user_id = :userId AND purpose IS NOT NULL AND purpose <> '' GROUP BY user_id, purpose", nativeQuery = true)
+    int backfillPurposes(@Param("userId") Long userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_stat_counter"))
+    @Query(value = "INSERT INTO user_stat_counter (user_id, dimension, stat_key, count) " +
+            "SELECT user_id, 'ERROR', error_message, COUNT(*) FROM analysis_history " +
+            "WHERE user_id = :userId AND error_message IS NOT NULL AND error_message <> '' GROUP BY user_id, error_message", nativeQuery = true)
+    int backfillErrors(@Param("userId") Long userId);
+}
@@ -0,0 +1,253 @@
+package com.codewise.service;
+
+import com.codewise.domain.AnalysisPriority;
+import com.codewise.exception.AiServerBusyException;
+import com.codewise.service.AnalysisScheduler.Ticket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.handler.timeout.ReadTimeoutException;
+import io.netty.handler.timeout.WriteTimeoutException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.SignalType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * AI 서버 호출 Bulkhead
+ * - 동시에 AI 서버로 나가는 요청 수를 limit 으로 제한 (limit 은 ConcurrencyLimitStrategy 가 RTT 를 보고 조절)
+ * - 초과 요청은 최대 maxQueue 개까지 대기열에서 기다림 (꺼내는 순서는 AnalysisScheduler 의 우선순위 + 사용자별 공정 큐)
+ * - 대기열까지 가득 차면 더 낮은 등급의 대기 요청을 밀어내고, 그럴 요청도 없으면 AiServerBusyException 으로 즉시 거절
+ * - 한도를 줄이는 실패는 상류 과부하 신호(타임아웃, 5xx, 429)뿐이고, 그 밖의 4xx 는 정상 RTT 샘플로 취급
+ */
+@Component
+public class AiBulkhead {
+
+    private final ConcurrencyLimitStrategy limitStrategy;
+    private final AnalysisScheduler scheduler;                // 대기열 (this 로 동기화한 뒤 접근)
+    private final int maxQueue;
+    private final long retryAfterMs;
+    private final LongSupplier nanoClock;
+
+    private int inFlight;                                     // this 로 동기화
+    private int limit;                                        // this 로 동기화
+
+    private final Timer waitTimer;
+    private final Timer rttTimer;
+    private final Counter rejectedCounter;
+
+    @Autowired
+    public AiBulkhead(ConcurrencyLimitStrategy limitStrategy,
+                      AnalysisScheduler scheduler,
+                      @Value("${ai.bulkhead.max-queue:100}") int maxQueue,
+                      @Value("${ai.bulkhead.retry-after-ms:1000}") long retryAfterMs,
+                      MeterRegistry meterRegistry) {
+        this(limitStrategy, scheduler, maxQueue, retryAfterMs, meterRegistry, System::nanoTime);
+    }
+
+    // 대기 시간 / RTT 를 재는 시계를 바꿔 끼울 수 있는 생성자 (시뮬레이션 테스트용)
+    AiBulkhead(ConcurrencyLimitStrategy limitStrategy,
+               AnalysisScheduler scheduler,
+               int maxQueue,
+               long retryAfterMs,
+               MeterRegistry meterRegistry,
+               LongSupplier nanoClock) {
+        this.limitStrategy = limitStrategy;
+        this.nanoClock = nanoClock;
+        this.scheduler = scheduler;
+        this.limit = Math.max(1, limitStrategy.initialLimit());
+        this.maxQueue = maxQueue;
+        this.retryAfterMs = retryAfterMs;
+
+        this.waitTimer = Timer.builder("ai.bulkhead.wait")
+                .description("AI 서버 호출 전 대기열에서 기다린 시간")
+                .register(meterRegistry);
+        this.rttTimer = Timer.builder("ai.bulkhead.rtt")
+                .description("허가 획득부터 AI 응답 완료까지 걸린 시간")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("ai.bulkhead.rejected")
+                .register(meterRegistry);
+        Gauge.builder("ai.bulkhead.limit", this, AiBulkhead::currentLimit)
+                .register(meterRegistry);
+        Gauge.builder("ai.bulkhead.queue.depth", this, AiBulkhead::queueDepth)
+                .register(meterRegistry);
+        Gauge.builder("ai.bulkhead.inflight", this, AiBulkhead::inFlight)
+                .register(meterRegistry);
+    }
+
+    // 허가(permit)를 얻은 뒤 task 를 실행하고, 종료 시 RTT 를 한도 전략에 반영하며 허가 반납
+    public <T> Mono<T> execute(Mono<T> task) {
+        return acquire().flatMap(permit -> task.doOnError(permit::fail).doFinally(permit::finish));
+    }
+
+    public <T> Flux<T> executeMany(Flux<T> task) {
+        return acquire().flatMapMany(permit -> task.doOnError(permit::fail).doFinally(permit::finish));
+    }
+
+    // 상류가 과부하라는 신호인지: 타임아웃, 5xx, 429 (나머지 4xx 는 요청 자체의 문제라 한도와 무관)
+    static boolean isOverload(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof TimeoutException
+                    || t instanceof SocketTimeoutException
+                    || t instanceof ReadTimeoutException
+                    || t instanceof WriteTimeoutException) {
+                return true;
+            }
+            if (t instanceof WebClientResponseException e) {
+                return e.getStatusCode().is5xxServerError() || e.getStatusCode().value() == 429;
+            }
+        }
+        return false;
+    }
+
+    // 우선순위 등급과 사용자 key 는 호출 측이 AnalysisScheduler.withPriority 로 지정한 Context 에서 읽음
+    private Mono<Permit> acquire() {
+        return Mono.deferContextual(ctx -> Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink, nanoClock.getAsLong(),
+                    AnalysisScheduler.priorityOf(ctx), AnalysisScheduler.userOf(ctx));
+            sink.onCancel(() -> cancel(waiter));
+
+            Waiter shed = null;
+            synchronized (this) {
+                if (inFlight < limit) {
+                    inFlight++;
+                    waiter.permit.granted = true;
+                } else if (scheduler.size() < maxQueue) {
+                    waiter.ticket = scheduler.enqueue(waiter, waiter.priority, waiter.userKey);
+                    return;
+                } else {
+                    Ticket victim = scheduler.shedLowerThan(waiter.priority);
+                    if (victim != null) {
+                        shed = (Waiter) victim.item;
+                        waiter.ticket = scheduler.enqueue(waiter, waiter.priority, waiter.userKey);
+                    }
+                }
+            }
+
+            if (waiter.permit.granted) {
+                grant(waiter);
+            } else if (shed != null) {
+                // 더 높은 등급 요청에 자리를 내준 대기 요청은 혼잡으로 거절
+                rejectedCounter.increment();
+                shed.sink.error(new AiServerBusyException(retryAfterMs));
+            } else {
+                rejectedCounter.increment();
+                sink.error(new AiServerBusyException(retryAfterMs));
+            }
+        }));
+    }
+
+    private void grant(Waiter waiter) {
+        long now = nanoClock.getAsLong();
+        waitTimer.record(now - waiter.enqueuedAt, TimeUnit.NANOSECONDS);
+        scheduler.recordWait(waiter.priority, waiter.userKey, now - waiter.enqueuedAt);
+        waiter.permit.grantedAt = now;
+        if (waiter.cancelled) {
+            waiter.permit.release();
+            return;
+        }
+        waiter.sink.success(waiter.permit);
+    }
+
+    // 대기 중 취소되면 대기열에서 제거, 이미 허가를 받은 상태라면 허가 반납
+    private void cancel(Waiter waiter) {
+        waiter.cancelled = true;
+        synchronized (this) {
+            if (waiter.ticket != null && scheduler.remove(waiter.ticket)) {
+                return;
+            }
+        }
+        waiter.permit.release();
+    }
+
+    // rttNanos < 0 이면 취소된 요청이므로 한도 전략에 반영하지 않음
+    private void releaseSlot(long rttNanos, boolean dropped) {
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (this) {
+            if (rttNanos >= 0) {
+                limit = Math.max(1, limitStrategy.onSample(limit, rttNanos, inFlight, dropped));
+            }
+            inFlight--;
+            while (inFlight < limit && scheduler.size() > 0) {
+                Waiter next = (Waiter) scheduler.poll().item;
+                inFlight++;
+                next.permit.granted = true;
+                granted.add(next);
+            }
+        }
+        granted.forEach(this::grant);
+    }
+
+    private synchronized int queueDepth() {
+        return scheduler.size();
+    }
+
+    private synchronized int inFlight() {
+        return inFlight;
+    }
+
+    synchronized int currentLimit() {
+        return limit;
+    }
+
+    private final class Waiter {
+        private final MonoSink<Permit> sink;
+        private final long enqueuedAt;
+        private final AnalysisPriority priority;
+        private final String userKey;
+        private final Permit permit = new Permit();
+        private Ticket ticket;                    // 대기열에 들어간 경우에만 (AiBulkhead 로 동기화)
+        private volatile boolean cancelled;
+
+        private Waiter(MonoSink<Permit> sink, long enqueuedAt, AnalysisPriority priority, String userKey) {
+            this.sink = sink;
+            this.enqueuedAt = enqueuedAt;
+            this.priority = priority;
+            this.userKey = userKey;
+        }
+    }
+
+    // 허가를 받은 경우에만, 그리고 한 번만 반납되도록 보장하는 허가 객체
+    private final class Permit {
+        private final AtomicBoolean released = new AtomicBoolean(false);
+        private volatile boolean granted;
+        private volatile long grantedAt;
+        private volatile boolean overloaded;
+
+        void fail(Throwable error) {
+            overloaded = isOverload(error);
+        }
+
+        // task 종료 신호에 따라 RTT 샘플과 함께 반납 (취소는 샘플로 쓰지 않음)
+        void finish(SignalType signal) {
+            if (signal == SignalType.CANCEL) {
+                release();
+                return;
+            }
+            if (granted && released.compareAndSet(false, true)) {
+                long rtt = nanoClock.getAsLong() - grantedAt;
+                rttTimer.record(rtt, TimeUnit.NANOSECONDS);
+                releaseSlot(rtt, overloaded);
+            }
+        }
+
+        void release() {
+            if (granted && released.compareAndSet(false, true)) {
+                releaseSlot(-1, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.codewise.service;
+
+import com.codewise.dto.AiAnalysisPayload;
+import com.codewise.dto.AnalyzeResponse;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AI 분석 응답 단일 파싱
+ * 응답 JSON 을 스트리밍 파서로 한 번만 훑으면서 저장에 필요한 값(요약, 점수, issue 별 severity/type/message/줄 범위)만 꺼내고,
+ * issues 배열은 원문 구간(offset)만 기록한다. JsonNode 트리를 만들거나 다시 직렬화하지 않으므로
+ * issues 가 많아도 원문 바이트 외의 중간 객체가 거의 생기지 않는다.
+ */
+@Component
+public class AiResponseIngestor {
+
+    private final ObjectMapper objectMapper;
+
+    public AiResponseIngestor(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public AiAnalysisPayload ingest(String json) {
+        return ingest(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public AiAnalysisPayload ingest(byte[] raw) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(raw)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalStateException("AI 응답이 JSON 객체가 아닙니다.");
+            }
+
+            String summary = "";
+            String fix = null;
+            double maintainability = 0.0;
+            double readability = 0.0;
+            double bugProbability = 0.0;
+            int score = 0;
+            List<AnalyzeResponse.Issue> issues = null;
+            int issuesOffset = -1;
+            int issuesLength = 0;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                switch (field) {
+                    case "summary" -> summary = parser.getValueAsString("");
+                    case "fix" -> fix = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    case "metrics" -> {
+                        if (value != JsonToken.START_OBJECT) {
+                            break;
+                        }
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String metric = parser.currentName();
+                            parser.nextToken();
+                            switch (metric) {
+                                case "maintainability" -> maintainability = parser.getValueAsDouble(0.0);
+                                case "readability" -> readability = parser.getValueAsDouble(0.0);
+                                case "bug_probability" -> bugProbability = parser.getValueAsDouble(0.0);
+                                case "score" -> score = parser.getValueAsInt(0);
+                                default -> { }
+                            }
+                            parser.skipChildren();
+                        }
+                    }
+                    case "issues" -> {
+                        if (value != JsonToken.START_ARRAY) {
+                            break;
+                        }
+                        issuesOffset = (int) parser.currentTokenLocation().getByteOffset();
+                        issues = new ArrayList<>();
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            issues.add(readIssue(parser));
+                        }
+                        issuesLength = (int) parser.currentTokenLocation().getByteOffset() + 1 - issuesOffset;
+                    }
+                    default -> { }
+                }
+                parser.skipChildren();
+            }
+
+            AnalyzeResponse response = new AnalyzeResponse(summary,
+                    new AnalyzeResponse.Metrics(maintainability, readability, bugProbability, score),
+                    issues, fix);
+            return new AiAnalysisPayload(raw, response, issuesOffset, issuesLength);
+        } catch (IOException e) {
+            throw new IllegalStateException("AI 응답 JSON 파싱 실패", e);
+        }
+    }
+
+    // issue 객체에서 severity / type / message / 줄 범위만 읽고 나머지 필드는 건너뜀 (객체가 아니면 빈 issue)
+    private AnalyzeResponse.Issue readIssue(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return new AnalyzeResponse.Issue(null, null, null, null, null);
+        }
+        String severity = null;
+        String type = null;
+        String message = null;
+        Integer startLine = null;
+        Integer endLine = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "severity" -> severity = parser.getValueAsString(null);
+                case "type", "category" -> type = type != null ? type : parser.getValueAsString(null);
+                case "message" -> message = parser.getValueAsString(null);
+                case "line", "start_line", "line_start", "startLine" -> startLine = lineNumber(parser, value, startLine);
+                case "end_line", "line_end", "endLine" -> endLine = lineNumber(parser, value, endLine);
+                default -> { }
+            }
+            parser.skipChildren();
+        }
+        if (endLine == null) {
+            endLine = startLine;
+        }
+        return new AnalyzeResponse.Issue(severity, type, message, startLine, endLine);
+    }
+
+    private static Integer lineNumber(JsonParser parser, JsonToken value, Integer current) throws IOException {
+        if (value == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        if (value == JsonToken.VALUE_STRING) {
+            try {
+                return Integer.valueOf(parser.getText().trim());
+            } catch (NumberFormatException ignored) {
+                return current;
+            }
+        }
+        return current;
+    }
+}
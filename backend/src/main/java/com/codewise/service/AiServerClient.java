@@ -2,35 +2,161 @@ package com.codewise.service;
 
 import com.codewise.dto.AnalyzeRequest;
 import com.codewise.dto.AnalyzeResponse;
+import com.codewise.util.CodeHashUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value; // @Value 어노테이션을 위해 필요
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class AiServerClient {
 
     private final WebClient webClient;
+    private final AnalysisCacheService analysisCacheService;
+    private final AiBulkhead aiBulkhead;
+    private final ObjectMapper objectMapper;
+    private final String streamPath;
+
+    // 진행 중인 AI 요청 (캐시 키 → 공유 Mono), 같은 코드가 동시에 들어오면 업스트림 호출 1회만 수행
+    private final Map<String, Mono<String>> inFlight = new ConcurrentHashMap<>();
+    private final Counter upstreamCounter;   // 실제로 AI 서버를 호출한 요청 수
+    private final Counter coalescedCounter;  // 진행 중인 요청에 합류한 요청 수
 
     // 생성자를 통해 'ai.server.url' 값을 주입받도록 수정합니다.
-    public AiServerClient(@Value("${ai.server.url}") String aiServerUrl) {
+    public AiServerClient(@Value("${ai.server.url}") String aiServerUrl,
+                          @Value("${ai.server.stream-path:/analyze/stream}") String streamPath,
+                          AnalysisCacheService analysisCacheService,
+                          AiBulkhead aiBulkhead,
+                          ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry) {
         this.webClient = WebClient.builder()
                 .baseUrl(aiServerUrl) // 주입받은 URL을 사용
                 .build();
+        this.analysisCacheService = analysisCacheService;
+        this.aiBulkhead = aiBulkhead;
+        this.objectMapper = objectMapper;
+        this.streamPath = streamPath;
+
+        this.upstreamCounter = Counter.builder("ai.singleflight.requests")
+                .tag("role", "leader").register(meterRegistry);
+        this.coalescedCounter = Counter.builder("ai.singleflight.requests")
+                .tag("role", "coalesced").register(meterRegistry);
+        Gauge.builder("ai.singleflight.coalescing.ratio", this, AiServerClient::coalescingRatio)
+                .description("합류한 요청 수 / 전체 캐시 miss 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("ai.singleflight.inflight", inFlight, Map::size)
+                .register(meterRegistry);
     }
 
     // AI 서버 호출 (비동기, 리액티브 방식)
+    // 정규화된 코드 + 언어 해시로 캐시를 먼저 조회하고, hit 이면 AI 서버를 호출하지 않음
     public Mono<String> analyze(AnalyzeRequest req) {
+        String cacheKey = CodeHashUtil.analysisKey(req.code(), req.language());
+
+        return Mono.fromCallable(() -> analysisCacheService.get(cacheKey))
+                .subscribeOn(Schedulers.boundedElastic())   // DB 캐시 조회는 blocking 이므로 별도 스레드에서
+                .flatMap(cached -> cached
+                        .map(Mono::just)
+                        .orElseGet(() -> coalesce(cacheKey, req)));
+    }
+
+    // Single-flight: 같은 (코드 해시, 언어) 요청이 진행 중이면 그 결과를 함께 구독
+    // 각 구독자(STOMP 세션)는 결과를 각자 받아 각자 저장하므로 saveNewResult 는 세션마다 수행됨
+    // 업스트림 호출(leader)만 Bulkhead 허가를 사용하며, 거절되면 합류한 요청도 같은 busy 오류를 받음
+    private Mono<String> coalesce(String cacheKey, AnalyzeRequest req) {
+        Mono<String> candidate = aiBulkhead.execute(requestAnalysis(req))
+                .doOnNext(json -> Schedulers.boundedElastic().schedule(
+                        () -> analysisCacheService.put(cacheKey, req.language(), json)))
+                .doFinally(signal -> inFlight.remove(cacheKey))
+                .cache();
+
+        Mono<String> existing = inFlight.putIfAbsent(cacheKey, candidate);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return existing;
+        }
+        upstreamCounter.increment();
+        return candidate;
+    }
+
+    /**
+     * 스트리밍 분석: AI 서버의 NDJSON / SSE 응답을 조각 단위로 바로 흘려보냄
+     * 각 조각은 summary, metrics, issues 등의 일부 필드를 가진 JSON 객체이며,
+     * 스트림이 끝나면 조립된 전체 결과를 캐시에 저장한다. 캐시 hit 이면 저장된 결과를 조각으로 나눠 보냄.
+     */
+    public Flux<JsonNode> analyzeStream(AnalyzeRequest req) {
+        String cacheKey = CodeHashUtil.analysisKey(req.code(), req.language());
+
+        return Mono.fromCallable(() -> analysisCacheService.get(cacheKey))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(cached -> cached
+                        .map(this::splitCached)
+                        .orElseGet(() -> requestAnalysisStream(cacheKey, req)));
+    }
+
+    private Flux<JsonNode> splitCached(String json) {
+        try {
+            return Flux.fromIterable(AnalysisResultAssembler.split(objectMapper, objectMapper.readTree(json)));
+        } catch (JsonProcessingException e) {
+            return Flux.error(e);
+        }
+    }
+
+    private Flux<JsonNode> requestAnalysisStream(String cacheKey, AnalyzeRequest req) {
+        return Flux.defer(() -> {
+            AnalysisResultAssembler assembler = new AnalysisResultAssembler(objectMapper);
+            return aiBulkhead.executeMany(webClient.post()
+                            .uri(streamPath)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM)
+                            .bodyValue(req)
+                            .retrieve()
+                            .onStatus(status -> status.isError(), AiServerClient::toAiError)
+                            .bodyToFlux(JsonNode.class))
+                    .doOnNext(assembler::accept)
+                    .doOnComplete(() -> Schedulers.boundedElastic().schedule(
+                            () -> analysisCacheService.put(cacheKey, req.language(), assembler.result().toString())));
+        });
+    }
+
+    private double coalescingRatio() {
+        double coalesced = coalescedCounter.count();
+        double total = coalesced + upstreamCounter.count();
+        return total == 0 ? 0.0 : coalesced / total;
+    }
+
+    private Mono<String> requestAnalysis(AnalyzeRequest req) {
         return webClient.post()
                 .uri("/analyze")
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(req)
                 .retrieve()
-                .onStatus(status -> status.isError(),
-                        res -> res.bodyToMono(String.class)
-                                .map(msg -> new RuntimeException("AI error: " + msg)))
+                .onStatus(status -> status.isError(), AiServerClient::toAiError)
                 .bodyToMono(String.class);   // ✅ JSON 원본 그대로 받음
     }
 
+    // 상태 코드를 그대로 담아 AiBulkhead 가 5xx / 429 (과부하) 와 나머지 4xx 를 구분할 수 있게 함
+    private static Mono<WebClientResponseException> toAiError(ClientResponse res) {
+        return res.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .map(msg -> new WebClientResponseException("AI error: " + msg,
+                        res.statusCode().value(), res.statusCode().toString(),
+                        res.headers().asHttpHeaders(), msg.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+    }
+
 }
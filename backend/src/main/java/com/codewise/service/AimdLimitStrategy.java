@@ -0,0 +1,46 @@
+package com.codewise.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AIMD (Additive Increase, Multiplicative Decrease) 전략
+ * - 응답이 latencyThreshold 이내이고 한도를 충분히 사용 중이면 한도 +1
+ * - 과부하 신호(타임아웃, 5xx, 429)이거나 latencyThreshold 를 넘으면 한도 × backoffRatio
+ */
+public class AimdLimitStrategy implements ConcurrencyLimitStrategy {
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    public AimdLimitStrategy(int initialLimit, int minLimit, int maxLimit,
+                             double backoffRatio, long latencyThresholdMs) {
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio 는 0 과 1 사이여야 합니다.");
+        }
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.initialLimit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs);
+    }
+
+    @Override
+    public int initialLimit() {
+        return initialLimit;
+    }
+
+    @Override
+    public int onSample(int currentLimit, long rttNanos, int inFlight, boolean dropped) {
+        if (dropped || rttNanos > latencyThresholdNanos) {
+            return Math.max(minLimit, (int) Math.floor(currentLimit * backoffRatio));
+        }
+        // 한도의 절반도 쓰지 않는 상황에서는 늘려도 의미가 없으므로 유지
+        if (inFlight * 2 >= currentLimit) {
+            return Math.min(maxLimit, currentLimit + 1);
+        }
+        return currentLimit;
+    }
+}
@@ -0,0 +1,27 @@
+package com.codewise.service;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * 아카이브 즉시 실행 명령
+ * java -jar app.jar --archive.run
+ * archive.enabled 와 관계없이 보관 기간(archive.retention-days)이 지난 히스토리 / 분석 결과를 한 번 아카이브로 옮긴다.
+ */
+@Component
+public class AnalysisArchiveRunner implements ApplicationRunner {
+
+    private final AnalysisArchiveService analysisArchiveService;
+
+    public AnalysisArchiveRunner(AnalysisArchiveService analysisArchiveService) {
+        this.analysisArchiveService = analysisArchiveService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption("archive.run")) {
+            analysisArchiveService.archiveAll();
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.codewise.service;
+
+import com.codewise.domain.StatDimension;
+import com.codewise.dto.AnalysisHistoryDto;
+import com.codewise.dto.AnalysisResultDto;
+import com.codewise.dto.ArchivedHistory;
+import com.codewise.dto.ArchivedResult;
+import com.codewise.dto.ArchivedRow;
+import com.codewise.repository.AnalysisHistoryRepository;
+import com.codewise.repository.AnalysisIssueRepository;
+import com.codewise.repository.AnalysisResultRepository;
+import com.codewise.repository.UserRepository;
+import com.codewise.util.KeysetCursor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.codewise.service.ArchiveSegmentStore.HISTORY;
+import static com.codewise.service.ArchiveSegmentStore.RESULT;
+
+/**
+ * 히스토리 / 분석 결과 보관(콜드 아카이브)
+ * - 보관: archive.retention-days 보다 오래된 analysis_history / analysis_result 행을 사용자·월 단위 NDJSON 세그먼트
+ *   (ArchiveSegmentStore) 로 내보낸 뒤 hot 테이블에서 지운다. batch 마다 파일 fsync → DB 삭제 순서라 중간에 멈춰도 유실 없음
+ *   (파일에도 있고 아직 hot 에도 남은 행은 목록에서는 id 로 한 번만 보이고, 집계에서는 hot 쪽으로만 셈).
+ * - 조회: 목록/기간 통계가 아카이브 구간에 닿을 때만 세그먼트를 읽어 hot 결과와 합친다.
+ * - 정기 실행은 전용 스레드(archive)에서: 전체 사용자를 도는 긴 작업이 공용 스케줄러 스레드를 막지 않게 넘기기만 함
+ * 분석 결과의 issue 행은 보관되는 suggestions 에 그대로 들어 있으므로 결과와 함께 지운다.
+ * 전문 검색 문서도 같은 트랜잭션에서 지워 검색 결과가 hot 테이블에 없는 행을 가리키지 않게 한다 (아카이브 구간은 검색 대상이 아님).
+ */
+@Service
+public class AnalysisArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisArchiveService.class);
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final ArchiveSegmentStore archiveSegmentStore;
+    private final AnalysisHistoryRepository analysisHistoryRepository;
+    private final AnalysisResultRepository analysisResultRepository;
+    private final AnalysisIssueRepository analysisIssueRepository;
+    private final AnalysisSearchIndex analysisSearchIndex;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int retentionDays;
+    private final int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService archiveExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "archive");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter archivedHistoryCounter;
+    private final Counter archivedResultCounter;
+
+    public AnalysisArchiveService(ArchiveSegmentStore archiveSegmentStore,
+                                  AnalysisHistoryRepository analysisHistoryRepository,
+                                  AnalysisResultRepository analysisResultRepository,
+                                  AnalysisIssueRepository analysisIssueRepository,
+                                  AnalysisSearchIndex analysisSearchIndex,
+                                  UserRepository userRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${archive.enabled:false}") boolean enabled,
+                                  @Value("${archive.retention-days:365}") int retentionDays,
+                                  @Value("${archive.batch-size:1000}") int batchSize) {
+        this.archiveSegmentStore = archiveSegmentStore;
+        this.analysisHistoryRepository = analysisHistoryRepository;
+        this.analysisResultRepository = analysisResultRepository;
+        this.analysisIssueRepository = analysisIssueRepository;
+        this.analysisSearchIndex = analysisSearchIndex;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.retentionDays = Math.max(1, retentionDays);
+        this.batchSize = Math.max(1, batchSize);
+
+        this.archivedHistoryCounter = Counter.builder("archive.rows")
+                .tag("kind", HISTORY).register(meterRegistry);
+        this.archivedResultCounter = Counter.builder("archive.rows")
+                .tag("kind", RESULT).register(meterRegistry);
+    }
+
+    // 공용 스케줄러 스레드에서는 전용 스레드에 넘기기만 함 (이전 실행이 아직 돌고 있으면 건너뜀)
+    @Scheduled(cron = "${archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            archiveExecutor.execute(() -> {
+                try {
+                    archiveAll();
+                } catch (Exception e) {
+                    log.error("❌ 아카이브 중 오류 (다음 실행에서 이어서 진행)", e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false);   // 종료 중
+        }
+    }
+
+    // 종료 시 진행 중인 batch 는 끝까지 (파일 fsync → DB 삭제 순서라 중간에 멈춰도 다음 실행에서 이어서 보관)
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        archiveExecutor.shutdown();
+        archiveExecutor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    // 보관 기간이 지난 행을 모든 사용자에 대해 아카이브로 옮기고 옮긴 행 수 반환
+    public long archiveAll() {
+        LocalDateTime cutoff = LocalDate.now().minusDays(retentionDays).atStartOfDay();
+        log.info("⏳ 아카이브 시작 (cutoff={})", cutoff);
+        long histories = 0;
+        long results = 0;
+        for (Long userId : userRepository.findAllIds()) {
+            if (archiveExecutor.isShutdown()) {
+                log.warn("⚠️ 종료 중이라 아카이브를 멈춤 (남은 사용자는 다음 실행에서)");
+                break;
+            }
+            // 히스토리 → 결과 순서 (결과를 가리키는 히스토리 FK 가 먼저 정리되도록)
+            histories += archive(HISTORY, userId, archivedHistoryCounter,
+                    () -> analysisHistoryRepository.findArchiveCandidates(userId, cutoff, PageRequest.of(0, batchSize)),
+                    ids -> {
+                        analysisHistoryRepository.deleteAllByIdInBatch(ids);
+                        analysisSearchIndex.deleteHistories(ids);
+                    });
+            results += archive(RESULT, userId, archivedResultCounter,
+                    () -> analysisResultRepository.findArchiveCandidates(userId, cutoff, PageRequest.of(0, batchSize)),
+                    ids -> {
+                        analysisIssueRepository.deleteByResultIds(ids);
+                        analysisHistoryRepository.detachResults(ids);
+                        analysisResultRepository.deleteAllByIdInBatch(ids);
+                        analysisSearchIndex.deleteResults(ids);
+                    });
+        }
+        log.info("✅ 아카이브 완료 (history={}, result={})", histories, results);
+        return histories + results;
+    }
+
+    private <T extends ArchivedRow> long archive(String kind, Long userId, Counter counter,
+                                                 Supplier<List<T>> nextBatch, Consumer<List<Long>> deleteHot) {
+        long archived = 0;
+        while (true) {
+            List<T> rows = nextBatch.get();
+            if (rows.isEmpty()) {
+                break;
+            }
+            Map<YearMonth, List<T>> byMonth = rows.stream().collect(Collectors.groupingBy(
+                    row -> YearMonth.from(row.createdAt()), TreeMap::new, Collectors.toList()));
+            byMonth.forEach((month, monthRows) -> archiveSegmentStore.append(kind, userId, month, monthRows));
+
+            List<Long> ids = rows.stream().map(ArchivedRow::id).toList();
+            transactionTemplate.executeWithoutResult(status -> deleteHot.accept(ids));
+            archived += rows.size();
+            counter.increment(rows.size());
+            if (rows.size() < batchSize) {
+                break;
+            }
+        }
+        return archived;
+    }
+
+    // 히스토리 최신순 페이지 (hot 조회 결과 + 필요할 때만 아카이브), 반환 목록은 최대 probe 개
+    public List<AnalysisHistoryDto> mergeHistory(Long userId, List<AnalysisHistoryDto> hot, KeysetCursor.Key after, int probe) {
+        Function<AnalysisHistoryDto, KeysetCursor.Key> keyOf = h -> new KeysetCursor.Key(h.createdAt(), h.id());
+        if (!reachesCold(HISTORY, userId, hot, probe, keyOf)) {
+            return hot;
+        }
+        List<AnalysisHistoryDto> cold = archiveSegmentStore.readBefore(HISTORY, userId, after, probe, ArchivedHistory.class)
+                .stream().map(ArchivedHistory::toDto).toList();
+        return KeysetCursor.merge(hot, cold, keyOf, probe);
+    }
+
+    // 분석 결과 최신순 페이지 (hot 조회 결과 + 필요할 때만 아카이브)
+    public List<AnalysisResultDto> mergeResults(Long userId, List<AnalysisResultDto> hot, KeysetCursor.Key after, int probe) {
+        Function<AnalysisResultDto, KeysetCursor.Key> keyOf = r -> new KeysetCursor.Key(r.getCreatedAt(), r.getId());
+        if (!reachesCold(RESULT, userId, hot, probe, keyOf)) {
+            return hot;
+        }
+        List<AnalysisResultDto> cold = archiveSegmentStore.readBefore(RESULT, userId, after, probe, ArchivedResult.class)
+                .stream().map(ArchivedResult::toDto).toList();
+        return KeysetCursor.merge(hot, cold, keyOf, probe);
+    }
+
+    // hot 페이지가 덜 찼거나, 마지막 행이 아카이브된 가장 최근 행보다 오래되지 않았으면 아카이브도 읽어야 함
+    private <E> boolean reachesCold(String kind, Long userId, List<E> hot, int probe,
+                                    Function<E, KeysetCursor.Key> keyOf) {
+        Optional<LocalDateTime> newestCold = archiveSegmentStore.newest(kind, userId);
+        if (newestCold.isEmpty()) {
+            return false;
+        }
+        return hot.size() < probe || !keyOf.apply(hot.get(hot.size() - 1)).createdAt().isAfter(newestCold.get());
+    }
+
+    // [from, to) 기간 히스토리 집계 (hot GROUP BY + 기간이 아카이브에 닿으면 세그먼트 집계)
+    public Map<StatDimension, Map<String, Long>> countHistory(Long userId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime lower = from != null ? from : EPOCH;
+        LocalDateTime upper = to != null ? to : LocalDateTime.now().plusDays(1);
+
+        Map<StatDimension, Map<String, Long>> counts = new EnumMap<>(StatDimension.class);
+        addGrouped(counts, StatDimension.LANGUAGE, analysisHistoryRepository.countByLanguageBetween(userId, lower, upper));
+        addGrouped(counts, StatDimension.PURPOSE, analysisHistoryRepository.countByPurposeBetween(userId, lower, upper));
+        addGrouped(counts, StatDimension.ERROR, analysisHistoryRepository.countByErrorMessageBetween(userId, lower, upper));
+
+        Optional<LocalDateTime> newestCold = archiveSegmentStore.newest(HISTORY, userId);
+        if (newestCold.isPresent() && !newestCold.get().isBefore(lower)) {
+            addArchived(counts, userId, lower, upper);
+        }
+        return counts;
+    }
+
+    // 아카이브된 히스토리 전체 집계 (통계 카운터 백필/검사용, hot 집계에 더해도 중복되지 않도록 hot 에 남은 행은 제외)
+    public Map<StatDimension, Map<String, Long>> countArchivedHistory(Long userId) {
+        Map<StatDimension, Map<String, Long>> counts = new EnumMap<>(StatDimension.class);
+        addArchived(counts, userId, null, null);
+        return counts;
+    }
+
+    // 파일 기록 후 hot 삭제 전에 멈춘 행은 아카이브와 hot 양쪽에 있음 → hot 집계에 이미 들어가므로 아카이브 쪽에서 뺌
+    // (그런 행은 아카이브된 시각 범위 안에만 있으므로 그 범위의 hot id 만 조회, 보통은 0건)
+    private void addArchived(Map<StatDimension, Map<String, Long>> counts, Long userId,
+                             LocalDateTime from, LocalDateTime to) {
+        List<ArchivedHistory> rows = archiveSegmentStore.readRange(HISTORY, userId, from, to, ArchivedHistory.class);
+        if (rows.isEmpty()) {
+            return;
+        }
+        Set<Long> stillHot = new HashSet<>(analysisHistoryRepository.findIdsCreatedBetween(userId,
+                rows.get(rows.size() - 1).createdAt(), rows.get(0).createdAt()));   // rows 는 최신순
+        for (ArchivedHistory row : rows) {
+            if (stillHot.contains(row.id())) {
+                continue;
+            }
+            add(counts, StatDimension.LANGUAGE, row.language(), 1);
+            add(counts, StatDimension.PURPOSE, row.purpose(), 1);
+            add(counts, StatDimension.ERROR, row.errorMessage(), 1);
+        }
+    }
+
+    private static void addGrouped(Map<StatDimension, Map<String, Long>> counts, StatDimension dimension,
+                                   List<Object[]> rows) {
+        for (Object[] row : rows) {
+            add(counts, dimension, (String) row[0], ((Number) row[1]).longValue());
+        }
+    }
+
+    private static void add(Map<StatDimension, Map<String, Long>> counts, StatDimension dimension,
+                            String value, long count) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        counts.computeIfAbsent(dimension, d -> new HashMap<>()).merge(value, count, Long::sum);
+    }
+}
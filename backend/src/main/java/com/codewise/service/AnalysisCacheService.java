@@ -0,0 +1,154 @@
+package com.codewise.service;
+
+import com.codewise.domain.AnalysisCacheEntry;
+import com.codewise.repository.AnalysisCacheRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * AI 분석 결과 캐시 (2단계)
+ * 1) 메모리 계층: 크기 제한 + TTL 이 있는 Caffeine 캐시
+ * 2) DB 계층: analysis_cache 테이블 (코드 해시 키), 주기적으로 TTL/용량 기준 정리
+ */
+@Service
+public class AnalysisCacheService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisCacheService.class);
+    private static final int EVICT_BATCH_SIZE = 500;
+
+    private final AnalysisCacheRepository analysisCacheRepository;
+    private final Cache<String, String> memoryCache;
+    private final Duration ttl;
+    private final long dbMaxEntries;
+
+    private final Counter memoryHitCounter;
+    private final Counter dbHitCounter;
+    private final Counter missCounter;
+
+    public AnalysisCacheService(AnalysisCacheRepository analysisCacheRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${ai.cache.memory.max-size:1000}") long memoryMaxSize,
+                                @Value("${ai.cache.ttl-minutes:1440}") long ttlMinutes,
+                                @Value("${ai.cache.db.max-entries:50000}") long dbMaxEntries) {
+        this.analysisCacheRepository = analysisCacheRepository;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.dbMaxEntries = dbMaxEntries;
+        this.memoryCache = Caffeine.newBuilder()
+                .maximumSize(memoryMaxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, memoryCache, "ai.analysis.cache.memory");
+        this.memoryHitCounter = Counter.builder("ai.analysis.cache.requests")
+                .tag("result", "hit").tag("tier", "memory").register(meterRegistry);
+        this.dbHitCounter = Counter.builder("ai.analysis.cache.requests")
+                .tag("result", "hit").tag("tier", "db").register(meterRegistry);
+        this.missCounter = Counter.builder("ai.analysis.cache.requests")
+                .tag("result", "miss").tag("tier", "none").register(meterRegistry);
+    }
+
+    // 캐시 조회 (메모리 → DB 순서, DB 조회가 있으므로 I/O 스레드에서 직접 호출하지 않을 것)
+    public Optional<String> get(String cacheKey) {
+        String cached = memoryCache.getIfPresent(cacheKey);
+        if (cached != null) {
+            memoryHitCounter.increment();
+            return Optional.of(cached);
+        }
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Optional<AnalysisCacheEntry> entry = findLive(cacheKey, now);
+            if (entry.isPresent()) {
+                String json = entry.get().getResponseJson();
+                memoryCache.put(cacheKey, json);
+                analysisCacheRepository.touch(cacheKey, now);
+                dbHitCounter.increment();
+                return Optional.of(json);
+            }
+        } catch (Exception e) {
+            // 캐시 장애가 분석 자체를 막지 않도록 miss 로 처리
+            log.warn("⚠️ 분석 캐시 DB 조회 실패 (key={}): {}", cacheKey, e.getMessage());
+        }
+
+        missCounter.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * hit / miss 지표와 DB 접근 시각을 남기지 않는 조회 (메모리 → DB)
+     * 요청 캐시가 아닌 내부 재사용 판단(증분 분석의 영역별 결과)에 쓰여 캐시 적중률을 왜곡하지 않도록 함
+     */
+    public Optional<String> peek(String cacheKey) {
+        String cached = memoryCache.asMap().get(cacheKey);   // asMap 조회는 Caffeine 통계에 잡히지 않음
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        try {
+            return findLive(cacheKey, LocalDateTime.now()).map(AnalysisCacheEntry::getResponseJson);
+        } catch (Exception e) {
+            log.warn("⚠️ 분석 캐시 DB 조회 실패 (key={}): {}", cacheKey, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    // TTL 이 지나지 않은 DB 항목
+    private Optional<AnalysisCacheEntry> findLive(String cacheKey, LocalDateTime now) {
+        return analysisCacheRepository.findById(cacheKey)
+                .filter(e -> e.getCreatedAt() != null && e.getCreatedAt().isAfter(now.minus(ttl)));
+    }
+
+    // 캐시 저장 (메모리 + DB)
+    public void put(String cacheKey, String language, String responseJson) {
+        memoryCache.put(cacheKey, responseJson);
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            analysisCacheRepository.save(AnalysisCacheEntry.builder()
+                    .cacheKey(cacheKey)
+                    .language(language)
+                    .responseJson(responseJson)
+                    .createdAt(now)
+                    .lastAccessedAt(now)
+                    .build());
+        } catch (Exception e) {
+            log.warn("⚠️ 분석 캐시 DB 저장 실패 (key={}): {}", cacheKey, e.getMessage());
+        }
+    }
+
+    // DB 계층 정리: TTL 만료 항목 제거 후, 최대 개수를 넘으면 오래 안 쓰인 항목부터 제거
+    @Scheduled(fixedDelayString = "${ai.cache.evict-interval-ms:600000}")
+    public void evictExpiredEntries() {
+        int expired = analysisCacheRepository.deleteExpired(LocalDateTime.now().minus(ttl));
+
+        long overflow = analysisCacheRepository.count() - dbMaxEntries;
+        int evicted = 0;
+        while (overflow > 0) {
+            List<String> keys = analysisCacheRepository.findLeastRecentlyUsedKeys(
+                    PageRequest.of(0, (int) Math.min(overflow, EVICT_BATCH_SIZE)));
+            if (keys.isEmpty()) {
+                break;
+            }
+            analysisCacheRepository.deleteAllByIdInBatch(keys);
+            evicted += keys.size();
+            overflow -= keys.size();
+        }
+
+        if (expired > 0 || evicted > 0) {
+            log.info("🧹 분석 캐시 정리 완료 (만료={}, 용량초과={})", expired, evicted);
+        }
+    }
+}
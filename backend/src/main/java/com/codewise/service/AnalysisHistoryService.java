@@ -0,0 +1,121 @@
+package com.codewise.service;
+
+import com.codewise.config.ReadYourWritesWindow;
+import com.codewise.domain.AnalysisHistory;
+import com.codewise.domain.StatDimension;
+import com.codewise.domain.User;
+import com.codewise.dto.AnalysisHistoryDto;
+import com.codewise.dto.CursorPage;
+import com.codewise.repository.AnalysisHistoryRepository;
+import com.codewise.repository.UserRepository;
+import com.codewise.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 분석 히스토리 일괄 저장 / 조회
+ * issue 마다 save() 를 부르면 행마다 트랜잭션 + 왕복이 생긴다.
+ * 한 트랜잭션 안에서 saveAll 하면 pooled 시퀀스로 키를 미리 받아두고 커밋 시 JDBC 배치(hibernate.jdbc.batch_size)로 한 번에 insert 된다.
+ * 저장한 행의 에러 메시지는 같은 트랜잭션에서 전문 검색 인덱스와 사용자 통계 카운터에도 반영한다.
+ * 커밋 후 잠시 동안 그 사용자의 조회는 복제본 대신 primary 에서 읽는다 (ReadYourWritesWindow).
+ * 조회는 읽기 전용 트랜잭션 → 복제본이 있으면 복제본에서 읽음.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnalysisHistoryService {
+
+    private final AnalysisHistoryRepository analysisHistoryRepository;
+    private final AnalysisSearchIndex analysisSearchIndex;
+    private final UserStatService userStatService;
+    private final ReadYourWritesWindow readYourWritesWindow;
+    private final UserRepository userRepository;
+    private final AnalysisArchiveService analysisArchiveService;
+
+    // 호출한 쪽에 트랜잭션이 있으면 거기에 합류 (saveNewResult 는 제출/결과와 같은 트랜잭션으로 저장)
+    @Transactional
+    public List<AnalysisHistory> saveAll(List<AnalysisHistory> histories) {
+        if (histories.isEmpty()) {
+            return histories;
+        }
+        List<AnalysisHistory> saved = analysisHistoryRepository.saveAll(histories);
+        analysisSearchIndex.indexHistories(saved);   // pooled 시퀀스라 flush 전에도 id 가 있음
+        userStatService.record(saved);
+        readYourWritesWindow.markWrite(saved.get(0).getUser().getEmail());
+        return saved;
+    }
+
+    // 최신순 keyset 페이지 (size 최대 100, cursor 가 없으면 첫 페이지)
+    // 보관 기간이 지나 아카이브로 옮겨진 구간에 닿으면 아카이브 세그먼트를 이어서 읽음
+    @Transactional(readOnly = true)
+    public CursorPage<AnalysisHistoryDto> getHistoryPage(String email, String cursor, Integer size) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+
+        KeysetCursor.Key after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        List<AnalysisHistoryDto> hot = (after == null
+                ? analysisHistoryRepository.findFirstPage(user, KeysetCursor.probe(pageSize))
+                : analysisHistoryRepository.findPageAfter(user, after.createdAt(), after.id(),
+                        KeysetCursor.probe(pageSize)))
+                .stream().map(AnalysisHistoryDto::fromEntity).toList();
+        List<AnalysisHistoryDto> rows = analysisArchiveService.mergeHistory(user.getId(), hot, after, pageSize + 1);
+        return KeysetCursor.page(rows, pageSize,
+                h -> new KeysetCursor.Key(h.createdAt(), h.id()),
+                h -> h);
+    }
+
+    // from / to 가 없으면 전체 기간 (카운터), 있으면 [from, to) 기간 집계 (아카이브 구간에 닿으면 세그먼트까지 포함)
+    @Transactional(readOnly = true)
+    public Map<String, Object> getStats(String email, LocalDateTime from, LocalDateTime to) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+
+        Map<String, Object> stats = new HashMap<>();
+        if (from != null || to != null) {
+            Map<StatDimension, Map<String, Long>> counts = analysisArchiveService.countHistory(user.getId(), from, to);
+            stats.put("topLanguages", top(counts, StatDimension.LANGUAGE, "language", 5));
+            stats.put("topPurposes", top(counts, StatDimension.PURPOSE, "purpose", 5));
+            stats.put("topErrors", top(counts, StatDimension.ERROR, "error", 10));
+            return stats;
+        }
+
+        // 히스토리 전체를 읽지 않고 미리 집계된 카운터에서 상위 N 개만 조회 (아카이브로 옮긴 행도 카운터에 남아 있음)
+        stats.put("topLanguages", top(user.getId(), StatDimension.LANGUAGE, "language", 5));
+        stats.put("topPurposes", top(user.getId(), StatDimension.PURPOSE, "purpose", 5));
+        stats.put("topErrors", top(user.getId(), StatDimension.ERROR, "error", 10));
+        return stats;
+    }
+
+    private List<Map<String, Object>> top(Long userId, StatDimension dimension, String keyName, int limit) {
+        return userStatService.top(userId, dimension, limit).stream()
+                .map(counter -> {
+                    Map<String, Object> m = new HashMap<>();
+                    m.put(keyName, counter.getStatKey());
+                    m.put("count", counter.getCount());
+                    return m;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private List<Map<String, Object>> top(Map<StatDimension, Map<String, Long>> counts, StatDimension dimension,
+                                          String keyName, int limit) {
+        return counts.getOrDefault(dimension, Map.of()).entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .map(entry -> {
+                    Map<String, Object> m = new HashMap<>();
+                    m.put(keyName, entry.getKey());
+                    m.put("count", entry.getValue());
+                    return m;
+                })
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,32 @@
+package com.codewise.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * 분석 issue 백필 명령
+ * java -jar app.jar --issues.backfill
+ * analysis_issue 도입 전 결과의 suggestions(issues JSON)를 파싱해 issue 행을 채운다.
+ */
+@Component
+public class AnalysisIssueBackfillRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisIssueBackfillRunner.class);
+
+    private final AnalysisIssueService analysisIssueService;
+
+    public AnalysisIssueBackfillRunner(AnalysisIssueService analysisIssueService) {
+        this.analysisIssueService = analysisIssueService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption("issues.backfill")) {
+            log.info("⏳ 분석 issue 백필 시작");
+            analysisIssueService.backfillAll();
+        }
+    }
+}
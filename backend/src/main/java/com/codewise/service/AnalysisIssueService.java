@@ -0,0 +1,162 @@
+package com.codewise.service;
+
+import com.codewise.domain.AnalysisIssue;
+import com.codewise.domain.AnalysisResult;
+import com.codewise.domain.User;
+import com.codewise.dto.AnalysisIssueDto;
+import com.codewise.dto.AnalyzeResponse;
+import com.codewise.dto.CursorPage;
+import com.codewise.repository.AnalysisIssueRepository;
+import com.codewise.repository.AnalysisResultRepository;
+import com.codewise.repository.UserRepository;
+import com.codewise.util.KeysetCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 분석 결과 issue 정규화 저장
+ * suggestions(issues JSON 문자열)는 호환용으로 그대로 두고, issue 마다 severity / type / message / 줄 범위를
+ * analysis_issue 행으로 함께 저장한다 → "이번 주 HIGH issue" 같은 조회가 JSON 파싱 없이 인덱스 범위 스캔으로 끝난다.
+ * - record: 결과 저장과 같은 트랜잭션에서 saveAll (pooled 시퀀스 + hibernate.jdbc.batch_size 로 배치 insert)
+ * - backfillAll: 도입 전 결과의 suggestions 를 파싱해 issue 행을 채움 (batch 마다 커밋, 중단 후 다시 실행 가능)
+ */
+@Service
+public class AnalysisIssueService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisIssueService.class);
+
+    private static final int DEFAULT_SINCE_DAYS = 7;
+
+    private final AnalysisIssueRepository analysisIssueRepository;
+    private final AnalysisResultRepository analysisResultRepository;
+    private final UserRepository userRepository;
+    private final AiResponseIngestor aiResponseIngestor;
+    private final TransactionTemplate transactionTemplate;
+    private final int backfillBatchSize;
+
+    public AnalysisIssueService(AnalysisIssueRepository analysisIssueRepository,
+                                AnalysisResultRepository analysisResultRepository,
+                                UserRepository userRepository,
+                                AiResponseIngestor aiResponseIngestor,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${analysis.issue.backfill-batch-size:200}") int backfillBatchSize) {
+        this.analysisIssueRepository = analysisIssueRepository;
+        this.analysisResultRepository = analysisResultRepository;
+        this.userRepository = userRepository;
+        this.aiResponseIngestor = aiResponseIngestor;
+        this.transactionTemplate = transactionTemplate;
+        this.backfillBatchSize = Math.max(1, backfillBatchSize);
+    }
+
+    // 호출한 쪽 트랜잭션(saveNewResult)에 합류해서 결과와 함께 커밋
+    @Transactional
+    public List<AnalysisIssue> record(AnalysisResult result, Long userId, LocalDateTime createdAt,
+                                      List<AnalyzeResponse.Issue> issues) {
+        if (issues == null || issues.isEmpty()) {
+            return List.of();
+        }
+        List<AnalysisIssue> rows = new ArrayList<>(issues.size());
+        for (AnalyzeResponse.Issue issue : issues) {
+            rows.add(AnalysisIssue.builder()
+                    .analysisResult(result)
+                    .userId(userId)
+                    .severity(normalizeSeverity(issue.severity()))
+                    .type(truncate(issue.type(), 64))
+                    .message(issue.message())
+                    .startLine(issue.startLine())
+                    .endLine(issue.endLine())
+                    .createdAt(createdAt)
+                    .build());
+        }
+        return analysisIssueRepository.saveAll(rows);
+    }
+
+    /** 로그인 사용자의 severity 별 issue (since 이후, 최신순 keyset 페이지, since 가 없으면 최근 7일) */
+    @Transactional(readOnly = true)
+    public CursorPage<AnalysisIssueDto> findBySeverity(String email, String severity, LocalDateTime since,
+                                                       String cursor, Integer size) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+        String normalized = normalizeSeverity(severity);
+        if (normalized == null) {
+            throw new IllegalArgumentException("severity 를 입력하세요.");
+        }
+        LocalDateTime from = since != null ? since : LocalDateTime.now().minusDays(DEFAULT_SINCE_DAYS);
+
+        KeysetCursor.Key after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        List<AnalysisIssueDto> rows = after == null
+                ? analysisIssueRepository.findFirstPage(user.getId(), normalized, from, KeysetCursor.probe(pageSize))
+                : analysisIssueRepository.findPageAfter(user.getId(), normalized, from, after.createdAt(), after.id(),
+                        KeysetCursor.probe(pageSize));
+        return KeysetCursor.page(rows, pageSize, issue -> new KeysetCursor.Key(issue.createdAt(), issue.id()),
+                issue -> issue);
+    }
+
+    // issue 행이 없는 기존 결과의 suggestions 를 풀어서 저장, 저장한 issue 수 반환
+    public long backfillAll() {
+        long results = 0;
+        long issues = 0;
+        long lastId = 0;
+        while (true) {
+            long afterId = lastId;
+            long[] batch = transactionTemplate.execute(status -> backfillBatch(afterId));
+            if (batch == null || batch[0] == 0) {
+                break;
+            }
+            results += batch[0];
+            issues += batch[1];
+            lastId = batch[2];
+        }
+        log.info("✅ 분석 issue 백필 완료 (results={}, issues={})", results, issues);
+        return issues;
+    }
+
+    // [처리한 결과 수, 저장한 issue 수, 마지막 결과 id]
+    private long[] backfillBatch(long afterId) {
+        List<Object[]> rows = analysisIssueRepository.findResultsWithoutIssues(afterId,
+                PageRequest.of(0, backfillBatchSize));
+        long saved = 0;
+        long lastId = afterId;
+        for (Object[] row : rows) {
+            Long resultId = (Long) row[0];
+            Long userId = (Long) row[1];
+            String suggestions = (String) row[2];
+            LocalDateTime createdAt = (LocalDateTime) row[3];
+            lastId = resultId;
+
+            List<AnalyzeResponse.Issue> issues;
+            try {
+                // suggestions 는 issues 배열 원문 → 응답 형태로 감싸서 같은 파서로 읽음
+                issues = aiResponseIngestor.ingest("{\"issues\":" + suggestions + "}").response().issues();
+            } catch (RuntimeException e) {
+                log.warn("⚠️ suggestions 파싱 실패, 건너뜀 (resultId={}): {}", resultId, e.getMessage());
+                continue;
+            }
+            saved += record(analysisResultRepository.getReferenceById(resultId), userId,
+                    createdAt != null ? createdAt : LocalDateTime.now(), issues).size();   // FK 참조만, 결과 SELECT 없음
+        }
+        return new long[]{rows.size(), saved, lastId};
+    }
+
+    private static String normalizeSeverity(String severity) {
+        if (severity == null || severity.isBlank()) {
+            return null;
+        }
+        return truncate(severity.trim().toUpperCase(Locale.ROOT), 32);
+    }
+
+    private static String truncate(String value, int max) {
+        return value == null || value.length() <= max ? value : value.substring(0, max);
+    }
+}
@@ -0,0 +1,128 @@
+package com.codewise.service;
+
+import com.codewise.domain.AnalysisJob;
+import com.codewise.domain.AnalysisPriority;
+import com.codewise.domain.JobStatus;
+import com.codewise.dto.AnalyzeRequest;
+import com.codewise.repository.AnalysisJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * DB 기반 분석 작업 큐
+ * - submit: PENDING 상태로 저장만 하고 바로 반환 (요청 스레드는 AI 응답을 기다리지 않음)
+ * - claim: 우선순위 등급(대기 시간에 따라 aging) + 사용자별 순번으로 후보를 고르고, FOR UPDATE SKIP LOCKED 로 잠근 뒤 RUNNING 으로 바꿔 가져감
+ *          → 여러 워커/노드가 겹치지 않게 나눠 처리하고, 한 사용자가 쌓은 작업이 다른 사용자 작업을 막지 않음
+ * - complete / fail / release: 작업을 가져간 워커만 상태를 바꿀 수 있음
+ * - release 된 작업은 지정한 대기 시간이 지나야 다시 claim 후보가 됨 (혼잡한 동안 claim → release 반복 방지)
+ */
+@Service
+public class AnalysisJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisJobService.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final AnalysisJobRepository analysisJobRepository;
+    private final long agingSeconds;
+
+    public AnalysisJobService(AnalysisJobRepository analysisJobRepository,
+                              @Value("${ai.job.aging-ms:60000}") long agingMs) {
+        this.analysisJobRepository = analysisJobRepository;
+        this.agingSeconds = Math.max(1, agingMs / 1000);
+    }
+
+    public AnalysisJob submit(String email, AnalyzeRequest req) {
+        return submit(email, req, AnalysisPriority.STANDARD);
+    }
+
+    // 비로그인 STOMP 세션의 요청: 세션 id 를 사용자 key 로 저장하고 결과도 그 세션으로만 전송
+    public AnalysisJob submitForSession(String sessionId, AnalyzeRequest req) {
+        return submit(sessionId, true, req, AnalysisPriority.STANDARD);
+    }
+
+    public AnalysisJob submit(String email, AnalyzeRequest req, AnalysisPriority priority) {
+        return submit(email, false, req, priority);
+    }
+
+    private AnalysisJob submit(String userKey, boolean sessionOwned, AnalyzeRequest req, AnalysisPriority priority) {
+        AnalysisJob job = AnalysisJob.builder()
+                .userEmail(userKey)
+                .sessionOwned(sessionOwned)
+                .code(req.code())
+                .language(req.language() != null ? req.language() : "auto")
+                .fileName(req.fileName())
+                .status(JobStatus.PENDING)
+                .priority(priority)
+                .attempts(0)
+                .createdAt(LocalDateTime.now())
+                .build();
+        AnalysisJob saved = analysisJobRepository.save(job);
+        log.info("📥 분석 작업 등록 (jobId={}, email={})", saved.getId(), userKey);
+        return saved;
+    }
+
+    public AnalysisJob getJob(String email, Long jobId) {
+        return analysisJobRepository.findByIdAndUserEmail(jobId, email)
+                .orElseThrow(() -> new IllegalArgumentException("분석 작업을 찾을 수 없습니다."));
+    }
+
+    // 대기 작업을 최대 limit 개 잠그고 RUNNING 으로 바꿔 반환 (잠금은 트랜잭션 종료 시 해제)
+    // 후보는 다른 노드와 겹쳐 일부가 잠겨 있을 수 있으므로 limit 의 2배를 뽑은 뒤 잠긴 행을 건너뛰고 limit 개만 가져감
+    @Transactional
+    public List<AnalysisJob> claim(int limit, String workerId) {
+        List<Long> candidates = analysisJobRepository.findNextPendingIds(LocalDateTime.now(), agingSeconds, limit * 2);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        List<Long> locked = analysisJobRepository.lockPendingIds(candidates);
+        List<Long> ids = candidates.stream().filter(locked::contains).limit(limit).toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        analysisJobRepository.markRunning(ids, workerId, LocalDateTime.now(), JobStatus.RUNNING);
+        return analysisJobRepository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(job -> ids.indexOf(job.getId())))
+                .toList();
+    }
+
+    public boolean complete(Long jobId, String workerId, String resultJson) {
+        return analysisJobRepository.complete(jobId, workerId, resultJson, LocalDateTime.now(),
+                JobStatus.RUNNING, JobStatus.DONE) > 0;
+    }
+
+    public boolean fail(Long jobId, String workerId, String errorMessage) {
+        return analysisJobRepository.fail(jobId, workerId, truncate(errorMessage), LocalDateTime.now(),
+                JobStatus.RUNNING, JobStatus.FAILED) > 0;
+    }
+
+    public void release(Long jobId, String workerId, Duration retryAfter) {
+        analysisJobRepository.release(jobId, workerId, LocalDateTime.now().plus(retryAfter),
+                JobStatus.RUNNING, JobStatus.PENDING);
+    }
+
+    // staleAfter 넘게 RUNNING 인 작업 복구 (재시도 한도 안이면 PENDING, 넘었으면 FAILED)
+    public void recoverStale(Duration staleAfter, int maxAttempts) {
+        LocalDateTime threshold = LocalDateTime.now().minus(staleAfter);
+        int requeued = analysisJobRepository.requeueStale(threshold, maxAttempts, JobStatus.RUNNING, JobStatus.PENDING);
+        int failed = analysisJobRepository.failStale(threshold, "재시도 한도 초과 (워커 응답 없음)", LocalDateTime.now(),
+                JobStatus.RUNNING, JobStatus.FAILED);
+        if (requeued > 0 || failed > 0) {
+            log.warn("♻️ 멈춘 분석 작업 복구 (requeued={}, failed={})", requeued, failed);
+        }
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
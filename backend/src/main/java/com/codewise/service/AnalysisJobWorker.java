@@ -0,0 +1,226 @@
+package com.codewise.service;
+
+import com.codewise.domain.AnalysisJob;
+import com.codewise.domain.AnalysisPriority;
+import com.codewise.domain.JobStatus;
+import com.codewise.dto.AiAnalysisPayload;
+import com.codewise.dto.AnalyzeRequest;
+import com.codewise.exception.AiServerBusyException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 분석 작업 워커 풀
+ * - pollIntervalMs 마다 비어 있는 워커 수만큼(최대 claimBatchSize 개씩) 작업을 가져와 전용 스레드에서 처리
+ * - 처리량은 워커 스레드 수(ai.job.worker-threads)나 노드 수로 늘림 (요청 스레드는 작업 등록만 함)
+ * - 처리 흐름: IncrementalAnalysisService(→ AiServerClient) → saveNewResult → DONE → /queue/result 로 결과 전송
+ * - AI 호출은 작업의 우선순위 등급(STANDARD / BACKGROUND)으로 AnalysisScheduler 대기열에 들어가므로 실시간 분석보다 뒤에 처리됨
+ * - AI 서버 혼잡이면 작업을 반납하고 busyBackoff 이후 다시 시도, 워커가 죽어 멈춘 작업은 recoverStale 이 되살림
+ * 결과 저장 후 DONE 표시 전에 노드가 죽으면 작업이 다시 실행될 수 있다 (at-least-once).
+ */
+@Component
+public class AnalysisJobWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisJobWorker.class);
+
+    private final AnalysisJobService analysisJobService;
+    private final IncrementalAnalysisService incrementalAnalysisService;
+    private final AnalysisResultService analysisResultService;
+    private final AiResponseIngestor aiResponseIngestor;
+    private final SimpMessagingTemplate messaging;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int workerThreads;
+    private final int claimBatchSize;
+    private final Duration jobTimeout;
+    private final Duration staleAfter;
+    private final int maxAttempts;
+    private final Duration busyBackoff;
+
+    private final String workerId;
+    private final ExecutorService workers;
+    private final AtomicInteger busy = new AtomicInteger();
+
+    public AnalysisJobWorker(AnalysisJobService analysisJobService,
+                             IncrementalAnalysisService incrementalAnalysisService,
+                             AnalysisResultService analysisResultService,
+                             AiResponseIngestor aiResponseIngestor,
+                             SimpMessagingTemplate messaging,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${ai.job.worker.enabled:true}") boolean enabled,
+                             @Value("${ai.job.worker-threads:4}") int workerThreads,
+                             @Value("${ai.job.claim-batch-size:4}") int claimBatchSize,
+                             @Value("${ai.job.timeout-ms:300000}") long jobTimeoutMs,
+                             @Value("${ai.job.stale-after-ms:600000}") long staleAfterMs,
+                             @Value("${ai.job.max-attempts:3}") int maxAttempts,
+                             @Value("${ai.job.busy-backoff-ms:5000}") long busyBackoffMs) {
+        this.analysisJobService = analysisJobService;
+        this.incrementalAnalysisService = incrementalAnalysisService;
+        this.analysisResultService = analysisResultService;
+        this.aiResponseIngestor = aiResponseIngestor;
+        this.messaging = messaging;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.workerThreads = Math.max(1, workerThreads);
+        this.claimBatchSize = Math.max(1, claimBatchSize);
+        this.jobTimeout = Duration.ofMillis(jobTimeoutMs);
+        this.staleAfter = Duration.ofMillis(staleAfterMs);
+        this.maxAttempts = maxAttempts;
+        this.busyBackoff = Duration.ofMillis(busyBackoffMs);
+
+        this.workerId = hostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(this.workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "analysis-job-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("ai.job.workers.busy", busy, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    // 비어 있는 워커 수만큼 작업을 가져와 실행 (가져온 수가 배치 크기와 같으면 바로 한 번 더)
+    @Scheduled(fixedDelayString = "${ai.job.poll-interval-ms:500}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            while (true) {
+                int free = workerThreads - busy.get();
+                if (free <= 0) {
+                    return;
+                }
+                int limit = Math.min(free, claimBatchSize);
+                List<AnalysisJob> jobs = analysisJobService.claim(limit, workerId);
+                for (AnalysisJob job : jobs) {
+                    busy.incrementAndGet();
+                    workers.execute(() -> {
+                        try {
+                            run(job);
+                        } finally {
+                            busy.decrementAndGet();
+                        }
+                    });
+                }
+                if (jobs.size() < limit) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.error("🚨 분석 작업 가져오기 실패 (workerId={})", workerId, e);
+        }
+    }
+
+    private void run(AnalysisJob job) {
+        AnalyzeRequest req = new AnalyzeRequest(job.getCode(), job.getLanguage(), job.getFileName());
+        try {
+            AnalysisPriority priority = job.getPriority() != null ? job.getPriority() : AnalysisPriority.STANDARD;
+            String resultJson = AnalysisScheduler.withPriority(
+                    incrementalAnalysisService.analyze(job.getUserEmail(), req), priority, job.getUserEmail())
+                    .block(jobTimeout);
+
+            AiAnalysisPayload payload = aiResponseIngestor.ingest(resultJson);
+            analysisResultService.saveNewResult(job.getUserEmail(), job.getCode(), job.getLanguage(),
+                    job.getFileName(), payload);
+            if (analysisJobService.complete(job.getId(), workerId, resultJson)) {
+                log.info("✅ 분석 작업 완료 (jobId={}, email={})", job.getId(), job.getUserEmail());
+                notifyUser(job, JobStatus.DONE, resultJson, null);
+            }
+        } catch (AiServerBusyException busyException) {
+            // ⏳ AI 서버 혼잡 → 작업 반납, 재시도 권장 시간과 busyBackoff 중 긴 쪽이 지난 뒤 다시 가져감
+            Duration retryAfter = Duration.ofMillis(Math.max(busyBackoff.toMillis(), busyException.getRetryAfterMs()));
+            log.warn("⏳ AI 서버 혼잡으로 분석 작업 반납 (jobId={}, retryAfterMs={})", job.getId(), retryAfter.toMillis());
+            analysisJobService.release(job.getId(), workerId, retryAfter);
+        } catch (Exception e) {
+            log.error("❌ 분석 작업 실패 (jobId={}, email={})", job.getId(), job.getUserEmail(), e);
+            if (analysisJobService.fail(job.getId(), workerId, String.valueOf(e.getMessage()))) {
+                notifyUser(job, JobStatus.FAILED, null, String.valueOf(e.getMessage()));
+            }
+        }
+    }
+
+    // 작업 상태를 요청한 사용자(또는 세션)의 /queue/result 로 전송
+    void notifyUser(AnalysisJob job, JobStatus status, String resultJson, String error) {
+        try {
+            ObjectNode payload = objectMapper.createObjectNode();
+            payload.put("type", "job");
+            payload.put("jobId", job.getId());
+            payload.put("status", status.name());
+            if (resultJson != null) {
+                payload.putRawValue("result", new RawValue(resultJson));   // 결과 JSON 은 다시 파싱하지 않고 그대로 삽입
+            }
+            if (error != null) {
+                payload.put("error", error);
+            }
+            if (job.isSessionOwned()) {
+                messaging.convertAndSendToUser(job.getUserEmail(), "/queue/result", payload,
+                        headersForSession(job.getUserEmail()));
+            } else {
+                messaging.convertAndSendToUser(job.getUserEmail(), "/queue/result", payload);
+            }
+        } catch (Exception e) {
+            // 전송 실패해도 결과는 DB 에 있으므로 GET /analysis/jobs/{id} 로 조회 가능
+            log.warn("⚠️ 분석 작업 결과 전송 실패 (jobId={}): {}", job.getId(), e.getMessage());
+        }
+    }
+
+    // 비로그인 세션 작업: 사용자 이름 = 세션 id 로 보내면 DefaultUserDestinationResolver 가 그 세션으로만 전달
+    // (로그인 사용자에게 세션 헤더를 붙이면 이름이 email 인 세션을 찾게 되어 아무도 받지 못함)
+    private org.springframework.messaging.MessageHeaders headersForSession(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setLeaveMutable(true);
+        return accessor.getMessageHeaders();
+    }
+
+    @Scheduled(fixedDelayString = "${ai.job.recover-interval-ms:60000}")
+    public void recoverStale() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            analysisJobService.recoverStale(staleAfter, maxAttempts);
+        } catch (Exception e) {
+            log.error("🚨 멈춘 분석 작업 복구 실패", e);
+        }
+    }
+
+    // 종료 시 새 작업은 받지 않음, 처리 중이던 작업은 staleAfter 이후 다른 워커가 다시 가져감
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
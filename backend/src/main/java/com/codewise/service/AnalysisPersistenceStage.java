@@ -0,0 +1,159 @@
+package com.codewise.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 분석 결과 저장 단계
+ * AI 응답 콜백은 reactor-netty I/O 스레드에서 실행되므로, 그 자리에서 JPA 저장(+ BCrypt)을 하면
+ * 같은 이벤트 루프의 다른 AI 응답 처리가 모두 멈춘다. 완료된 결과의 저장은 이 단계에 넘기고 바로 반환한다.
+ * - mode = bounded: 전용 스레드 풀(threads) + 유한 대기열(queue-capacity), 가득 차면 거절
+ * - mode = elastic: Schedulers.boundedElastic 에서 실행
+ * - mode = virtual: 작업마다 가상 스레드, DB 커넥션 보호를 위해 동시 실행은 threads 개로 제한
+ * mode 를 지정하지 않으면 spring.threads.virtual.enabled 를 따라 virtual / bounded 중 하나로 실행
+ */
+@Component
+public class AnalysisPersistenceStage {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisPersistenceStage.class);
+
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;   // 종료 시 정리할 executor (elastic 모드는 null)
+    private final Semaphore concurrency;           // virtual 모드에서만 사용
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Timer durationTimer;
+    private final Counter rejectedCounter;
+    private final Counter failedCounter;
+
+    public AnalysisPersistenceStage(MeterRegistry meterRegistry,
+                                    @Value("${ai.persistence.mode:}") String mode,
+                                    @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                    @Value("${ai.persistence.threads:4}") int threads,
+                                    @Value("${ai.persistence.queue-capacity:10000}") int queueCapacity) {
+        int poolSize = Math.max(1, threads);
+        String effectiveMode = mode == null || mode.isBlank()
+                ? (virtualThreads ? "virtual" : "bounded")
+                : mode.toLowerCase();
+
+        if ("virtual".equals(effectiveMode)) {
+            ExecutorService virtual = Executors.newVirtualThreadPerTaskExecutor();
+            this.ownedExecutor = virtual;
+            this.executor = virtual;
+            this.concurrency = new Semaphore(poolSize);
+        } else if ("elastic".equals(effectiveMode)) {
+            Scheduler scheduler = Schedulers.boundedElastic();
+            this.ownedExecutor = null;
+            this.executor = task -> scheduler.schedule(task);
+            this.concurrency = null;
+        } else if ("bounded".equals(effectiveMode)) {
+            AtomicInteger threadIndex = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "analysis-persist-" + threadIndex.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+            this.ownedExecutor = pool;
+            this.executor = pool;
+            this.concurrency = null;
+        } else {
+            throw new IllegalArgumentException("지원하지 않는 ai.persistence.mode 입니다: " + mode);
+        }
+        log.info("💾 분석 결과 저장 단계 시작 (mode={}, threads={})", effectiveMode, poolSize);
+
+        Gauge.builder("ai.persistence.queue.depth", queued, AtomicInteger::get)
+                .description("저장 단계에 넘겨졌지만 아직 시작되지 않은 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("ai.persistence.active", active, AtomicInteger::get)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("ai.persistence.wait")
+                .description("저장 작업이 대기열에서 기다린 시간")
+                .register(meterRegistry);
+        this.durationTimer = Timer.builder("ai.persistence.duration")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("ai.persistence.rejected")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("ai.persistence.failed")
+                .register(meterRegistry);
+    }
+
+    // 저장 작업을 넘기고 바로 반환 (완료/실패는 반환된 future 로 확인)
+    public CompletableFuture<Void> submit(Runnable task) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        long submittedAt = System.nanoTime();
+        queued.incrementAndGet();
+        try {
+            executor.execute(() -> run(task, submittedAt, result));
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            rejectedCounter.increment();
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private void run(Runnable task, long submittedAt, CompletableFuture<Void> result) {
+        boolean acquired = false;
+        try {
+            if (concurrency != null) {
+                concurrency.acquire();
+                acquired = true;
+            }
+            queued.decrementAndGet();
+            active.incrementAndGet();
+            long startedAt = System.nanoTime();
+            waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+            try {
+                task.run();
+                result.complete(null);
+            } finally {
+                durationTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                active.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            queued.decrementAndGet();
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+        } catch (Exception e) {
+            failedCounter.increment();
+            result.completeExceptionally(e);
+        } finally {
+            if (acquired) {
+                concurrency.release();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+            ownedExecutor.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+}
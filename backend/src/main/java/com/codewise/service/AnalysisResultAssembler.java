@@ -0,0 +1,78 @@
+package com.codewise.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 스트리밍 AI 응답 조각(summary / metrics / issues ...)을 하나의 분석 결과 JSON 으로 조립
+ * - issues: 배열이면 이어 붙이고, 단일 객체면 하나 추가
+ * - metrics: 객체 필드 병합
+ * - 그 외 필드: 마지막 값으로 덮어씀
+ */
+public class AnalysisResultAssembler {
+
+    private final ObjectNode result;
+
+    public AnalysisResultAssembler(ObjectMapper objectMapper) {
+        this.result = objectMapper.createObjectNode();
+    }
+
+    public synchronized void accept(JsonNode part) {
+        if (part == null || !part.isObject()) {
+            return;
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = part.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = field.getKey();
+            JsonNode value = field.getValue();
+
+            if ("issues".equals(name)) {
+                ArrayNode issues = result.withArray("issues");
+                if (value.isArray()) {
+                    issues.addAll((ArrayNode) value);
+                } else if (!value.isNull()) {
+                    issues.add(value);
+                }
+            } else if ("metrics".equals(name) && value.isObject()) {
+                JsonNode metrics = result.get("metrics");
+                if (metrics instanceof ObjectNode existing) {
+                    existing.setAll((ObjectNode) value);
+                } else {
+                    result.set("metrics", value.deepCopy());
+                }
+            } else {
+                result.set(name, value);
+            }
+        }
+    }
+
+    public synchronized ObjectNode result() {
+        return result.deepCopy();
+    }
+
+    // 완성된 분석 결과(캐시 hit 등)를 스트리밍 조각 형태로 분리 (summary → metrics → issues → 나머지 순)
+    public static List<JsonNode> split(ObjectMapper objectMapper, JsonNode full) {
+        List<JsonNode> parts = new ArrayList<>();
+        for (String name : List.of("summary", "metrics", "issues")) {
+            if (full.has(name)) {
+                parts.add(objectMapper.createObjectNode().set(name, full.get(name)));
+            }
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = full.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (!List.of("summary", "metrics", "issues").contains(field.getKey())) {
+                parts.add(objectMapper.createObjectNode().set(field.getKey(), field.getValue()));
+            }
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,60 @@
+package com.codewise.service;
+
+import com.codewise.repository.AnalysisResultRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * analysis_result.user_id / language 채우기 (시작 시 자동 실행)
+ * 도입 전 결과는 값이 비어 있어 사용자별 목록 / 검색 / 아카이브 / 언어 필터 대상에서 빠지므로,
+ * 비어 있는 행을 id 순으로 batch 단위로 골라 code_submission.user_id / language 를 복사한다 (batch 마다 커밋, 채울 행이 없으면 조회 1번으로 끝).
+ */
+@Component
+public class AnalysisResultOwnerBackfillRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisResultOwnerBackfillRunner.class);
+
+    private final AnalysisResultRepository analysisResultRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public AnalysisResultOwnerBackfillRunner(AnalysisResultRepository analysisResultRepository,
+                                             TransactionTemplate transactionTemplate,
+                                             @Value("${analysis.result.owner-backfill-batch-size:1000}") int batchSize) {
+        this.analysisResultRepository = analysisResultRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long filled = 0;
+        long lastId = 0;
+        while (true) {
+            long afterId = lastId;
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> batch = analysisResultRepository.findIdsWithoutSubmissionColumnsAfter(afterId, PageRequest.of(0, batchSize));
+                if (!batch.isEmpty()) {
+                    analysisResultRepository.copySubmissionColumns(batch);
+                }
+                return batch;
+            });
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            filled += ids.size();
+            lastId = ids.get(ids.size() - 1);   // 제출이 없는 행은 그대로 남으므로 id 로 전진
+        }
+        if (filled > 0) {
+            log.info("✅ 분석 결과 user_id / language 채우기 완료 (rows={})", filled);
+        }
+    }
+}
@@ -1,37 +1,46 @@
 package com.codewise.service;
 
 import com.codewise.domain.*;
+import com.codewise.dto.AiAnalysisPayload;
 import com.codewise.dto.AnalysisResultDto;
 import com.codewise.dto.AnalysisResultFilterRequestDto;
-import com.codewise.repository.AnalysisHistoryRepository;
+import com.codewise.dto.CursorPage;
+import com.codewise.dto.SearchHitDto;
+import com.codewise.dto.AnalyzeResponse;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.codewise.repository.AnalysisResultRepository;
 import com.codewise.repository.CodeSubmissionRepository;
 import com.codewise.repository.UserRepository;
+import com.codewise.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AnalysisResultService {
 
     private static final Logger log = LoggerFactory.getLogger(AnalysisResultService.class);
+    private static final int DEFAULT_HISTORY_LIMIT = 100;
+    private static final int MAX_HISTORY_LIMIT = 500;
 
     private final AnalysisResultRepository analysisResultRepository;
     private final CodeSubmissionRepository codeSubmissionRepository;
     private final UserRepository userRepository;
-    private final ObjectMapper objectMapper = new ObjectMapper();   // ObjectMapper 주입
-    private final AnalysisHistoryRepository analysisHistoryRepository;
+    private final AiResponseIngestor aiResponseIngestor;            // 공유 ObjectMapper 로 응답을 한 번만 파싱
+    private final AnalysisHistoryService analysisHistoryService;     // issue 히스토리는 한 트랜잭션에서 배치 insert
+    private final AnalysisSearchIndex analysisSearchIndex;           // 요약 + issue 메시지 전문 검색
+    private final CodeBlobStore codeBlobStore;                       // 제출 코드는 내용 해시 기준으로 한 번만 저장
+    private final AnalysisIssueService analysisIssueService;         // issue 는 analysis_issue 행으로도 배치 insert
+    private final AnalysisArchiveService analysisArchiveService;     // 보관 기간이 지난 결과는 아카이브에서 읽음
 
     /** 숫자 변환 Utility */
     private Double toDouble(JsonNode node) {
@@ -47,15 +56,27 @@ public class AnalysisResultService {
 
     /**
      * ✅ STOMP Websocket 분석 결과 저장
-     * → JsonNode로 받아서 저장 / DTO 매핑 제거
+     * → JSON 문자열은 AiResponseIngestor 로 한 번만 파싱해서 저장
      */
+    @Transactional
     public void saveNewResult(String email, String code, String language, String aiResponseJson) {
-        try {
-            JsonNode root = objectMapper.readTree(aiResponseJson);
+        saveNewResult(email, code, language, null, aiResponseJson);
+    }
+
+    @Transactional
+    public void saveNewResult(String email, String code, String language, String fileName, String aiResponseJson) {
+        saveNewResult(email, code, language, fileName, aiResponseIngestor.ingest(aiResponseJson));
+    }
 
-            JsonNode metrics = root.path("metrics");
-            JsonNode issues = root.path("issues");
-            JsonNode fix = root.path("fix");
+    /**
+     * 이미 파싱된 응답 저장 (AiResponseIngestor 결과를 그대로 사용, JSON 을 다시 파싱/직렬화하지 않음)
+     * 제출 + 결과 + issue + 히스토리를 한 트랜잭션으로 저장 (issue / 히스토리 행은 커밋 시 JDBC 배치로 insert)
+     */
+    @Transactional
+    public void saveNewResult(String email, String code, String language, String fileName, AiAnalysisPayload payload) {
+        try {
+            AnalyzeResponse response = payload.response();
+            AnalyzeResponse.Metrics metrics = response.metrics();
 
             User user = userRepository.findByEmail(email).orElseGet(() -> {
                 User newUser = new User();
@@ -67,32 +88,39 @@ public class AnalysisResultService {
 
             CodeSubmission submission = CodeSubmission.builder()
                     .user(user)
-                    .code(code)
+                    .blob(codeBlobStore.store(code))
                     .language(language != null ? language : "auto")
+                    .fileName(fileName)
+                    .submittedAt(LocalDateTime.now())
                     .build();
             codeSubmissionRepository.save(submission);
 
             AnalysisResult analysisResult = AnalysisResult.builder()
                     .codeSubmission(submission)
-                    .maintainabilityScore(toDouble(metrics.path("maintainability")))
-                    .readabilityScore(toDouble(metrics.path("readability")))
-                    .bugProbability(toDouble(metrics.path("bug_probability")))
-                    .summary(root.path("summary").asText(""))
-                    .suggestions(issues.toString())          // ✅ 전체 JSON 문자열 저장
-                    .score(toInt(metrics.path("score")))
+                    .maintainabilityScore(metrics.maintainability())
+                    .readabilityScore(metrics.readability())
+                    .bugProbability(metrics.bugProbability())
+                    .summary(response.summary())
+                    .suggestions(payload.issuesJson())       // ✅ issues 배열 원문 그대로 저장
+                    .score(metrics.score())
                     .createdAt(LocalDateTime.now())
                     .build();
 
             analysisResultRepository.save(analysisResult);
+            analysisIssueService.record(analysisResult, user.getId(), analysisResult.getCreatedAt(), response.issues());
+            analysisSearchIndex.indexResult(user.getId(), analysisResult, response.issues() == null ? List.of()
+                    : response.issues().stream().map(AnalyzeResponse.Issue::message).toList());
 
-            // History 저장 - issues 배열 저장
-            if (issues.isArray()) {
-                for (JsonNode issue : issues) {
-                    String type = issue.path("severity").asText(null);
-                    String msg = issue.path("message").asText(null);
+            // History 저장 - issues 배열 저장 (행마다 save 하지 않고 모아서 saveAll)
+            List<AnalysisHistory> histories = new ArrayList<>();
+            if (response.issues() != null) {
+                for (AnalyzeResponse.Issue issue : response.issues()) {
+                    String type = issue.severity();
+                    String msg = issue.message();
 
                     AnalysisHistory history = AnalysisHistory.builder()
                             .user(user)
+                            .analysisResult(analysisResult)
                             .language(language)
                             .purpose("analysis")
                             .errorType(type)
@@ -101,12 +129,13 @@ public class AnalysisResultService {
                             .idempotencyKey(UUID.randomUUID().toString())
                             .build();
 
-                    analysisHistoryRepository.save(history);
+                    histories.add(history);
                 }
             } else {
                 // issues가 없을 경우 기본값 저장
                 AnalysisHistory history = AnalysisHistory.builder()
                         .user(user)
+                        .analysisResult(analysisResult)
                         .language(language)
                         .purpose("analysis")
                         .errorType(null)
@@ -115,11 +144,12 @@ public class AnalysisResultService {
                         .idempotencyKey(UUID.randomUUID().toString())
                         .build();
 
-                analysisHistoryRepository.save(history);
+                histories.add(history);
             }
+            analysisHistoryService.saveAll(histories);
 
 
-            log.info("✅ 분석 결과 + 히스토리 저장 완료 (email = {})", email);
+            log.info("✅ 분석 결과 + issue + 히스토리 저장 완료 (email = {})", email);
 
         } catch (Exception e) {
             log.error("❌ AI Response 저장 중 오류 발생", e);
@@ -148,71 +178,74 @@ public class AnalysisResultService {
     }
 
 
-    /** 나머지 메서드는 기존 코드 그대로 유지 */
+    /**
+     * 조회 메서드는 DTO projection 으로 필요한 컬럼만 한 번에 읽음 (행마다 제출/사용자 추가 SELECT 없음)
+     * 읽기 전용 트랜잭션이라 복제본이 설정되어 있으면 복제본에서 읽음 (ReplicaRoutingDataSource)
+     */
+    @Transactional(readOnly = true)
     public AnalysisResultDto getResultBySubmissionId(Long id) {
-        CodeSubmission sub = codeSubmissionRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("제출 코드 없음"));
-        AnalysisResult result = analysisResultRepository.findByCodeSubmission(sub)
-                .orElseThrow(() -> new IllegalArgumentException("분석 결과 없음"));
-        return AnalysisResultDto.fromEntity(result);
-    }
-
-    public List<AnalysisResultDto> getAllResultsForUser(String email) {
-        return analysisResultRepository.findAllByCodeSubmission_User_Email(email).stream()
-                .map(AnalysisResultDto::fromEntity)
-                .collect(Collectors.toList());
+        return analysisResultRepository.findDtoBySubmissionId(id)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        codeSubmissionRepository.existsById(id) ? "분석 결과 없음" : "제출 코드 없음"));
     }
 
-    public List<AnalysisResultDto> getUserHistory(String email) {
+    /** 사용자 분석 결과 목록 - 전체를 읽지 않고 최신순 keyset 페이지 단위로 조회 (cursor 가 없으면 첫 페이지, 아카이브 구간은 이어서 읽음) */
+    @Transactional(readOnly = true)
+    public CursorPage<AnalysisResultDto> getAllResultsForUser(String email, String cursor, Integer size) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-        return analysisResultRepository.findAllByCodeSubmission_User(user).stream()
-                .map(AnalysisResultDto::fromEntity)
-                .collect(Collectors.toList());
+        KeysetCursor.Key after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        List<AnalysisResultDto> hot = after == null
+                ? analysisResultRepository.findFirstPageByUserId(user.getId(), KeysetCursor.probe(pageSize))
+                : analysisResultRepository.findPageAfterByUserId(user.getId(), after.createdAt(), after.id(),
+                        KeysetCursor.probe(pageSize));
+        List<AnalysisResultDto> rows = analysisArchiveService.mergeResults(user.getId(), hot, after, pageSize + 1);
+        return KeysetCursor.page(rows, pageSize,
+                result -> new KeysetCursor.Key(result.getCreatedAt(), result.getId()),
+                result -> result);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<AnalysisResultDto> getUserHistory(String email, String cursor, Integer size) {
+        return getAllResultsForUser(email, cursor, size);
+    }
+
+    // 언어/키워드 필터, 정렬, 건수 제한을 모두 DB 쿼리로 처리 (사용자 이력 전체를 메모리로 읽지 않음)
+    @Transactional(readOnly = true)
     public List<AnalysisResultDto> getFilteredAndSortedUserHistory(String email, AnalysisResultFilterRequestDto filterDto) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
 
-        List<AnalysisResult> results = analysisResultRepository.findByCodeSubmission_User_Id(user.getId());
-
-        if (filterDto.getKeyword() != null && !filterDto.getKeyword().isBlank()) {
-            results = results.stream()
-                    .filter(r -> r.getSummary() != null && r.getSummary().contains(filterDto.getKeyword()))
-                    .collect(Collectors.toList());
-        }
-
-        Comparator<AnalysisResult> comparator = Comparator.comparing(AnalysisResult::getCreatedAt);
-        if ("score".equalsIgnoreCase(filterDto.getSortBy())) {
-            comparator = Comparator.comparing(AnalysisResult::getScore);
-        }
+        int limit = filterDto.getSize() == null
+                ? DEFAULT_HISTORY_LIMIT
+                : Math.max(1, Math.min(filterDto.getSize(), MAX_HISTORY_LIMIT));
 
-        if ("desc".equalsIgnoreCase(filterDto.getOrder())) {
-            comparator = comparator.reversed();
-        }
+        return analysisResultRepository.search(user.getId(), filterDto.getLanguage(), filterDto.getKeyword(),
+                filterDto.getSortBy(), filterDto.getOrder(), limit);
+    }
 
-        return results.stream()
-                .sorted(comparator)
-                .map(AnalysisResultDto::fromEntity)
-                .collect(Collectors.toList());
+    /** 분석 요약 / issue 메시지 / 히스토리 에러 메시지 전문 검색 (관련도 순, 일치 부분 하이라이트) */
+    @Transactional(readOnly = true)
+    public CursorPage<SearchHitDto> search(String email, String query, String cursor, Integer size) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+        return analysisSearchIndex.search(user.getId(), query, cursor, KeysetCursor.pageSize(size));
     }
 
+    @Transactional(readOnly = true)
     public AnalysisResultDto getAnalysisById(Long id) {
-        AnalysisResult result = analysisResultRepository.findById(id)
+        return analysisResultRepository.findDtoById(id)
                 .orElseThrow(() -> new IllegalArgumentException("해당 분석 결과를 찾을 수 없습니다."));
-        return AnalysisResultDto.fromEntity(result);
     }
 
     /** submissionId + userId 조합 조회 */
+    @Transactional(readOnly = true)
     public AnalysisResultDto getResultBySubmissionIdAndUserId(Long submissionId, Long userId) {
-        AnalysisResult result = analysisResultRepository
-                .findByCodeSubmission_IdAndCodeSubmission_User_Id(submissionId, userId)
+        return analysisResultRepository.findDtoBySubmissionIdAndUserId(submissionId, userId)
                 .orElseThrow(() -> new IllegalArgumentException(
                         "해당 submissionId + userId 의 분석 결과가 없습니다."
                 ));
-
-        return AnalysisResultDto.fromEntity(result);
     }
 
 }
@@ -0,0 +1,275 @@
+package com.codewise.service;
+
+import com.codewise.domain.AnalysisPriority;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * AI 서버 호출 대기열 스케줄러 (AiBulkhead 의 대기 순서 결정)
+ * - 우선순위 등급: INTERACTIVE → STANDARD → BACKGROUND 순으로, 앞 등급이 비어야 다음 등급을 꺼냄
+ *   단, 아래 등급의 가장 오래된 요청이 agingMs 넘게 기다렸으면 그 등급을 먼저 꺼냄 (aging, 아래 등급 기아 방지)
+ * - 등급 안에서는 사용자(email)별 가중 공정 큐 (가상 finish 시각 순서)
+ *   요청마다 start = max(가상시각, 그 사용자의 직전 finish), finish = start + 1 / weight 를 붙이고 finish 가 작은 것부터 꺼냄
+ *   가상시각은 꺼낸 요청의 start 로 전진 → 새로 온 사용자는 현재 가상시각부터 시작해 밀린 사용자 뒤로 가지 않음
+ *   → 한 사용자가 요청을 200개 쌓아도 다른 사용자의 요청은 그 뒤가 아니라 사이사이에 처리됨
+ * - 대기열이 가득 차면 더 낮은 등급의 대기 요청을 밀어내고 자리를 만듦
+ * 호출 측은 withPriority 로 Reactor Context 에 등급과 사용자를 실어 보내고, AiBulkhead 가 이를 읽어 대기열에 넣는다.
+ */
+@Component
+public class AnalysisScheduler {
+
+    private static final String PRIORITY_KEY = AnalysisScheduler.class.getName() + ".priority";
+    private static final String USER_KEY = AnalysisScheduler.class.getName() + ".user";
+    private static final String ANONYMOUS = "anonymous";
+    private static final String OTHER_USERS = "other";
+
+    private final Map<AnalysisPriority, ClassQueue> queues = new EnumMap<>(AnalysisPriority.class); // this 로 동기화
+    private final Map<String, Double> userWeights;
+    private final double defaultWeight;
+    private final int maxTrackedUsers;
+    private final long agingNanos;
+    private final LongSupplier nanoClock;
+    private long sequence;                                                                         // this 로 동기화
+
+    private final MeterRegistry meterRegistry;
+    private final Map<AnalysisPriority, Timer> classWaitTimers = new EnumMap<>(AnalysisPriority.class);
+    private final Map<String, Timer> userWaitTimers = new ConcurrentHashMap<>();
+
+    /**
+     * @param userWeights     사용자별 가중치 ("a@codewise.com=2,b@codewise.com=0.5"), 없으면 defaultWeight
+     * @param maxTrackedUsers 사용자별 대기 시간 지표를 따로 남길 최대 사용자 수 (초과분은 user=other 로 합산)
+     * @param agingMs         아래 등급 요청이 이보다 오래 기다리면 위 등급보다 먼저 꺼냄
+     */
+    @Autowired
+    public AnalysisScheduler(MeterRegistry meterRegistry,
+                             @Value("${ai.scheduler.user-weights:}") String userWeights,
+                             @Value("${ai.scheduler.default-weight:1.0}") double defaultWeight,
+                             @Value("${ai.scheduler.metrics.max-users:100}") int maxTrackedUsers,
+                             @Value("${ai.scheduler.aging-ms:5000}") long agingMs) {
+        this(meterRegistry, userWeights, defaultWeight, maxTrackedUsers, agingMs, System::nanoTime);
+    }
+
+    // 대기 시간을 재는 시계를 바꿔 끼울 수 있는 생성자 (테스트용)
+    AnalysisScheduler(MeterRegistry meterRegistry, String userWeights, double defaultWeight,
+                      int maxTrackedUsers, long agingMs, LongSupplier nanoClock) {
+        this.meterRegistry = meterRegistry;
+        this.userWeights = parseWeights(userWeights);
+        this.defaultWeight = defaultWeight > 0 ? defaultWeight : 1.0;
+        this.maxTrackedUsers = maxTrackedUsers;
+        this.agingNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, agingMs));
+        this.nanoClock = nanoClock;
+
+        for (AnalysisPriority priority : AnalysisPriority.values()) {
+            queues.put(priority, new ClassQueue());
+            classWaitTimers.put(priority, Timer.builder("ai.scheduler.wait")
+                    .description("우선순위 등급별 AI 호출 대기 시간")
+                    .tag("class", priority.name().toLowerCase())
+                    .register(meterRegistry));
+            Gauge.builder("ai.scheduler.queue.depth", this, s -> s.size(priority))
+                    .tag("class", priority.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+
+    // 분석 Mono/Flux 에 우선순위 등급과 사용자 key 지정 (AI 서버 호출 시 AiBulkhead 가 읽음)
+    public static <T> Mono<T> withPriority(Mono<T> task, AnalysisPriority priority, String userKey) {
+        return task.contextWrite(ctx -> ctx.put(PRIORITY_KEY, priority).put(USER_KEY, userKey != null ? userKey : ANONYMOUS));
+    }
+
+    public static <T> Flux<T> withPriority(Flux<T> task, AnalysisPriority priority, String userKey) {
+        return task.contextWrite(ctx -> ctx.put(PRIORITY_KEY, priority).put(USER_KEY, userKey != null ? userKey : ANONYMOUS));
+    }
+
+    // 등급이 지정되지 않은 호출은 STANDARD
+    static AnalysisPriority priorityOf(ContextView ctx) {
+        return ctx.getOrDefault(PRIORITY_KEY, AnalysisPriority.STANDARD);
+    }
+
+    static String userOf(ContextView ctx) {
+        return ctx.getOrDefault(USER_KEY, ANONYMOUS);
+    }
+
+    synchronized Ticket enqueue(Object item, AnalysisPriority priority, String userKey) {
+        ClassQueue queue = queues.get(priority);
+        double start = Math.max(queue.virtualTime, queue.lastFinish.getOrDefault(userKey, 0.0));
+        double finish = start + 1.0 / userWeights.getOrDefault(userKey, defaultWeight);
+        queue.lastFinish.put(userKey, finish);
+
+        Ticket ticket = new Ticket(item, priority, userKey, start, finish, sequence++, nanoClock.getAsLong());
+        queue.tickets.add(ticket);
+        return ticket;
+    }
+
+    // 가장 높은 등급에서 finish 가 가장 작은 요청을 꺼냄 (agingMs 넘게 기다린 아래 등급이 있으면 그 등급에서)
+    synchronized Ticket poll() {
+        ClassQueue aged = agedQueue();
+        if (aged != null) {
+            return aged.pollFair();
+        }
+        for (ClassQueue queue : queues.values()) {
+            Ticket ticket = queue.pollFair();
+            if (ticket != null) {
+                return ticket;
+            }
+        }
+        return null;
+    }
+
+    // 가장 높은 등급을 제외한 등급 중 가장 오래된 요청이 agingNanos 넘게 기다린 등급 (여럿이면 가장 오래 기다린 쪽)
+    private ClassQueue agedQueue() {
+        long now = nanoClock.getAsLong();
+        ClassQueue aged = null;
+        long oldestWait = agingNanos;
+        boolean higherWaiting = false;
+        for (ClassQueue queue : queues.values()) {
+            if (higherWaiting) {
+                for (Ticket ticket : queue.tickets) {
+                    long wait = now - ticket.enqueuedAt;
+                    if (wait >= oldestWait) {
+                        oldestWait = wait;
+                        aged = queue;
+                    }
+                }
+            }
+            higherWaiting |= !queue.tickets.isEmpty();
+        }
+        return aged;
+    }
+
+    // 대기 중 취소된 요청 제거
+    synchronized boolean remove(Ticket ticket) {
+        ClassQueue queue = queues.get(ticket.priority);
+        boolean removed = queue.tickets.remove(ticket);
+        queue.resetIfIdle();
+        return removed;
+    }
+
+    // priority 보다 낮은 등급 중 가장 낮은 등급에서, 가장 많이 앞서간(finish 가 가장 큰) 요청을 밀어냄
+    synchronized Ticket shedLowerThan(AnalysisPriority priority) {
+        AnalysisPriority[] priorities = AnalysisPriority.values();
+        for (int i = priorities.length - 1; i > priority.ordinal(); i--) {
+            ClassQueue queue = queues.get(priorities[i]);
+            Ticket victim = queue.tickets.stream().max(Ticket.ORDER).orElse(null);
+            if (victim != null) {
+                queue.tickets.remove(victim);
+                queue.resetIfIdle();
+                return victim;
+            }
+        }
+        return null;
+    }
+
+    synchronized int size() {
+        int size = 0;
+        for (ClassQueue queue : queues.values()) {
+            size += queue.tickets.size();
+        }
+        return size;
+    }
+
+    private synchronized int size(AnalysisPriority priority) {
+        return queues.get(priority).tickets.size();
+    }
+
+    // 허가를 받기까지 기다린 시간 기록 (등급별 + 사용자별)
+    void recordWait(AnalysisPriority priority, String userKey, long waitNanos) {
+        classWaitTimers.get(priority).record(waitNanos, TimeUnit.NANOSECONDS);
+        userWaitTimer(userKey).record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer userWaitTimer(String userKey) {
+        Timer timer = userWaitTimers.get(userKey);
+        if (timer != null) {
+            return timer;
+        }
+        String tag = userWaitTimers.size() < maxTrackedUsers ? userKey : OTHER_USERS;
+        return userWaitTimers.computeIfAbsent(tag, key -> Timer.builder("ai.scheduler.user.wait")
+                .description("사용자별 AI 호출 대기 시간 (가중치 조정용)")
+                .tag("user", key)
+                .register(meterRegistry));
+    }
+
+    private static Map<String, Double> parseWeights(String spec) {
+        Map<String, Double> weights = new HashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return weights;
+        }
+        for (String pair : spec.split(",")) {
+            String[] kv = pair.split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("ai.scheduler.user-weights 형식이 올바르지 않습니다: " + pair);
+            }
+            double weight = Double.parseDouble(kv[1].trim());
+            if (weight <= 0) {
+                throw new IllegalArgumentException("가중치는 0보다 커야 합니다: " + pair);
+            }
+            weights.put(kv[0].trim(), weight);
+        }
+        return weights;
+    }
+
+    // 대기열의 요청 하나 (item 은 AiBulkhead 의 대기자)
+    static final class Ticket {
+        private static final Comparator<Ticket> ORDER =
+                Comparator.comparingDouble((Ticket t) -> t.finish).thenComparingLong(t -> t.sequence);
+
+        final Object item;
+        final AnalysisPriority priority;
+        final String userKey;
+        final double start;
+        final double finish;
+        final long sequence;
+        final long enqueuedAt;
+
+        private Ticket(Object item, AnalysisPriority priority, String userKey,
+                       double start, double finish, long sequence, long enqueuedAt) {
+            this.item = item;
+            this.priority = priority;
+            this.userKey = userKey;
+            this.start = start;
+            this.finish = finish;
+            this.sequence = sequence;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    // 등급 하나의 공정 큐 상태
+    private static final class ClassQueue {
+        private final PriorityQueue<Ticket> tickets = new PriorityQueue<>(Ticket.ORDER);
+        private final Map<String, Double> lastFinish = new HashMap<>();
+        private double virtualTime;
+
+        private Ticket pollFair() {
+            Ticket ticket = tickets.poll();
+            if (ticket != null) {
+                virtualTime = Math.max(virtualTime, ticket.start);
+                resetIfIdle();
+            }
+            return ticket;
+        }
+
+        // 대기열이 비면 가상시각과 사용자별 finish 를 초기화 (떠난 사용자 기록이 쌓이지 않도록)
+        private void resetIfIdle() {
+            if (tickets.isEmpty()) {
+                lastFinish.clear();
+                virtualTime = 0;
+            }
+        }
+    }
+}
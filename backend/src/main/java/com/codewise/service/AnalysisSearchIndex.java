@@ -0,0 +1,37 @@
+package com.codewise.service;
+
+import com.codewise.domain.AnalysisHistory;
+import com.codewise.domain.AnalysisResult;
+import com.codewise.dto.CursorPage;
+import com.codewise.dto.SearchHitDto;
+
+import java.util.List;
+
+/**
+ * 분석 결과 전문 검색 인덱스
+ * 분석 요약 + issue 메시지(AnalysisResult), 에러 메시지(AnalysisHistory)를 사용자 단위로 검색한다.
+ * 저장 시점마다 index* 로 갱신하고, 인덱스가 원본과 어긋나면 rebuild 로 다시 만든다.
+ * 구현: MysqlFulltextSearchIndex (search.engine=mysql, 기본값)
+ */
+public interface AnalysisSearchIndex {
+
+    // 분석 결과 1건 색인 (issueMessages: suggestions 안 issue 들의 message)
+    void indexResult(Long userId, AnalysisResult result, List<String> issueMessages);
+
+    // 히스토리 행 색인 (에러 메시지가 없는 행, 분석 결과에 딸린 행은 건너뜀 → 결과 문서에 issue 메시지로 이미 들어 있음)
+    void indexHistories(List<AnalysisHistory> histories);
+
+    // 관련도 순 검색 (cursor 가 없으면 첫 페이지)
+    CursorPage<SearchHitDto> search(Long userId, String query, String cursor, int size);
+
+    // 아카이브로 옮겨 hot 테이블에서 지운 분석 결과 / 히스토리 문서 삭제 (검색 결과가 없는 행을 가리키지 않도록)
+    void deleteResults(List<Long> resultIds);
+
+    void deleteHistories(List<Long> historyIds);
+
+    // 탈퇴 사용자 문서를 최대 limit 건 삭제, 삭제한 문서 수 반환 (0 이면 남은 문서 없음)
+    int deleteUserDocuments(Long userId, int limit);
+
+    // 원본 테이블에서 인덱스 전체를 다시 생성, 색인한 문서 수 반환
+    long rebuild();
+}
@@ -0,0 +1,397 @@
+package com.codewise.service;
+
+import com.codewise.dto.ArchivedRow;
+import com.codewise.util.KeysetCursor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 콜드 아카이브 세그먼트 파일 (로컬 디스크, archive.dir)
+ * {dir}/{kind}/{userId}/{yyyy-MM}.ndjson.gz : 한 행 = JSON 한 줄 (NDJSON), blockRows 행마다 독립된 gzip member 로 압축
+ * {dir}/{kind}/{userId}/{yyyy-MM}.idx       : block 마다 한 줄 (파일 내 offset/length, 행 수, createdAt / id 최소·최대)
+ * 조회는 .idx 만 읽어 범위가 겹치는 block 을 고르고 그 구간만 읽어 압축을 푼다 (세그먼트 전체를 훑지 않음).
+ * 같은 달을 다시 보관하면 block 을 파일 끝에 이어 붙이고 인덱스 줄을 추가한다.
+ * 데이터 → 인덱스 순으로 fsync 하므로 중간에 멈춰도 인덱스에 없는 꼬리 바이트는 읽히지 않는다.
+ * 인덱스 줄은 줄바꿈까지 기록된 것만 유효: 기록 중 멈춰 잘린 마지막 줄은 읽을 때 건너뛰고 다음 append 에서 잘라낸다
+ * (그 block 의 행은 아직 hot 테이블에 남아 있어 다음 보관 때 다시 들어감).
+ */
+@Component
+public class ArchiveSegmentStore {
+
+    public static final String HISTORY = "history";
+    public static final String RESULT = "result";
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveSegmentStore.class);
+
+    private static final String DATA_SUFFIX = ".ndjson.gz";
+    private static final String INDEX_SUFFIX = ".idx";
+
+    // .idx 에서 읽은 block 목록과 온전한 줄이 끝나는 위치 (그 뒤는 기록 중 잘린 꼬리)
+    private record IndexContents(List<BlockIndex> blocks, long validLength) {
+    }
+
+    // 세그먼트 안 block 한 개의 위치와 범위
+    public record BlockIndex(long offset, int length, int count,
+                             LocalDateTime minCreatedAt, LocalDateTime maxCreatedAt,
+                             long minId, long maxId) {
+    }
+
+    private static final Comparator<ArchivedRow> NEWEST_FIRST = Comparator
+            .comparing(ArchivedRow::createdAt, Comparator.reverseOrder())
+            .thenComparing(ArchivedRow::id, Comparator.reverseOrder());
+
+    // block 안 모든 행의 키는 (maxCreatedAt, maxId) 이하 → 이 상한이 큰 block 부터
+    private static final Comparator<BlockIndex> NEWEST_BLOCK_FIRST = Comparator
+            .comparing(BlockIndex::maxCreatedAt, Comparator.reverseOrder())
+            .thenComparing(BlockIndex::maxId, Comparator.reverseOrder());
+
+    private final Path root;
+    private final ObjectMapper objectMapper;
+    private final int blockRows;
+
+    public ArchiveSegmentStore(ObjectMapper objectMapper,
+                               @Value("${archive.dir:./archive}") String dir,
+                               @Value("${archive.block-rows:256}") int blockRows) {
+        this.root = Paths.get(dir);
+        // 공용 ObjectMapper 설정은 그대로 두고 날짜만 ISO 문자열로 읽고 쓰는 사본 사용
+        this.objectMapper = objectMapper.copy()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.blockRows = Math.max(1, blockRows);
+    }
+
+    // 같은 달 행을 세그먼트 끝에 block 단위로 추가 (rows 는 한 사용자, 한 달, createdAt 이 있는 행)
+    public void append(String kind, Long userId, YearMonth month, List<? extends ArchivedRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Path data = dataFile(kind, userId, month);
+        Path index = indexFile(kind, userId, month);
+        try {
+            Files.createDirectories(data.getParent());
+            List<BlockIndex> blocks = new ArrayList<>();
+            try (FileChannel channel = FileChannel.open(data, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                long offset = channel.size();
+                for (int from = 0; from < rows.size(); from += blockRows) {
+                    List<? extends ArchivedRow> block = rows.subList(from, Math.min(rows.size(), from + blockRows));
+                    byte[] compressed = compress(block);
+                    writeFully(channel, compressed, offset);
+                    blocks.add(indexOf(block, offset, compressed.length));
+                    offset += compressed.length;
+                }
+                channel.force(true);
+            }
+
+            StringBuilder lines = new StringBuilder();
+            for (BlockIndex block : blocks) {
+                lines.append(objectMapper.writeValueAsString(block)).append('\n');
+            }
+            long end = Files.exists(index) ? readIndex(index).validLength() : 0;
+            try (FileChannel channel = FileChannel.open(index, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                if (channel.size() > end) {
+                    log.warn("⚠️ 아카이브 인덱스의 잘린 마지막 줄 제거 ({}, {} bytes)", index, channel.size() - end);
+                    channel.truncate(end);
+                }
+                writeFully(channel, lines.toString().getBytes(StandardCharsets.UTF_8), end);
+                channel.force(true);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("아카이브 세그먼트 쓰기 실패: " + data, e);
+        }
+    }
+
+    // 보관된 달 목록 (최신 달부터)
+    public List<YearMonth> months(String kind, Long userId) {
+        Path dir = userDir(kind, userId);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(INDEX_SUFFIX))
+                    .map(name -> YearMonth.parse(name.substring(0, name.length() - INDEX_SUFFIX.length())))
+                    .sorted(Comparator.reverseOrder())
+                    .toList();
+        } catch (IOException e) {
+            throw new IllegalStateException("아카이브 목록 조회 실패: " + dir, e);
+        }
+    }
+
+    public List<BlockIndex> index(String kind, Long userId, YearMonth month) {
+        Path index = indexFile(kind, userId, month);
+        if (!Files.exists(index)) {
+            return List.of();
+        }
+        try {
+            return readIndex(index).blocks();
+        } catch (IOException e) {
+            throw new IllegalStateException("아카이브 인덱스 읽기 실패: " + index, e);
+        }
+    }
+
+    // 가장 최근에 보관된 행의 시각 (hot 목록과 섞어야 하는지 판단), 보관된 행이 없으면 empty
+    public Optional<LocalDateTime> newest(String kind, Long userId) {
+        for (YearMonth month : months(kind, userId)) {
+            Optional<LocalDateTime> newest = index(kind, userId, month).stream()
+                    .map(BlockIndex::maxCreatedAt)
+                    .max(Comparator.naturalOrder());
+            if (newest.isPresent()) {
+                return newest;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * before 키보다 오래된 행을 최신순으로 최대 limit 개 (before 가 null 이면 가장 최근 행부터)
+     * 최신 달부터, 달 안에서는 block 을 가장 최근 키 순으로 하나씩 읽는다. 지금까지 모은 최신 limit 개가
+     * 다음 block 의 어떤 행보다도 최신이면 거기서 멈춤 (이후 block / 이전 달은 모두 더 오래된 행이라 압축을 풀지 않음).
+     */
+    public <T extends ArchivedRow> List<T> readBefore(String kind, Long userId, KeysetCursor.Key before,
+                                                      int limit, Class<T> type) {
+        List<T> rows = new ArrayList<>();
+        for (YearMonth month : months(kind, userId)) {
+            if (before != null && month.isAfter(YearMonth.from(before.createdAt()))) {
+                continue;
+            }
+            List<BlockIndex> blocks = index(kind, userId, month).stream()
+                    .filter(block -> before == null || isBefore(block.minCreatedAt(), block.minId(), before))
+                    .sorted(NEWEST_BLOCK_FIRST)
+                    .toList();
+            if (blocks.isEmpty()) {
+                continue;
+            }
+            Path data = dataFile(kind, userId, month);
+            try (FileChannel channel = FileChannel.open(data, StandardOpenOption.READ)) {
+                for (BlockIndex block : blocks) {
+                    if (rows.size() >= limit && newerThanBlock(rows.get(rows.size() - 1), block)) {
+                        return rows;
+                    }
+                    for (T row : readBlock(channel, block, type)) {
+                        if (before == null || isBefore(row.createdAt(), row.id(), before)) {
+                            rows.add(row);
+                        }
+                    }
+                    rows.sort(NEWEST_FIRST);
+                    rows = dedupe(rows, limit);   // 최신 limit 개만 유지
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("아카이브 세그먼트 읽기 실패: " + data, e);
+            }
+        }
+        return rows;
+    }
+
+    // [from, to) 구간 행 (null 이면 그쪽 제한 없음), 순서 없음
+    public <T extends ArchivedRow> List<T> readRange(String kind, Long userId, LocalDateTime from, LocalDateTime to,
+                                                     Class<T> type) {
+        List<T> rows = new ArrayList<>();
+        for (YearMonth month : months(kind, userId)) {
+            if ((from != null && month.isBefore(YearMonth.from(from))) || (to != null && month.isAfter(YearMonth.from(to)))) {
+                continue;
+            }
+            List<BlockIndex> blocks = index(kind, userId, month).stream()
+                    .filter(block -> (from == null || !block.maxCreatedAt().isBefore(from))
+                            && (to == null || block.minCreatedAt().isBefore(to)))
+                    .toList();
+            for (T row : readBlocks(kind, userId, month, blocks, type)) {
+                if ((from == null || !row.createdAt().isBefore(from)) && (to == null || row.createdAt().isBefore(to))) {
+                    rows.add(row);
+                }
+            }
+        }
+        rows.sort(NEWEST_FIRST);
+        return dedupe(rows, Integer.MAX_VALUE);
+    }
+
+    // 탈퇴 계정 정리: 사용자의 세그먼트 전부 삭제
+    public void deleteUser(Long userId) {
+        for (String kind : List.of(HISTORY, RESULT)) {
+            Path dir = userDir(kind, userId);
+            if (!Files.isDirectory(dir)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : files.toList()) {
+                    Files.deleteIfExists(file);
+                }
+                Files.deleteIfExists(dir);
+            } catch (IOException e) {
+                throw new IllegalStateException("아카이브 삭제 실패: " + dir, e);
+            }
+        }
+    }
+
+    private <T extends ArchivedRow> List<T> readBlocks(String kind, Long userId, YearMonth month,
+                                                       List<BlockIndex> blocks, Class<T> type) {
+        if (blocks.isEmpty()) {
+            return List.of();
+        }
+        Path data = dataFile(kind, userId, month);
+        List<T> rows = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(data, StandardOpenOption.READ)) {
+            for (BlockIndex block : blocks) {
+                rows.addAll(readBlock(channel, block, type));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("아카이브 세그먼트 읽기 실패: " + data, e);
+        }
+        return rows;
+    }
+
+    // 줄바꿈으로 끝난 줄만 block 으로 인정, 마지막 줄이 줄바꿈 없이 끊겼거나 읽을 수 없으면 잘린 기록으로 보고 제외
+    // (중간 줄이 깨진 것은 기록 중단으로 생길 수 없으므로 그대로 실패)
+    private IndexContents readIndex(Path index) throws IOException {
+        byte[] bytes = Files.readAllBytes(index);
+        List<BlockIndex> blocks = new ArrayList<>();
+        int start = 0;
+        while (start < bytes.length) {
+            int end = start;
+            while (end < bytes.length && bytes[end] != '\n') {
+                end++;
+            }
+            if (end == bytes.length) {
+                break;   // 줄바꿈 없는 꼬리
+            }
+            String line = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+            if (!line.isBlank()) {
+                try {
+                    blocks.add(objectMapper.readValue(line, BlockIndex.class));
+                } catch (JsonProcessingException e) {
+                    if (end + 1 < bytes.length) {
+                        throw e;
+                    }
+                    break;
+                }
+            }
+            start = end + 1;
+        }
+        return new IndexContents(blocks, start);
+    }
+
+    // block 한 개 구간만 읽어 압축 해제
+    private <T extends ArchivedRow> List<T> readBlock(FileChannel channel, BlockIndex block, Class<T> type)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(block.length());
+        long position = block.offset();
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("세그먼트가 인덱스보다 짧습니다.");
+            }
+            position += read;
+        }
+        List<T> rows = new ArrayList<>(block.count());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(buffer.array())), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    rows.add(objectMapper.readValue(line, type));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private byte[] compress(List<? extends ArchivedRow> block) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            for (ArchivedRow row : block) {
+                gzip.write(objectMapper.writeValueAsBytes(row));
+                gzip.write('\n');
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static BlockIndex indexOf(List<? extends ArchivedRow> block, long offset, int length) {
+        LocalDateTime minCreatedAt = null;
+        LocalDateTime maxCreatedAt = null;
+        long minId = Long.MAX_VALUE;
+        long maxId = Long.MIN_VALUE;
+        for (ArchivedRow row : block) {
+            minCreatedAt = minCreatedAt == null || row.createdAt().isBefore(minCreatedAt) ? row.createdAt() : minCreatedAt;
+            maxCreatedAt = maxCreatedAt == null || row.createdAt().isAfter(maxCreatedAt) ? row.createdAt() : maxCreatedAt;
+            minId = Math.min(minId, row.id());
+            maxId = Math.max(maxId, row.id());
+        }
+        return new BlockIndex(offset, length, block.size(), minCreatedAt, maxCreatedAt, minId, maxId);
+    }
+
+    private static void writeFully(FileChannel channel, byte[] bytes, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    // (createdAt, id) 가 before 보다 앞서는지 (최신순 keyset 기준으로 더 오래됨)
+    private static boolean isBefore(LocalDateTime createdAt, long id, KeysetCursor.Key before) {
+        return createdAt.isBefore(before.createdAt()) || (createdAt.isEqual(before.createdAt()) && id < before.id());
+    }
+
+    // row 가 block 의 키 상한 (maxCreatedAt, maxId) 보다 최신인지 (그렇다면 block 의 모든 행보다 최신)
+    private static boolean newerThanBlock(ArchivedRow row, BlockIndex block) {
+        return row.createdAt().isAfter(block.maxCreatedAt())
+                || (row.createdAt().isEqual(block.maxCreatedAt()) && row.id() > block.maxId());
+    }
+
+    // 보관 후 hot 삭제 전에 멈췄다가 다시 보관된 행은 같은 id 로 두 번 들어 있을 수 있음 → 한 번만
+    private static <T extends ArchivedRow> List<T> dedupe(List<T> sorted, int limit) {
+        List<T> unique = new ArrayList<>(Math.min(sorted.size(), limit));
+        T previous = null;
+        for (T row : sorted) {
+            if (previous != null && previous.id().equals(row.id())) {
+                continue;
+            }
+            unique.add(row);
+            previous = row;
+            if (unique.size() >= limit) {
+                break;
+            }
+        }
+        return unique;
+    }
+
+    private Path userDir(String kind, Long userId) {
+        return root.resolve(kind).resolve(String.valueOf(userId));
+    }
+
+    private Path dataFile(String kind, Long userId, YearMonth month) {
+        return userDir(kind, userId).resolve(month + DATA_SUFFIX);
+    }
+
+    private Path indexFile(String kind, Long userId, YearMonth month) {
+        return userDir(kind, userId).resolve(month + INDEX_SUFFIX);
+    }
+}
@@ -0,0 +1,176 @@
+package com.codewise.service;
+
+import com.codewise.dto.AnalyzeRequest;
+import com.codewise.util.CodeChunker;
+import com.codewise.util.CodeChunker.CodeChunk;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * 큰 파일 분할 분석
+ * - thresholdLines 를 넘는 코드는 CodeChunker 로 함수/클래스 경계에서 나눔
+ * - 조각들은 요청당 최대 parallelism 개씩 동시에 AiServerClient 로 분석 (캐시/Bulkhead 그대로 적용)
+ * - 결과는 saveNewResult 가 파싱하는 것과 같은 형태(summary, metrics, issues, fix)로 병합
+ */
+@Service
+public class ChunkedAnalysisService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedAnalysisService.class);
+
+    // 조각 기준 줄 번호를 원본 기준으로 보정할 issue 필드
+    private static final List<String> LINE_FIELDS =
+            List.of("line", "start_line", "end_line", "line_start", "line_end", "startLine", "endLine");
+
+    private final AiServerClient aiServerClient;
+    private final ObjectMapper objectMapper;
+    private final int thresholdLines;
+    private final int targetLines;
+    private final int parallelism;
+
+    public ChunkedAnalysisService(AiServerClient aiServerClient,
+                                  ObjectMapper objectMapper,
+                                  @Value("${ai.chunk.threshold-lines:800}") int thresholdLines,
+                                  @Value("${ai.chunk.target-lines:300}") int targetLines,
+                                  @Value("${ai.chunk.parallelism:4}") int parallelism) {
+        this.aiServerClient = aiServerClient;
+        this.objectMapper = objectMapper;
+        this.thresholdLines = thresholdLines;
+        this.targetLines = targetLines;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public Mono<String> analyze(AnalyzeRequest req) {
+        String code = req.code() != null ? req.code() : "";
+        if (code.lines().count() <= thresholdLines) {
+            return aiServerClient.analyze(req);
+        }
+
+        List<CodeChunk> chunks = CodeChunker.split(code, req.language(), targetLines);
+        if (chunks.size() <= 1) {
+            return aiServerClient.analyze(req);
+        }
+        log.info("✂️ 큰 코드 분할 분석 (chunks={}, lang={})", chunks.size(), req.language());
+
+        return Flux.fromIterable(chunks)
+                .flatMapSequential(chunk -> aiServerClient.analyze(new AnalyzeRequest(chunk.code(), req.language()))
+                        .map(json -> new ChunkResult(chunk, readTree(json))), parallelism)
+                .collectList()
+                .map(results -> merge(results).toString());
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("AI 응답 JSON 파싱 실패", e);
+        }
+    }
+
+    // 조각별 결과 병합: metrics 는 줄 수 가중 평균, issues 는 줄 번호 보정 후 이어 붙임
+    ObjectNode merge(List<ChunkResult> results) {
+        ObjectNode merged = objectMapper.createObjectNode();
+        StringJoiner summaries = new StringJoiner("\n");
+        StringJoiner fixes = new StringJoiner("\n");
+        boolean allFixes = true;
+        ArrayNode issues = merged.putArray("issues");
+        Map<String, double[]> weighted = new LinkedHashMap<>(); // name → {가중합, 가중치합, 정수여부}
+
+        for (ChunkResult result : results) {
+            JsonNode root = result.root();
+            int offset = result.chunk().startLine();
+            int weight = Math.max(1, result.chunk().lineCount());
+
+            String summary = root.path("summary").asText("");
+            if (!summary.isBlank()) {
+                summaries.add(summary);
+            }
+
+            JsonNode fix = root.path("fix");
+            if (fix.isTextual()) {
+                fixes.add(fix.asText());
+            } else {
+                allFixes = false;
+            }
+
+            Iterator<Map.Entry<String, JsonNode>> metrics = root.path("metrics").fields();
+            while (metrics.hasNext()) {
+                Map.Entry<String, JsonNode> metric = metrics.next();
+                if (!metric.getValue().isNumber()) {
+                    continue;
+                }
+                double[] acc = weighted.computeIfAbsent(metric.getKey(), k -> new double[]{0, 0, 1});
+                acc[0] += metric.getValue().asDouble() * weight;
+                acc[1] += weight;
+                if (!metric.getValue().isIntegralNumber()) {
+                    acc[2] = 0;
+                }
+            }
+
+            for (JsonNode issue : root.path("issues")) {
+                if (!issue.isObject()) {
+                    issues.add(issue);
+                    continue;
+                }
+                issues.add(shiftLines(issue, offset));
+            }
+        }
+
+        ObjectNode metrics = objectMapper.createObjectNode();
+        weighted.forEach((name, acc) -> {
+            double value = acc[0] / acc[1];
+            if (acc[2] == 1) {
+                metrics.put(name, Math.round(value));   // score 등 정수 지표는 정수로 유지
+            } else {
+                metrics.put(name, value);
+            }
+        });
+
+        merged.put("summary", summaries.toString());
+        merged.set("metrics", metrics);
+        if (allFixes && !results.isEmpty()) {
+            merged.put("fix", fixes.toString());
+        }
+        return merged;
+    }
+
+    // issue 의 줄 번호 필드를 offset 만큼 이동한 사본
+    static ObjectNode shiftLines(JsonNode issue, int offset) {
+        ObjectNode shifted = issue.deepCopy();
+        for (String field : LINE_FIELDS) {
+            JsonNode line = shifted.get(field);
+            if (line != null && line.canConvertToInt()) {
+                shifted.put(field, line.asInt() + offset);
+            }
+        }
+        return shifted;
+    }
+
+    // issue 가 가리키는 첫 줄 번호 (줄 번호 필드가 없으면 -1)
+    static int firstLine(JsonNode issue) {
+        for (String field : LINE_FIELDS) {
+            JsonNode line = issue.get(field);
+            if (line != null && line.canConvertToInt()) {
+                return line.asInt();
+            }
+        }
+        return -1;
+    }
+
+    record ChunkResult(CodeChunk chunk, JsonNode root) {
+    }
+}
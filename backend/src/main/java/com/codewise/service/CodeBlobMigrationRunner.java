@@ -0,0 +1,83 @@
+package com.codewise.service;
+
+import com.codewise.domain.CodeSubmission;
+import com.codewise.repository.CodeBlobRepository;
+import com.codewise.repository.CodeSubmissionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 기존 제출 코드 → code_blob 마이그레이션 명령
+ * java -jar app.jar --code.migrate-blobs
+ * code 컬럼에 원문이 있는 행을 id 순으로 batch 단위로 읽어 blob 에 저장하고 code 컬럼을 비운다 (batch 마다 커밋, 중단 후 다시 실행 가능).
+ * 끝나면 이전(code 컬럼 + 기존 blob) 대비 저장 바이트와 절감량을 로그로 남긴다.
+ */
+@Component
+public class CodeBlobMigrationRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CodeBlobMigrationRunner.class);
+
+    private final CodeSubmissionRepository codeSubmissionRepository;
+    private final CodeBlobRepository codeBlobRepository;
+    private final CodeBlobStore codeBlobStore;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public CodeBlobMigrationRunner(CodeSubmissionRepository codeSubmissionRepository,
+                                   CodeBlobRepository codeBlobRepository,
+                                   CodeBlobStore codeBlobStore,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${code.blob.migration-batch-size:200}") int batchSize) {
+        this.codeSubmissionRepository = codeSubmissionRepository;
+        this.codeBlobRepository = codeBlobRepository;
+        this.codeBlobStore = codeBlobStore;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption("code.migrate-blobs")) {
+            migrate();
+        }
+    }
+
+    public long migrate() {
+        long beforeBytes = codeSubmissionRepository.sumLegacyCodeBytes() + codeBlobRepository.sumStoredSize();
+        log.info("⏳ 제출 코드 blob 마이그레이션 시작 (현재 저장 {} bytes)", beforeBytes);
+
+        long migrated = 0;
+        long lastId = 0;
+        while (true) {
+            long afterId = lastId;
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<CodeSubmission> rows = codeSubmissionRepository.findLegacyCodeAfter(afterId, PageRequest.of(0, batchSize));
+                for (CodeSubmission row : rows) {
+                    row.setBlob(codeBlobStore.store(row.getCode()));
+                    row.setCode(null);
+                }
+                return rows.stream().map(CodeSubmission::getId).toList();
+            });
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            migrated += ids.size();
+            lastId = ids.get(ids.size() - 1);
+        }
+
+        long afterBytes = codeSubmissionRepository.sumLegacyCodeBytes() + codeBlobRepository.sumStoredSize();
+        long saved = beforeBytes - afterBytes;
+        log.info("✅ 제출 코드 blob 마이그레이션 완료 (rows={}, blobs={}, {} → {} bytes, 절감 {} bytes, {}%)",
+                migrated, codeBlobRepository.count(), beforeBytes, afterBytes, saved,
+                beforeBytes == 0 ? 0 : Math.round(saved * 1000.0 / beforeBytes) / 10.0);
+        return saved;
+    }
+}
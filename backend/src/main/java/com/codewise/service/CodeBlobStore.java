@@ -0,0 +1,124 @@
+package com.codewise.service;
+
+import com.codewise.domain.CodeBlob;
+import com.codewise.domain.CodeSubmission;
+import com.codewise.repository.CodeBlobRepository;
+import com.codewise.util.CodeHashUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 제출 코드 내용 주소 저장소 (content-addressed)
+ * - 코드 원문 SHA-256 을 키로 code_blob 에 한 번만 저장 → 같은 코드를 여러 번 제출해도 본문은 한 벌
+ * - compressThreshold 바이트 이상이면 Deflate 로 압축 (압축본이 더 작을 때만)
+ * - 제출 행은 blob 을 LAZY 로 참조하므로 본문은 text() 로 실제로 필요할 때만 읽고 압축을 푼다
+ * - blob 이 없는 기존 행은 code 컬럼의 원문을 그대로 사용 (CodeBlobMigrationRunner 로 옮길 수 있음)
+ * - 제출을 지울 때(탈퇴 정리 / 코드 삭제) 더 이상 참조되지 않는 blob 은 deleteUnreferenced 로 함께 지움
+ */
+@Service
+public class CodeBlobStore {
+
+    static final String NONE = "NONE";
+    static final String DEFLATE = "DEFLATE";
+
+    private final CodeBlobRepository codeBlobRepository;
+    private final int compressThreshold;
+
+    public CodeBlobStore(CodeBlobRepository codeBlobRepository,
+                         @Value("${code.blob.compress-threshold:512}") int compressThreshold) {
+        this.codeBlobRepository = codeBlobRepository;
+        this.compressThreshold = compressThreshold;
+    }
+
+    // 본문을 저장(이미 있으면 재사용)하고 제출 행에 연결할 참조를 반환
+    @Transactional
+    public CodeBlob store(String code) {
+        String text = code != null ? code : "";
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        String hash = CodeHashUtil.sha256Hex(text);
+
+        byte[] stored = raw;
+        String compression = NONE;
+        if (raw.length >= compressThreshold) {
+            byte[] deflated = deflate(raw);
+            if (deflated.length < raw.length) {
+                stored = deflated;
+                compression = DEFLATE;
+            }
+        }
+        codeBlobRepository.insertIfAbsent(hash, compression, stored, raw.length, stored.length, LocalDateTime.now());
+        return codeBlobRepository.getReferenceById(hash);   // SELECT 없이 FK 참조만
+    }
+
+    // 제출 삭제 뒤 호출: 주어진 hash 중 남은 제출이 참조하지 않는 blob 삭제, 지운 blob 수 반환
+    @Transactional
+    public int deleteUnreferenced(Collection<String> hashes) {
+        if (hashes.isEmpty()) {
+            return 0;
+        }
+        return codeBlobRepository.deleteUnreferenced(hashes);
+    }
+
+    // 제출 코드 원문 (blob 이 있으면 이때 처음 읽고 압축 해제)
+    // 제출 행의 blob 참조는 프록시일 수 있어 해시(id)로 다시 조회 → 세션 밖(STOMP/리액터 스레드)에서 불러도 동작
+    public String text(CodeSubmission submission) {
+        CodeBlob reference = submission.getBlob();
+        if (reference == null) {
+            return submission.getCode();
+        }
+        CodeBlob blob = codeBlobRepository.findById(reference.getHash())
+                .orElseThrow(() -> new IllegalStateException("코드 blob 을 찾을 수 없습니다: " + reference.getHash()));
+        byte[] content = blob.getContent();
+        byte[] raw = DEFLATE.equals(blob.getCompression()) ? inflate(content, blob.getOriginalSize()) : content;
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed, int originalSize) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[originalSize];
+            int length = 0;
+            while (length < originalSize && !inflater.finished()) {
+                int read = inflater.inflate(raw, length, originalSize - length);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += read;
+            }
+            if (length != originalSize) {
+                throw new IllegalStateException("코드 blob 압축 해제 크기가 맞지 않습니다.");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("코드 blob 압축 해제 실패", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -1,59 +1,84 @@
 package com.codewise.service;
 
+import com.codewise.config.ReadYourWritesWindow;
 import com.codewise.domain.CodeSubmission;
 import com.codewise.domain.User;
 import com.codewise.dto.CodeSubmissionDto;
+import com.codewise.dto.CursorPage;
 import com.codewise.exception.CustomException;
 import com.codewise.repository.CodeSubmissionRepository;
 import com.codewise.repository.UserRepository;
+import com.codewise.util.KeysetCursor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class CodeSubmissionService {
 
     private final CodeSubmissionRepository codeSubmissionRepository;
     private final UserRepository userRepository;
+    private final CodeBlobStore codeBlobStore;
+    private final ReadYourWritesWindow readYourWritesWindow;
 
     public CodeSubmissionService(CodeSubmissionRepository codeSubmissionRepository,
-                                 UserRepository userRepository) {
+                                 UserRepository userRepository,
+                                 CodeBlobStore codeBlobStore,
+                                 ReadYourWritesWindow readYourWritesWindow) {
         this.codeSubmissionRepository = codeSubmissionRepository;
         this.userRepository = userRepository;
+        this.codeBlobStore = codeBlobStore;
+        this.readYourWritesWindow = readYourWritesWindow;
     }
 
-    // userId 기반 코드 제출
+    // userId 기반 코드 제출 (본문은 code_blob 에 중복 없이 저장)
+    @Transactional
     public void submitCode(Long userId, CodeSubmissionDto dto) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자 없음"));
 
         CodeSubmission submission = CodeSubmission.builder()
                 .user(user)
-                .code(dto.getCode())
+                .blob(codeBlobStore.store(dto.getCode()))
                 .language(dto.getLanguage())
                 .submittedAt(LocalDateTime.now())
                 .build();
 
         codeSubmissionRepository.save(submission);
+        readYourWritesWindow.markWrite(user.getEmail());   // 커밋 직후 목록 조회는 primary 에서
     }
 
+    // 코드 본문은 여기서만 읽고 압축을 풂 (목록 조회는 본문을 읽지 않음)
+    @Transactional(readOnly = true)
     public CodeSubmissionDto getCodeById(Long id) {
         CodeSubmission sub = codeSubmissionRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("코드 없음"));
-        return CodeSubmissionDto.fromEntity(sub);
+        return CodeSubmissionDto.fromEntity(sub, codeBlobStore.text(sub));
     }
 
+    // 제출을 지우고, 같은 코드를 쓰는 다른 제출이 없으면 코드 blob 도 삭제
+    @Transactional
     public void deleteCode(Long id) {
+        List<String> hashes = codeSubmissionRepository.findBlobHashesByIdIn(List.of(id));
         codeSubmissionRepository.deleteById(id);
+        codeSubmissionRepository.flush();   // blob 참조 확인(native DELETE) 전에 제출 삭제를 반영
+        codeBlobStore.deleteUnreferenced(hashes);
     }
 
-    // userId 기반 제출 목록 조회
-    public List<CodeSubmissionDto> getSubmissionsByUserId(Long userId) {
+    // userId 기반 제출 목록 조회 (최신순 keyset 페이지, cursor 가 없으면 첫 페이지)
+    @Transactional(readOnly = true)
+    public CursorPage<CodeSubmissionDto> getSubmissionsByUserId(Long userId, String cursor, Integer size) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new CustomException("사용자를 찾을 수 없습니다."));
-        List<CodeSubmission> list = codeSubmissionRepository.findAllByUser(user);
-        return list.stream().map(CodeSubmissionDto::fromEntity).collect(Collectors.toList());
+        KeysetCursor.Key after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        List<CodeSubmissionDto> list = after == null
+                ? codeSubmissionRepository.findDtoFirstPage(user.getId(), KeysetCursor.probe(pageSize))
+                : codeSubmissionRepository.findDtoPageAfter(user.getId(), after.id(), KeysetCursor.probe(pageSize));
+        return KeysetCursor.page(list, pageSize,
+                sub -> new KeysetCursor.Key(null, sub.getId()),
+                sub -> sub);
     }
 }
@@ -0,0 +1,21 @@
+package com.codewise.service;
+
+/**
+ * AI 서버 동시 호출 한도 조절 전략
+ * AiBulkhead 가 요청 1건이 끝날 때마다 측정값(RTT, 과부하 여부)을 넘기면 새 한도를 계산한다.
+ * 호출은 AiBulkhead 의 lock 안에서 이루어지므로 구현체는 별도 동기화가 필요 없다.
+ */
+public interface ConcurrencyLimitStrategy {
+
+    // 시작 시 동시 호출 한도
+    int initialLimit();
+
+    /**
+     * @param currentLimit 현재 한도
+     * @param rttNanos     AI 서버 왕복 시간 (허가 획득 ~ 응답 완료)
+     * @param inFlight     이 요청을 포함한 현재 진행 중 요청 수
+     * @param dropped      상류 과부하 신호(타임아웃, 5xx, 429)로 끝났는지 여부 (그 밖의 4xx 는 false)
+     * @return 새 동시 호출 한도 (1 이상)
+     */
+    int onSample(int currentLimit, long rttNanos, int inFlight, boolean dropped);
+}
@@ -15,9 +15,11 @@ import java.util.Optional;
 public class CustomOAuth2UserService extends DefaultOAuth2UserService {
 
     private final UserRepository userRepository;
+    private final UserCacheEvictor userCacheEvictor;
 
-    public CustomOAuth2UserService(UserRepository userRepository) {
+    public CustomOAuth2UserService(UserRepository userRepository, UserCacheEvictor userCacheEvictor) {
         this.userRepository = userRepository;
+        this.userCacheEvictor = userCacheEvictor;
     }
 
     @Override
@@ -49,6 +51,7 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
             if (user.getEmail() == null || !user.getEmail().equals(email)) {
                 user.setEmail(email);
                 userRepository.save(user);
+                userCacheEvictor.evict(user.getId());   // 바뀐 email 로 바로 조회되도록 사용자 캐시 제거
             }
         }
 
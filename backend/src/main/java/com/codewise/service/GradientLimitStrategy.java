@@ -0,0 +1,61 @@
+package com.codewise.service;
+
+/**
+ * Gradient 전략 (장기 평균 RTT 대비 현재 RTT 비율로 한도 조절)
+ * - gradient = clamp(tolerance × longRtt / rtt, 0.5, 1.0)
+ * - newLimit = limit × gradient + √limit (대기 여유분)
+ * - 급격한 변화를 막기 위해 smoothing 비율만큼만 반영
+ * AI 서버의 기본 지연 자체가 바뀌어도(모델 부하, 오토스케일링) longRtt 가 따라가므로 고정 임계값이 필요 없다.
+ */
+public class GradientLimitStrategy implements ConcurrencyLimitStrategy {
+
+    private static final double LONG_RTT_ALPHA = 0.05; // 장기 RTT 지수 이동 평균 가중치
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+
+    private double longRttNanos;
+    private double estimatedLimit;
+
+    public GradientLimitStrategy(int initialLimit, int minLimit, int maxLimit,
+                                 double tolerance, double smoothing) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.initialLimit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.tolerance = Math.max(1.0, tolerance);
+        this.smoothing = Math.min(1.0, Math.max(0.01, smoothing));
+        this.estimatedLimit = this.initialLimit;
+    }
+
+    @Override
+    public int initialLimit() {
+        return initialLimit;
+    }
+
+    @Override
+    public int onSample(int currentLimit, long rttNanos, int inFlight, boolean dropped) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos = longRttNanos * (1 - LONG_RTT_ALPHA) + rttNanos * LONG_RTT_ALPHA;
+        }
+
+        double newLimit;
+        if (dropped) {
+            newLimit = estimatedLimit / 2;
+        } else if (inFlight * 2 < estimatedLimit) {
+            // 한도를 충분히 사용하지 않는 동안에는 측정값이 한도를 대표하지 못하므로 유지
+            return currentLimit;
+        } else {
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / Math.max(1, rttNanos)));
+            newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        }
+
+        estimatedLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+        return (int) estimatedLimit;
+    }
+}
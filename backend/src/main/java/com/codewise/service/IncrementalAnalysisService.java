@@ -0,0 +1,245 @@
+package com.codewise.service;
+
+import com.codewise.domain.CodeSubmission;
+import com.codewise.dto.AnalyzeRequest;
+import com.codewise.repository.CodeSubmissionRepository;
+import com.codewise.service.ChunkedAnalysisService.ChunkResult;
+import com.codewise.util.CodeChunker;
+import com.codewise.util.CodeChunker.CodeChunk;
+import com.codewise.util.CodeHashUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+/**
+ * 재제출 코드 증분 분석
+ * - 같은 사용자의 직전 CodeSubmission(같은 fileName, 없으면 같은 언어)과 영역(region) 단위로 비교
+ * - 직전 제출에도 그대로 있던 영역은 저장해 둔 영역별 결과(issues)를 재사용
+ * - 바뀐 영역은 인접한 것끼리 묶어 ChunkedAnalysisService 로 분석하고, 결과를 영역별로 나눠 저장
+ * - 최종 결과는 ChunkedAnalysisService.merge 로 줄 번호를 보정해 병합
+ * 영역만 떼어 분석하면 파일 전체 문맥이 필요한 지적이 빠질 수 있으므로, minLines 미만의 작은 코드는 항상 전체 분석한다.
+ */
+@Service
+public class IncrementalAnalysisService {
+
+    private static final Logger log = LoggerFactory.getLogger(IncrementalAnalysisService.class);
+
+    private final ChunkedAnalysisService chunkedAnalysisService;
+    private final AnalysisCacheService analysisCacheService;
+    private final CodeSubmissionRepository codeSubmissionRepository;
+    private final CodeBlobStore codeBlobStore;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int minLines;
+    private final int maxRegionLines;
+    private final int parallelism;
+    private final Counter sentBytesCounter;     // AI 서버로 보낸 코드 바이트
+    private final Counter reusedBytesCounter;   // 이전 결과를 재사용해 보내지 않은 코드 바이트
+
+    public IncrementalAnalysisService(ChunkedAnalysisService chunkedAnalysisService,
+                                      AnalysisCacheService analysisCacheService,
+                                      CodeSubmissionRepository codeSubmissionRepository,
+                                      CodeBlobStore codeBlobStore,
+                                      ObjectMapper objectMapper,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${ai.incremental.enabled:true}") boolean enabled,
+                                      @Value("${ai.incremental.min-lines:80}") int minLines,
+                                      @Value("${ai.incremental.max-region-lines:120}") int maxRegionLines,
+                                      @Value("${ai.chunk.parallelism:4}") int parallelism) {
+        this.chunkedAnalysisService = chunkedAnalysisService;
+        this.analysisCacheService = analysisCacheService;
+        this.codeSubmissionRepository = codeSubmissionRepository;
+        this.codeBlobStore = codeBlobStore;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.minLines = minLines;
+        this.maxRegionLines = Math.max(1, maxRegionLines);
+        this.parallelism = Math.max(1, parallelism);
+
+        this.sentBytesCounter = Counter.builder("ai.incremental.bytes")
+                .tag("kind", "sent").register(meterRegistry);
+        this.reusedBytesCounter = Counter.builder("ai.incremental.bytes")
+                .tag("kind", "reused").register(meterRegistry);
+    }
+
+    /**
+     * @param email 제출한 사용자 (비로그인 세션이면 세션 id 이므로 직전 제출이 없어 전체 분석과 같아짐)
+     * @return saveNewResult 가 파싱하는 형태의 분석 결과 JSON
+     */
+    public Mono<String> analyze(String email, AnalyzeRequest req) {
+        String code = req.code() != null ? req.code() : "";
+        if (!enabled || email == null || code.lines().count() < minLines) {
+            return chunkedAnalysisService.analyze(req);
+        }
+
+        // 직전 제출 조회 + 영역별 결과 조회는 blocking 이므로 별도 스레드에서
+        return Mono.fromCallable(() -> plan(email, req, code))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(units -> execute(req, units));
+    }
+
+    // 영역을 순서대로 훑어 "재사용 영역" 과 "연속으로 바뀐 영역 묶음" 목록을 만든다
+    private List<Unit> plan(String email, AnalyzeRequest req, String code) {
+        List<CodeChunk> regions = CodeChunker.regions(code, req.language(), maxRegionLines);
+        Set<String> previousKeys = findPreviousCode(email, req)
+                .map(previous -> CodeChunker.regions(previous, req.language(), maxRegionLines).stream()
+                        .map(region -> CodeHashUtil.regionKey(region.code(), req.language()))
+                        .collect(Collectors.toSet()))
+                .orElse(Set.of());
+
+        List<Unit> units = new ArrayList<>();
+        List<CodeChunk> changed = new ArrayList<>();
+        for (CodeChunk region : regions) {
+            String key = CodeHashUtil.regionKey(region.code(), req.language());
+            Optional<JsonNode> stored = previousKeys.contains(key)
+                    ? analysisCacheService.peek(key).map(this::readTree)
+                    : Optional.empty();
+
+            if (stored.isPresent()) {
+                if (!changed.isEmpty()) {
+                    units.add(Unit.changed(changed));
+                    changed = new ArrayList<>();
+                }
+                units.add(new Unit(region, List.of(region), stored.get()));
+            } else {
+                changed.add(region);
+            }
+        }
+        if (!changed.isEmpty()) {
+            units.add(Unit.changed(changed));
+        }
+        return units;
+    }
+
+    private Optional<String> findPreviousCode(String email, AnalyzeRequest req) {
+        Optional<CodeSubmission> previous = req.fileName() != null && !req.fileName().isBlank()
+                ? codeSubmissionRepository.findTopByUser_EmailAndFileNameOrderByIdDesc(email, req.fileName())
+                : codeSubmissionRepository.findTopByUser_EmailAndLanguageOrderByIdDesc(email, req.language());
+        return previous.map(codeBlobStore::text);
+    }
+
+    private Mono<String> execute(AnalyzeRequest req, List<Unit> units) {
+        long sent = 0;
+        long reused = 0;
+        for (Unit unit : units) {
+            long bytes = unit.span().code().getBytes(StandardCharsets.UTF_8).length;
+            if (unit.reused() != null) {
+                reused += bytes;
+            } else {
+                sent += bytes;
+            }
+        }
+        sentBytesCounter.increment(sent);
+        reusedBytesCounter.increment(reused);
+        log.info("🧩 증분 분석 (units={}, sentBytes={}, reusedBytes={}, lang={})",
+                units.size(), sent, reused, req.language());
+
+        return Flux.fromIterable(units)
+                .flatMapSequential(unit -> unit.reused() != null
+                        ? Mono.just(new ChunkResult(unit.span(), unit.reused()))
+                        : analyzeChanged(req, unit), parallelism)
+                .collectList()
+                .map(results -> chunkedAnalysisService.merge(results).toString());
+    }
+
+    private Mono<ChunkResult> analyzeChanged(AnalyzeRequest req, Unit unit) {
+        return chunkedAnalysisService.analyze(new AnalyzeRequest(unit.span().code(), req.language()))
+                .map(this::readTree)
+                .doOnNext(root -> Schedulers.boundedElastic().schedule(
+                        () -> storeRegions(req.language(), unit, root)))
+                .map(root -> new ChunkResult(unit.span(), root));
+    }
+
+    /**
+     * 묶음 분석 결과를 영역별로 나눠 저장 (다음 재제출에서 재사용)
+     * - issues: 줄 번호로 해당 영역에 배정하고 영역 기준 줄 번호로 변환 (줄 번호가 없으면 첫 영역)
+     * - metrics: 묶음 전체 값을 각 영역에 그대로 저장
+     * - summary: 병합 시 중복되지 않도록 묶음의 첫 영역에만 저장
+     */
+    private void storeRegions(String language, Unit unit, JsonNode root) {
+        try {
+            int base = unit.span().startLine();
+            List<ArrayNode> regionIssues = new ArrayList<>();
+            for (int i = 0; i < unit.regions().size(); i++) {
+                regionIssues.add(objectMapper.createArrayNode());
+            }
+
+            for (JsonNode issue : root.path("issues")) {
+                int index = issue.isObject() ? regionIndexOf(unit, ChunkedAnalysisService.firstLine(issue)) : 0;
+                int offset = unit.regions().get(index).startLine() - base;
+                regionIssues.get(index).add(issue.isObject()
+                        ? ChunkedAnalysisService.shiftLines(issue, -offset)
+                        : issue);
+            }
+
+            for (int i = 0; i < unit.regions().size(); i++) {
+                CodeChunk region = unit.regions().get(i);
+                ObjectNode entry = objectMapper.createObjectNode();
+                entry.put("summary", i == 0 ? root.path("summary").asText("") : "");
+                entry.set("metrics", root.path("metrics").isObject()
+                        ? root.get("metrics") : objectMapper.createObjectNode());
+                entry.set("issues", regionIssues.get(i));
+                analysisCacheService.put(CodeHashUtil.regionKey(region.code(), language), language, entry.toString());
+            }
+        } catch (Exception e) {
+            // 저장 실패는 다음 재제출에서 전체를 다시 보내게 될 뿐이므로 경고만 남김
+            log.warn("⚠️ 영역별 분석 결과 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    // 묶음 기준 줄 번호(1부터)가 속한 영역의 index
+    private int regionIndexOf(Unit unit, int line) {
+        if (line < 1) {
+            return 0;
+        }
+        int base = unit.span().startLine();
+        for (int i = unit.regions().size() - 1; i >= 0; i--) {
+            if (line > unit.regions().get(i).startLine() - base) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("AI 응답 JSON 파싱 실패", e);
+        }
+    }
+
+    // span: 원본 기준 위치의 코드, regions: span 을 이루는 영역, reused: 재사용 결과 (바뀐 묶음이면 null)
+    private record Unit(CodeChunk span, List<CodeChunk> regions, JsonNode reused) {
+
+        static Unit changed(List<CodeChunk> regions) {
+            StringJoiner code = new StringJoiner("\n");
+            int lineCount = 0;
+            for (CodeChunk region : regions) {
+                code.add(region.code());
+                lineCount += region.lineCount();
+            }
+            CodeChunk span = new CodeChunk(code.toString(), regions.get(0).startLine(), lineCount);
+            return new Unit(span, List.copyOf(regions), null);
+        }
+    }
+}
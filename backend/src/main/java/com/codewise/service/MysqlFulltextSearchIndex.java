@@ -0,0 +1,324 @@
+package com.codewise.service;
+
+import com.codewise.domain.AnalysisHistory;
+import com.codewise.domain.AnalysisResult;
+import com.codewise.dto.CursorPage;
+import com.codewise.dto.SearchHitDto;
+import com.codewise.util.SearchHighlighter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * MySQL FULLTEXT 기반 검색 인덱스
+ * - analysis_search_doc(source_type, source_id) 에 검색할 본문을 모아 두고 FULLTEXT(ngram) 인덱스로 검색
+ *   (issue 메시지는 결과 문서에만 넣고, HISTORY 문서는 결과 없이 저장한 히스토리 행만 → 같은 메시지가 여러 번 검색되지 않음)
+ *   (ngram 파서라 띄어쓰기 단위가 아닌 한국어 부분 문자열도 일치)
+ * - 관련도는 MATCH ... AGAINST 점수, 같은 점수는 최신 문서 먼저
+ * - 테이블/인덱스는 시작 시 없으면 생성 (JPA 가 FULLTEXT 인덱스를 만들 수 없어 직접 관리)
+ * - MySQL 이 아니면 (H2 테스트 등) 색인/검색을 끄고 빈 결과를 반환
+ */
+@Service
+@ConditionalOnProperty(name = "search.engine", havingValue = "mysql", matchIfMissing = true)
+public class MysqlFulltextSearchIndex implements AnalysisSearchIndex, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(MysqlFulltextSearchIndex.class);
+
+    static final String TYPE_RESULT = "RESULT";
+    static final String TYPE_HISTORY = "HISTORY";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO analysis_search_doc (source_type, source_id, user_id, content, created_at) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE user_id = VALUES(user_id), content = VALUES(content), created_at = VALUES(created_at)";
+
+    private static final String SEARCH_SQL =
+            "SELECT source_type, source_id, content, created_at, " +
+            "       MATCH(content) AGAINST (? IN NATURAL LANGUAGE MODE) AS score " +
+            "FROM analysis_search_doc " +
+            "WHERE user_id = ? AND MATCH(content) AGAINST (? IN NATURAL LANGUAGE MODE) " +
+            "ORDER BY score DESC, created_at DESC, source_id DESC " +
+            "LIMIT ? OFFSET ?";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int snippetLength;
+    private final int maxOffset;
+    private final int rebuildBatchSize;
+    private volatile boolean enabled;
+
+    public MysqlFulltextSearchIndex(DataSource dataSource,
+                                    ObjectMapper objectMapper,
+                                    @Value("${search.snippet-length:160}") int snippetLength,
+                                    @Value("${search.max-offset:1000}") int maxOffset,
+                                    @Value("${search.rebuild-batch-size:500}") int rebuildBatchSize) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.objectMapper = objectMapper;
+        this.snippetLength = snippetLength;
+        this.maxOffset = maxOffset;
+        this.rebuildBatchSize = Math.max(1, rebuildBatchSize);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            if (!"MySQL".equalsIgnoreCase(product)) {
+                log.warn("⚠️ MySQL 이 아니므로 전문 검색 인덱스를 사용하지 않습니다 (db={})", product);
+                return;
+            }
+            jdbcTemplate.execute(
+                    "CREATE TABLE IF NOT EXISTS analysis_search_doc (" +
+                    "  source_type VARCHAR(16) NOT NULL," +
+                    "  source_id BIGINT NOT NULL," +
+                    "  user_id BIGINT NOT NULL," +
+                    "  content MEDIUMTEXT NOT NULL," +
+                    "  created_at DATETIME(6) NULL," +
+                    "  PRIMARY KEY (source_type, source_id)," +
+                    "  KEY idx_search_doc_user (user_id)," +
+                    "  FULLTEXT KEY ft_search_doc_content (content) WITH PARSER ngram" +
+                    ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4");
+            enabled = true;
+            log.info("✅ 전문 검색 인덱스 준비 완료 (analysis_search_doc)");
+        } catch (Exception e) {
+            log.error("❌ 전문 검색 인덱스 초기화 실패", e);
+        }
+    }
+
+    @Override
+    public void indexResult(Long userId, AnalysisResult result, List<String> issueMessages) {
+        if (!enabled || userId == null || result.getId() == null) {
+            return;
+        }
+        String content = resultContent(result.getSummary(), issueMessages);
+        if (content.isBlank()) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(UPSERT_SQL, TYPE_RESULT, result.getId(), userId, content,
+                    timestamp(result.getCreatedAt()));
+        } catch (Exception e) {
+            // 색인 실패로 저장까지 실패시키지 않음 (rebuild 로 복구)
+            log.warn("⚠️ 분석 결과 색인 실패 (resultId={}): {}", result.getId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void indexHistories(List<AnalysisHistory> histories) {
+        if (!enabled) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(histories.size());
+        for (AnalysisHistory history : histories) {
+            if (history.getId() == null || history.getUser() == null || history.getAnalysisResult() != null
+                    || history.getErrorMessage() == null || history.getErrorMessage().isBlank()) {
+                continue;
+            }
+            rows.add(new Object[]{TYPE_HISTORY, history.getId(), history.getUser().getId(),
+                    history.getErrorMessage(), timestamp(history.getCreatedAt())});
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        } catch (Exception e) {
+            log.warn("⚠️ 히스토리 색인 실패 ({}건): {}", rows.size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public CursorPage<SearchHitDto> search(Long userId, String query, String cursor, int size) {
+        if (!enabled || query == null || query.isBlank()) {
+            return new CursorPage<>(List.of(), null);
+        }
+        int offset = decodeOffset(cursor);
+        if (offset > maxOffset) {
+            throw new IllegalArgumentException("검색 결과는 " + maxOffset + "건까지만 넘겨볼 수 있습니다.");
+        }
+        String trimmed = query.trim();
+        List<SearchHitDto> hits = jdbcTemplate.query(SEARCH_SQL,
+                (rs, rowNum) -> {
+                    Timestamp createdAt = rs.getTimestamp("created_at");
+                    return new SearchHitDto(
+                            rs.getString("source_type"),
+                            rs.getLong("source_id"),
+                            rs.getDouble("score"),
+                            SearchHighlighter.snippet(rs.getString("content"), trimmed, snippetLength),
+                            createdAt != null ? createdAt.toLocalDateTime() : null);
+                },
+                trimmed, userId, trimmed, size + 1, offset);
+
+        boolean hasNext = hits.size() > size;
+        List<SearchHitDto> page = hasNext ? hits.subList(0, size) : hits;
+        return new CursorPage<>(List.copyOf(page), hasNext ? encodeOffset(offset + size) : null);
+    }
+
+    @Override
+    public int deleteUserDocuments(Long userId, int limit) {
+        if (!enabled) {
+            return 0;
+        }
+        return jdbcTemplate.update("DELETE FROM analysis_search_doc WHERE user_id = ? LIMIT ?", userId, limit);
+    }
+
+    @Override
+    public void deleteResults(List<Long> resultIds) {
+        deleteDocuments(TYPE_RESULT, resultIds);
+    }
+
+    @Override
+    public void deleteHistories(List<Long> historyIds) {
+        deleteDocuments(TYPE_HISTORY, historyIds);
+    }
+
+    // (source_type, source_id) 기본 키로 한 건씩 배치 삭제
+    private void deleteDocuments(String sourceType, List<Long> sourceIds) {
+        if (!enabled || sourceIds.isEmpty()) {
+            return;
+        }
+        List<Object[]> keys = new ArrayList<>(sourceIds.size());
+        for (Long sourceId : sourceIds) {
+            keys.add(new Object[]{sourceType, sourceId});
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM analysis_search_doc WHERE source_type = ? AND source_id = ?", keys);
+    }
+
+    // 원본 테이블을 id 순으로 batch 단위로 읽어 다시 색인 (검색 문서는 비우고 시작)
+    @Override
+    public long rebuild() {
+        if (!enabled) {
+            log.warn("⚠️ 전문 검색 인덱스가 비활성화되어 재생성하지 않습니다.");
+            return 0;
+        }
+        long startedAt = System.currentTimeMillis();
+        jdbcTemplate.update("DELETE FROM analysis_search_doc");
+
+        long indexed = 0;
+        long lastId = 0;
+        while (true) {
+            List<Object[]> rows = new ArrayList<>();
+            List<Long> ids = new ArrayList<>();
+            jdbcTemplate.query(
+                    "SELECT r.id, s.user_id, r.summary, r.suggestions, r.created_at " +
+                    "FROM analysis_result r JOIN code_submission s ON s.id = r.code_submission_id " +
+                    "WHERE r.id > ? AND s.user_id IS NOT NULL ORDER BY r.id LIMIT ?",
+                    rs -> {
+                        ids.add(rs.getLong("id"));
+                        String content = resultContent(rs.getString("summary"), issueMessages(rs.getString("suggestions")));
+                        if (!content.isBlank()) {
+                            rows.add(new Object[]{TYPE_RESULT, rs.getLong("id"), rs.getLong("user_id"), content,
+                                    rs.getTimestamp("created_at")});
+                        }
+                    },
+                    lastId, rebuildBatchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+            }
+            indexed += rows.size();
+            lastId = ids.get(ids.size() - 1);
+        }
+
+        lastId = 0;
+        while (true) {
+            List<Object[]> rows = new ArrayList<>();
+            jdbcTemplate.query(
+                    "SELECT id, user_id, error_message, created_at FROM analysis_history " +
+                    "WHERE id > ? AND analysis_result_id IS NULL AND error_message IS NOT NULL AND error_message <> '' " +
+                    "ORDER BY id LIMIT ?",
+                    rs -> {
+                        rows.add(new Object[]{TYPE_HISTORY, rs.getLong("id"), rs.getLong("user_id"),
+                                rs.getString("error_message"), rs.getTimestamp("created_at")});
+                    },
+                    lastId, rebuildBatchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+            indexed += rows.size();
+            lastId = (Long) rows.get(rows.size() - 1)[1];
+        }
+
+        log.info("✅ 전문 검색 인덱스 재생성 완료 ({}건, {}ms)", indexed, System.currentTimeMillis() - startedAt);
+        return indexed;
+    }
+
+    // 검색 본문: 요약 + issue 메시지 (줄바꿈 구분)
+    private static String resultContent(String summary, List<String> issueMessages) {
+        StringBuilder content = new StringBuilder(summary != null ? summary : "");
+        if (issueMessages != null) {
+            for (String message : issueMessages) {
+                if (message != null && !message.isBlank()) {
+                    content.append('\n').append(message);
+                }
+            }
+        }
+        return content.toString();
+    }
+
+    // 저장된 suggestions(issues 배열 JSON)에서 message 만 추출
+    private List<String> issueMessages(String suggestions) {
+        List<String> messages = new ArrayList<>();
+        if (suggestions == null || suggestions.isBlank()) {
+            return messages;
+        }
+        try {
+            JsonNode issues = objectMapper.readTree(suggestions);
+            for (JsonNode issue : issues) {
+                String message = issue.path("message").asText("");
+                if (!message.isEmpty()) {
+                    messages.add(message);
+                }
+            }
+        } catch (Exception e) {
+            log.debug("suggestions 파싱 실패, 요약만 색인: {}", e.getMessage());
+        }
+        return messages;
+    }
+
+    private static Timestamp timestamp(LocalDateTime time) {
+        return time != null ? Timestamp.valueOf(time) : null;
+    }
+
+    // 관련도 순 결과는 키가 없어 offset 으로 이어서 조회 (offset 은 토큰 안에 숨김)
+    private static String encodeOffset(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("o" + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int decodeOffset(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith("o")) {
+                throw new IllegalArgumentException();
+            }
+            return Math.max(0, Integer.parseInt(raw.substring(1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 cursor 입니다.");
+        }
+    }
+}
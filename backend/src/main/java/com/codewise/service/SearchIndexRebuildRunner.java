@@ -0,0 +1,33 @@
+package com.codewise.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * 전문 검색 인덱스 재생성 명령
+ * java -jar app.jar --search.rebuild-index (또는 ./gradlew bootRun --args='--search.rebuild-index')
+ * 로 시작하면 기동 직후 인덱스를 원본 테이블에서 다시 만든다.
+ */
+@Component
+public class SearchIndexRebuildRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexRebuildRunner.class);
+
+    private final AnalysisSearchIndex analysisSearchIndex;
+
+    public SearchIndexRebuildRunner(AnalysisSearchIndex analysisSearchIndex) {
+        this.analysisSearchIndex = analysisSearchIndex;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption("search.rebuild-index")) {
+            return;
+        }
+        log.info("⏳ 전문 검색 인덱스 재생성 시작");
+        analysisSearchIndex.rebuild();
+    }
+}
@@ -0,0 +1,21 @@
+package com.codewise.service;
+
+// 고정 한도 전략 (적응형 전략과 비교하기 위한 기준선)
+public class StaticLimitStrategy implements ConcurrencyLimitStrategy {
+
+    private final int limit;
+
+    public StaticLimitStrategy(int limit) {
+        this.limit = Math.max(1, limit);
+    }
+
+    @Override
+    public int initialLimit() {
+        return limit;
+    }
+
+    @Override
+    public int onSample(int currentLimit, long rttNanos, int inFlight, boolean dropped) {
+        return limit;
+    }
+}
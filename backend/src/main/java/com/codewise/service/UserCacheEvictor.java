@@ -0,0 +1,48 @@
+package com.codewise.service;
+
+import com.codewise.domain.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 사용자 2차 캐시 명시적 제거
+ * 엔티티로 수정하면 Hibernate 가 캐시를 갱신하지만, native 쿼리 (탈퇴 계정 삭제) 나 email 변경처럼
+ * natural id 가 바뀌는 경우까지 확실히 하려고 수정/탈퇴/OAuth2 정보 갱신 뒤에 직접 지운다.
+ * natural id 영역은 email 단위 제거 API 가 없어 영역 전체를 비움 (email → id 만 들어 있고 계정 수정은 드묾).
+ */
+@Component
+public class UserCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public UserCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    // 트랜잭션 안이면 커밋 직후 (Hibernate 가 커밋하며 넣은 값까지 지움), 밖이면 바로
+    public void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId);
+                }
+            });
+        } else {
+            evictNow(userId);
+        }
+    }
+
+    private void evictNow(Long userId) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(User.class, userId);
+        cache.evictNaturalIdData(User.class);
+    }
+}
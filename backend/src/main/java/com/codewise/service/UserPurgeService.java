@@ -0,0 +1,233 @@
+package com.codewise.service;
+
+import com.codewise.repository.AnalysisHistoryRepository;
+import com.codewise.repository.AnalysisIssueRepository;
+import com.codewise.repository.AnalysisJobRepository;
+import com.codewise.repository.AnalysisResultRepository;
+import com.codewise.repository.CodeSubmissionRepository;
+import com.codewise.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 탈퇴 계정 백그라운드 정리
+ * UserService.deleteUser 는 계정에 탈퇴 표시만 하고 바로 반환한다 (@SQLRestriction 으로 모든 조회에서 제외).
+ * 실제 행 삭제는 여기서 주기적으로, 테이블마다 chunkSize 개씩 id 를 골라 deleteAllByIdInBatch 로 지운다.
+ * - chunk 마다 별도 트랜잭션 → 잠금은 짧게, 엔티티/코드 본문은 메모리로 읽지 않음
+ * - chunk 사이 pauseMs 만큼 쉬고, 한 번 실행에 최대 maxChunksPerRun 개만 처리 (나머지는 다음 실행에서 이어서)
+ * - 실행은 전용 스레드(user-purge)에서: @Scheduled 는 넘기기만 하므로 chunk 사이 대기가 공용 스케줄러 스레드
+ *   (작업 큐 poll, 캐시 정리 등)를 막지 않음, 이전 실행이 안 끝났으면 이번 주기는 건너뜀
+ * - 삭제 순서는 FK 방향대로: issue → 히스토리 → 검색 문서 → 분석 결과 → 제출(+ 참조가 없어진 코드 blob) → 작업 → 아카이브 파일 → 통계 카운터 + 계정
+ * 진행 상황: user.purge.pending (남은 계정 수), user.purge.rows{table} (지운 행 수), user.purge.users (완료 계정 수)
+ */
+@Service
+public class UserPurgeService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserPurgeService.class);
+    private static final int USERS_PER_RUN = 10;
+
+    private final UserRepository userRepository;
+    private final CodeSubmissionRepository codeSubmissionRepository;
+    private final CodeBlobStore codeBlobStore;
+    private final UserStatService userStatService;
+    private final ArchiveSegmentStore archiveSegmentStore;
+    private final UserCacheEvictor userCacheEvictor;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long pauseMs;
+    private final int maxChunksPerRun;
+
+    private final List<PurgeStep> steps;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService purgeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Counter purgedUsersCounter;
+    private final Counter purgedBlobsCounter;
+    private final Timer chunkTimer;
+
+    // 한 테이블의 삭제 단계: userId → 이번 chunk 에서 지운 행 수
+    private record PurgeStep(String table, Function<Long, Integer> deleteChunk, Counter rowsCounter) {
+    }
+
+    public UserPurgeService(UserRepository userRepository,
+                            AnalysisIssueRepository analysisIssueRepository,
+                            AnalysisHistoryRepository analysisHistoryRepository,
+                            AnalysisResultRepository analysisResultRepository,
+                            CodeSubmissionRepository codeSubmissionRepository,
+                            AnalysisJobRepository analysisJobRepository,
+                            AnalysisSearchIndex analysisSearchIndex,
+                            CodeBlobStore codeBlobStore,
+                            UserStatService userStatService,
+                            ArchiveSegmentStore archiveSegmentStore,
+                            UserCacheEvictor userCacheEvictor,
+                            TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${user.purge.chunk-size:500}") int chunkSize,
+                            @Value("${user.purge.pause-ms:50}") long pauseMs,
+                            @Value("${user.purge.max-chunks-per-run:40}") int maxChunksPerRun) {
+        this.userRepository = userRepository;
+        this.codeSubmissionRepository = codeSubmissionRepository;
+        this.codeBlobStore = codeBlobStore;
+        this.userStatService = userStatService;
+        this.archiveSegmentStore = archiveSegmentStore;
+        this.userCacheEvictor = userCacheEvictor;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.pauseMs = Math.max(0, pauseMs);
+        this.maxChunksPerRun = Math.max(1, maxChunksPerRun);
+
+        this.steps = List.of(
+                step("analysis_issue", meterRegistry, userId -> deleteIds(
+                        analysisIssueRepository.findIdsByUserId(userId, page()), analysisIssueRepository::deleteAllByIdInBatch)),
+                step("analysis_history", meterRegistry, userId -> deleteIds(
+                        analysisHistoryRepository.findIdsByUserId(userId, page()), analysisHistoryRepository::deleteAllByIdInBatch)),
+                step("analysis_search_doc", meterRegistry,
+                        userId -> analysisSearchIndex.deleteUserDocuments(userId, this.chunkSize)),
+                step("analysis_result", meterRegistry, userId -> deleteIds(
+                        analysisResultRepository.findIdsByUserId(userId, page()), analysisResultRepository::deleteAllByIdInBatch)),
+                step("code_submission", meterRegistry, userId -> deleteSubmissions(
+                        codeSubmissionRepository.findIdsByUserId(userId, page()))),
+                step("analysis_job", meterRegistry, userId -> deleteIds(
+                        analysisJobRepository.findIdsByUserEmail(tombstoneEmail(userId), page()),
+                        analysisJobRepository::deleteAllByIdInBatch)));
+
+        Gauge.builder("user.purge.pending", pending, AtomicLong::get)
+                .description("탈퇴 표시 후 아직 삭제가 끝나지 않은 계정 수")
+                .register(meterRegistry);
+        this.purgedUsersCounter = Counter.builder("user.purge.users")
+                .register(meterRegistry);
+        this.purgedBlobsCounter = Counter.builder("user.purge.rows")
+                .tag("table", "code_blob").register(meterRegistry);
+        this.chunkTimer = Timer.builder("user.purge.chunk.duration")
+                .description("삭제 chunk 한 번(트랜잭션 하나)에 걸린 시간")
+                .register(meterRegistry);
+    }
+
+    // 탈퇴 계정 email 자리표시 (unique 제약을 지키면서 원래 email 로 다시 가입/로그인할 수 있게 함)
+    public static String tombstoneEmail(Long userId) {
+        return "deleted-" + userId + "@deleted.invalid";
+    }
+
+    // 공용 스케줄러 스레드에서는 전용 스레드에 넘기기만 함 (실행 중이면 건너뜀)
+    @Scheduled(fixedDelayString = "${user.purge.interval-ms:5000}")
+    public void schedulePurge() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            purgeExecutor.execute(() -> {
+                try {
+                    purgePending();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false);   // 종료 중
+        }
+    }
+
+    public void purgePending() {
+        pending.set(userRepository.countPendingPurge());
+        if (pending.get() == 0) {
+            return;
+        }
+        int budget = maxChunksPerRun;
+        try {
+            for (Long userId : userRepository.findPendingPurgeIds(USERS_PER_RUN)) {
+                budget = purgeUser(userId, budget);
+                if (budget <= 0) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("❌ 탈퇴 계정 정리 중 오류 (다음 실행에서 이어서 진행)", e);
+        }
+        pending.set(userRepository.countPendingPurge());
+    }
+
+    // 종료 시 chunk 사이 대기를 깨워 진행 중인 실행을 멈춤 (지우던 계정은 다음 기동 후 이어서)
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        purgeExecutor.shutdownNow();
+        purgeExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    // 남은 chunk 예산 안에서 한 계정을 정리하고 남은 예산 반환 (0 이면 다음 실행에서 이어서)
+    private int purgeUser(Long userId, int budget) throws InterruptedException {
+        for (PurgeStep step : steps) {
+            int deleted;
+            do {
+                if (budget <= 0) {
+                    return 0;
+                }
+                deleted = chunkTimer.record(() -> transactionTemplate.execute(status -> step.deleteChunk().apply(userId)));
+                budget--;
+                step.rowsCounter().increment(deleted);
+                if (deleted >= chunkSize && pauseMs > 0) {
+                    Thread.sleep(pauseMs);   // 다른 트랜잭션이 잠금/IO 를 쓸 틈을 줌
+                }
+            } while (deleted >= chunkSize);
+        }
+
+        archiveSegmentStore.deleteUser(userId);   // 보관 기간이 지나 아카이브로 옮긴 히스토리 / 결과 세그먼트
+        transactionTemplate.executeWithoutResult(status -> {
+            userStatService.deleteForUser(userId);
+            userRepository.deletePurged(userId);
+            userCacheEvictor.evict(userId);   // native DELETE 는 2차 캐시를 거치지 않음
+        });
+        purgedUsersCounter.increment();
+        log.info("✅ 탈퇴 계정 정리 완료 (userId={})", userId);
+        return budget;
+    }
+
+    private PurgeStep step(String table, MeterRegistry meterRegistry, Function<Long, Integer> deleteChunk) {
+        return new PurgeStep(table, deleteChunk,
+                Counter.builder("user.purge.rows").tag("table", table).register(meterRegistry));
+    }
+
+    private PageRequest page() {
+        return PageRequest.of(0, chunkSize);
+    }
+
+    // 제출 chunk 삭제 후, 그 제출들이 쓰던 코드 blob 중 다른 제출이 참조하지 않는 것도 같은 트랜잭션에서 삭제
+    private int deleteSubmissions(List<Long> ids) {
+        List<String> hashes = ids.isEmpty() ? List.of() : codeSubmissionRepository.findBlobHashesByIdIn(ids);
+        int deleted = deleteIds(ids, codeSubmissionRepository::deleteAllByIdInBatch);
+        purgedBlobsCounter.increment(codeBlobStore.deleteUnreferenced(hashes));
+        return deleted;
+    }
+
+    private static int deleteIds(List<Long> ids, Consumer<List<Long>> deleteInBatch) {
+        if (!ids.isEmpty()) {
+            deleteInBatch.accept(ids);   // DELETE ... WHERE id IN (...) 한 번 (엔티티를 읽지 않음)
+        }
+        return ids.size();
+    }
+}
@@ -5,14 +5,13 @@ import com.codewise.dto.AnalysisResultDto;
 import com.codewise.dto.AnalysisResultFilterRequestDto;
 import com.codewise.dto.SignupRequestDto;
 import com.codewise.exception.CustomException;
-import com.codewise.repository.AnalysisHistoryRepository;
-import com.codewise.repository.AnalysisResultRepository;
-import com.codewise.repository.CodeSubmissionRepository;
+import com.codewise.repository.AnalysisJobRepository;
 import com.codewise.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -21,23 +20,20 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final CodeSubmissionRepository codeSubmissionRepository;
-    private final AnalysisResultRepository analysisResultRepository;
     private final AnalysisResultService analysisResultService;
-    private final AnalysisHistoryRepository analysisHistoryRepository;
+    private final AnalysisJobRepository analysisJobRepository;
+    private final UserCacheEvictor userCacheEvictor;
 
     public UserService(UserRepository userRepository,
                        PasswordEncoder passwordEncoder,
-                       CodeSubmissionRepository codeSubmissionRepository,
-                       AnalysisResultRepository analysisResultRepository,
                        AnalysisResultService analysisResultService,
-                       AnalysisHistoryRepository analysisHistoryRepository) {
+                       AnalysisJobRepository analysisJobRepository,
+                       UserCacheEvictor userCacheEvictor) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
-        this.codeSubmissionRepository = codeSubmissionRepository;
-        this.analysisResultRepository = analysisResultRepository;
         this.analysisResultService = analysisResultService;
-        this.analysisHistoryRepository = analysisHistoryRepository;
+        this.analysisJobRepository = analysisJobRepository;
+        this.userCacheEvictor = userCacheEvictor;
     }
 
     public User getUserInfo(String email) { // 이메일로 사용자 정보를 조회하는 메서드
@@ -45,22 +41,24 @@ public class UserService {
                 .orElseThrow(() -> new IllegalArgumentException("사용자 없음"));
     }
 
+    /**
+     * 회원 탈퇴: 계정에 탈퇴 표시만 하고 바로 반환 (행 몇 개 UPDATE)
+     * - deleted_at 이 설정된 계정은 @SQLRestriction 으로 모든 엔티티 조회에서 빠짐 → 로그인/토큰 검증/조회 불가
+     * - email 은 자리표시 값으로 바꿔 같은 email 로 다시 가입할 수 있게 하고, 작업 큐의 소유자 key 도 함께 바꿈
+     * - 히스토리 / 분석 결과 / 제출 등 실제 행 삭제는 UserPurgeService 가 chunk 단위로 나중에 처리
+     */
     @Transactional
     public void deleteUser(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("사용자 없음"));
 
-        // 0. 분석 이력 (AnalysisHistory) 먼저 삭제
-        analysisHistoryRepository.deleteAllByUser(user);
-
-        // 1. 분석 결과 먼저 삭제 (연관관계상 AnalysisResult → CodeSubmission 순서)
-        analysisResultRepository.deleteAllByCodeSubmission_User(user);
-
-        // 2. 코드 제출 삭제
-        codeSubmissionRepository.deleteAllByUser(user);
-
-        // 3. 유저 삭제
-        userRepository.delete(user);
+        String tombstone = UserPurgeService.tombstoneEmail(user.getId());
+        user.setDeletedAt(LocalDateTime.now());
+        user.setEmail(tombstone);
+        user.setProviderId(null);   // 같은 Google 계정으로 다시 로그인하면 새 계정 생성
+        userRepository.save(user);
+        analysisJobRepository.reassignUserEmail(email, tombstone);
+        userCacheEvictor.evict(user.getId());   // 커밋 후 이 노드의 사용자 캐시에서 바로 제외
     }
 
     public void updateUser(SignupRequestDto dto, String email) { // 이메일과 DTO 로 사용자 정보를 수정하는 메서드
@@ -74,6 +72,7 @@ public class UserService {
             user.setEmail(dto.getEmail()); // 새 이메일 설정
         }
         userRepository.save(user);  // 변경된 사용자 정보 저장
+        userCacheEvictor.evict(user.getId());   // 사용자 캐시 (email → id 포함) 제거
     }
 
     // 사용자의 분석 이력을 정렬하여 조회하는 메서드
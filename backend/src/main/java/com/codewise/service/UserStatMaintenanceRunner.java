@@ -0,0 +1,39 @@
+package com.codewise.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용자 통계 카운터 관리 명령
+ * --stats.backfill : 히스토리 원본에서 모든 사용자의 카운터를 다시 계산 (카운터 도입 전 데이터 포함)
+ * --stats.verify   : 카운터와 원본 전체 집계를 비교해 어긋난 사용자 수를 로그로 남김
+ * 예) java -jar app.jar --stats.backfill --stats.verify
+ */
+@Component
+public class UserStatMaintenanceRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(UserStatMaintenanceRunner.class);
+
+    private final UserStatService userStatService;
+
+    public UserStatMaintenanceRunner(UserStatService userStatService) {
+        this.userStatService = userStatService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption("stats.backfill")) {
+            log.info("⏳ 사용자 통계 백필 시작");
+            userStatService.backfillAll();
+        }
+        if (args.containsOption("stats.verify")) {
+            int inconsistent = userStatService.verifyAll();
+            if (inconsistent > 0) {
+                log.warn("⚠️ 통계가 어긋난 사용자 {}명 → --stats.backfill 로 다시 계산하세요.", inconsistent);
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.codewise.service;
+
+import com.codewise.domain.AnalysisHistory;
+import com.codewise.domain.StatDimension;
+import com.codewise.domain.UserStatCounter;
+import com.codewise.repository.AnalysisHistoryRepository;
+import com.codewise.repository.UserStatCounterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * 사용자 히스토리 통계 카운터
+ * /user/history/stats 가 요청마다 히스토리 전체를 읽어 groupingBy 하지 않도록,
+ * 히스토리 저장과 같은 트랜잭션에서 (사용자, 기준, 값) 별 건수를 user_stat_counter 에 더해 둔다.
+ * - backfill: 카운터 도입 전 데이터를 원본에서 GROUP BY 로 다시 채움
+ * - verify: 카운터와 원본 전체 집계를 비교해 어긋난 항목 수를 반환 (어긋나면 backfill 로 복구)
+ * 아카이브로 옮긴 히스토리도 카운터에는 그대로 남으므로 backfill / verify 의 원본 = hot 테이블 + 아카이브 세그먼트
+ */
+@Service
+public class UserStatService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserStatService.class);
+
+    private final UserStatCounterRepository userStatCounterRepository;
+    private final AnalysisHistoryRepository analysisHistoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AnalysisArchiveService analysisArchiveService;
+
+    public UserStatService(UserStatCounterRepository userStatCounterRepository,
+                           AnalysisHistoryRepository analysisHistoryRepository,
+                           TransactionTemplate transactionTemplate,
+                           AnalysisArchiveService analysisArchiveService) {
+        this.userStatCounterRepository = userStatCounterRepository;
+        this.analysisHistoryRepository = analysisHistoryRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.analysisArchiveService = analysisArchiveService;
+    }
+
+    private record CounterKey(Long userId, StatDimension dimension, String statKey) {
+    }
+
+    // 저장한 히스토리 행을 (사용자, 기준, 값) 별로 합쳐서 한 번씩만 증가
+    // 키 순서대로 갱신해 동시에 저장하는 트랜잭션끼리 잠금 순서가 엇갈리지 않게 함
+    @Transactional
+    public void record(List<AnalysisHistory> histories) {
+        Map<CounterKey, Long> deltas = new TreeMap<>(Comparator
+                .comparing(CounterKey::userId)
+                .thenComparing(CounterKey::dimension)
+                .thenComparing(CounterKey::statKey));
+        for (AnalysisHistory history : histories) {
+            if (history.getUser() == null || history.getUser().getId() == null) {
+                continue;
+            }
+            Long userId = history.getUser().getId();
+            add(deltas, userId, StatDimension.LANGUAGE, history.getLanguage());
+            add(deltas, userId, StatDimension.PURPOSE, history.getPurpose());
+            add(deltas, userId, StatDimension.ERROR, history.getErrorMessage());
+        }
+        deltas.forEach((key, delta) ->
+                userStatCounterRepository.increment(key.userId(), key.dimension().name(), key.statKey(), delta));
+    }
+
+    private static void add(Map<CounterKey, Long> deltas, Long userId, StatDimension dimension, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        deltas.merge(new CounterKey(userId, dimension, value), 1L, Long::sum);
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserStatCounter> top(Long userId, StatDimension dimension, int limit) {
+        return userStatCounterRepository.findByUserIdAndDimensionOrderByCountDesc(userId, dimension,
+                PageRequest.of(0, limit));
+    }
+
+    @Transactional
+    public void deleteForUser(Long userId) {
+        userStatCounterRepository.deleteAllByUserId(userId);
+    }
+
+    // 한 사용자의 카운터를 원본 히스토리에서 다시 계산
+    @Transactional
+    public void backfill(Long userId) {
+        userStatCounterRepository.deleteAllByUserId(userId);
+        userStatCounterRepository.backfillLanguages(userId);
+        userStatCounterRepository.backfillPurposes(userId);
+        userStatCounterRepository.backfillErrors(userId);
+        analysisArchiveService.countArchivedHistory(userId).forEach((dimension, counts) ->
+                counts.forEach((statKey, count) ->
+                        userStatCounterRepository.increment(userId, dimension.name(), statKey, count)));
+    }
+
+    // 히스토리가 있는 모든 사용자 백필 (사용자마다 별도 트랜잭션)
+    public int backfillAll() {
+        List<Long> userIds = analysisHistoryRepository.findDistinctUserIds();
+        for (Long userId : userIds) {
+            transactionTemplate.executeWithoutResult(status -> backfill(userId));
+        }
+        log.info("✅ 사용자 통계 백필 완료 ({}명)", userIds.size());
+        return userIds.size();
+    }
+
+    // 카운터와 원본 전체 집계가 다른 (기준, 값) 수
+    @Transactional(readOnly = true)
+    public int verify(Long userId) {
+        Map<StatDimension, Map<String, Long>> expected = Map.of(
+                StatDimension.LANGUAGE, toMap(analysisHistoryRepository.countByLanguage(userId)),
+                StatDimension.PURPOSE, toMap(analysisHistoryRepository.countByPurpose(userId)),
+                StatDimension.ERROR, toMap(analysisHistoryRepository.countByErrorMessage(userId)));
+        analysisArchiveService.countArchivedHistory(userId).forEach((dimension, counts) ->
+                counts.forEach((statKey, count) -> expected.get(dimension).merge(statKey, count, Long::sum)));
+
+        Map<StatDimension, Map<String, Long>> actual = new HashMap<>();
+        for (UserStatCounter counter : userStatCounterRepository.findByUserId(userId)) {
+            if (counter.getCount() != 0) {
+                actual.computeIfAbsent(counter.getDimension(), d -> new HashMap<>())
+                        .put(counter.getStatKey(), counter.getCount());
+            }
+        }
+
+        int mismatches = 0;
+        for (StatDimension dimension : StatDimension.values()) {
+            Map<String, Long> want = expected.get(dimension);
+            Map<String, Long> have = actual.getOrDefault(dimension, Map.of());
+            for (Map.Entry<String, Long> entry : want.entrySet()) {
+                if (!Objects.equals(entry.getValue(), have.get(entry.getKey()))) {
+                    mismatches++;
+                }
+            }
+            mismatches += (int) have.keySet().stream().filter(key -> !want.containsKey(key)).count();
+        }
+        if (mismatches > 0) {
+            log.warn("⚠️ 사용자 통계 불일치 (userId={}, mismatches={})", userId, mismatches);
+        }
+        return mismatches;
+    }
+
+    // 모든 사용자 검사, 어긋난 사용자 수 반환
+    public int verifyAll() {
+        List<Long> userIds = analysisHistoryRepository.findDistinctUserIds();
+        int inconsistentUsers = 0;
+        for (Long userId : userIds) {
+            if (verify(userId) > 0) {
+                inconsistentUsers++;
+            }
+        }
+        log.info("✅ 사용자 통계 정합성 검사 완료 (users={}, inconsistent={})", userIds.size(), inconsistentUsers);
+        return inconsistentUsers;
+    }
+
+    private static Map<String, Long> toMap(List<Object[]> rows) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.merge((String) row[0], ((Number) row[1]).longValue(), Long::sum);
+        }
+        return counts;
+    }
+}
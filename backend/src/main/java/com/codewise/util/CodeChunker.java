@@ -0,0 +1,148 @@
+package com.codewise.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public final class CodeChunker {
+    // 큰 소스 코드를 함수/클래스 경계 기준으로 여러 조각(chunk)으로 나누는 유틸리티
+
+    private static final Pattern PYTHON_DEFINITION = Pattern.compile("^(@|def\\s|async\\s+def\\s|class\\s)");
+    private static final Pattern CONTINUATION = Pattern.compile("^(}|\\)|\\]|\\.|else\\b|catch\\b|finally\\b|except\\b|elif\\b)");
+    private static final Pattern LEADING_DECORATION = Pattern.compile("^(@|//|/\\*|\\*|#)");
+
+    // 메서드가 클래스 안(중괄호 깊이 1)에 선언되는 언어
+    private static final Set<String> CLASS_MEMBER_LANGUAGES = Set.of("java", "kotlin", "csharp", "c#", "scala");
+
+    private CodeChunker() {
+    }
+
+    /**
+     * @param code        원본 코드
+     * @param language    언어 (python 은 들여쓰기, 그 외는 중괄호 깊이로 경계 판단)
+     * @param targetLines 한 조각의 목표 줄 수 (경계를 찾지 못하면 2배에서 강제로 자름)
+     * @return 원본 줄 순서대로 나뉜 조각 목록 (startLine 은 0부터 시작하는 원본 기준 줄 오프셋)
+     */
+    public static List<CodeChunk> split(String code, String language, int targetLines) {
+        return split(code, language, targetLines, targetLines * 2);
+    }
+
+    /**
+     * 모든 함수/클래스 경계에서 자른 영역(region) 목록 (maxLines 를 넘는 영역만 강제로 자름)
+     * 자르는 위치가 앞쪽 영역의 길이에 영향을 받지 않으므로, 한 곳을 수정해도 나머지 영역의 내용은 그대로 유지된다.
+     */
+    public static List<CodeChunk> regions(String code, String language, int maxLines) {
+        return split(code, language, 1, maxLines);
+    }
+
+    private static List<CodeChunk> split(String code, String language, int minLines, int maxLines) {
+        String[] lines = code.replace("\r\n", "\n").replace('\r', '\n').split("\n", -1);
+        List<CodeChunk> chunks = new ArrayList<>();
+        if (lines.length <= minLines) {
+            chunks.add(new CodeChunk(String.join("\n", lines), 0, lines.length));
+            return chunks;
+        }
+
+        String lang = CodeHashUtil.normalizeLanguage(language);
+        boolean[] boundary = "python".equals(lang) || "py".equals(lang)
+                ? pythonBoundaries(lines)
+                : braceBoundaries(lines, CLASS_MEMBER_LANGUAGES.contains(lang) ? 1 : 0);
+
+        int start = 0;
+        for (int i = 1; i < lines.length; i++) {
+            int size = i - start;
+            boolean cut = (size >= minLines && boundary[i] && !attachedToPrevious(lines, boundary, i))
+                    || size >= maxLines;
+            if (!cut) {
+                continue;
+            }
+            int cutAt = i;
+            // 어노테이션/주석/데코레이터는 뒤따르는 선언과 같은 조각에 두기
+            while (boundary[i] && cutAt - 1 > start && LEADING_DECORATION.matcher(lines[cutAt - 1].strip()).find()) {
+                cutAt--;
+            }
+            if (cutAt == i || cutAt > start) {
+                chunks.add(chunk(lines, start, cutAt));
+                start = cutAt;
+            }
+        }
+        chunks.add(chunk(lines, start, lines.length));
+        return chunks;
+    }
+
+    // 바로 윗줄이 경계이면서 주석/어노테이션이면 그 줄과 같은 선언에 속하므로 따로 자르지 않음
+    private static boolean attachedToPrevious(String[] lines, boolean[] boundary, int i) {
+        return boundary[i - 1] && LEADING_DECORATION.matcher(lines[i - 1].strip()).find();
+    }
+
+    private static CodeChunk chunk(String[] lines, int from, int to) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                sb.append('\n');
+            }
+            sb.append(lines[i]);
+        }
+        return new CodeChunk(sb.toString(), from, to - from);
+    }
+
+    // Python: 0열에서 시작하는 def / class / 데코레이터 (연속된 데코레이터의 첫 줄만)
+    private static boolean[] pythonBoundaries(String[] lines) {
+        boolean[] boundary = new boolean[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            boolean definition = PYTHON_DEFINITION.matcher(lines[i]).find();
+            boolean afterDecorator = i > 0 && lines[i - 1].startsWith("@");
+            boundary[i] = definition && !afterDecorator;
+        }
+        return boundary;
+    }
+
+    // 중괄호 언어: 줄 시작 시점의 깊이가 level 이하이고, 앞 블록의 연속(else, catch, 닫는 괄호 등)이 아닌 줄
+    private static boolean[] braceBoundaries(String[] lines, int level) {
+        boolean[] boundary = new boolean[lines.length];
+        int depth = 0;
+        boolean inBlockComment = false;
+
+        for (int i = 0; i < lines.length; i++) {
+            String trimmed = lines[i].strip();
+            boundary[i] = depth <= level && !trimmed.isEmpty() && !inBlockComment
+                    && !CONTINUATION.matcher(trimmed).find();
+
+            // 문자열/주석 안의 중괄호는 무시하고 깊이 계산
+            String line = lines[i];
+            char quote = 0;
+            for (int c = 0; c < line.length(); c++) {
+                char ch = line.charAt(c);
+                char next = c + 1 < line.length() ? line.charAt(c + 1) : 0;
+                if (inBlockComment) {
+                    if (ch == '*' && next == '/') {
+                        inBlockComment = false;
+                        c++;
+                    }
+                } else if (quote != 0) {
+                    if (ch == '\\') {
+                        c++;
+                    } else if (ch == quote) {
+                        quote = 0;
+                    }
+                } else if (ch == '/' && next == '/') {
+                    break;
+                } else if (ch == '/' && next == '*') {
+                    inBlockComment = true;
+                    c++;
+                } else if (ch == '"' || ch == '\'' || ch == '`') {
+                    quote = ch;
+                } else if (ch == '{') {
+                    depth++;
+                } else if (ch == '}') {
+                    depth = Math.max(0, depth - 1);
+                }
+            }
+        }
+        return boundary;
+    }
+
+    public record CodeChunk(String code, int startLine, int lineCount) {
+    }
+}
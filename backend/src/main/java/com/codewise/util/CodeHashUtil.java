@@ -0,0 +1,122 @@
+package com.codewise.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+public final class CodeHashUtil {
+    // 코드 정규화 및 SHA-256 해시 계산 기능 제공 (분석 캐시 키 생성용)
+
+    private CodeHashUtil() {
+    }
+
+    // 분석 캐시 키 = SHA-256(정규화된 언어 + 정규화된 코드)
+    public static String analysisKey(String code, String language) {
+        return sha256Hex(normalizeLanguage(language) + "\n" + normalize(code));
+    }
+
+    // 증분 분석용 영역(region) 결과 키 (전체 분석 결과 키와 겹치지 않도록 접두어 구분)
+    public static String regionKey(String code, String language) {
+        return sha256Hex("region\n" + normalizeLanguage(language) + "\n" + normalize(code));
+    }
+
+    // 언어 값 정규화 (null/공백 → "auto", 대소문자 무시)
+    public static String normalizeLanguage(String language) {
+        if (language == null || language.isBlank()) {
+            return "auto";
+        }
+        return language.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 코드 정규화
+     * - 줄바꿈(CRLF, CR)을 LF 로 통일
+     * - 각 줄의 끝 공백 제거, 줄 내부의 연속 공백/탭은 공백 하나로 축약
+     * - 파일 끝의 빈 줄 제거
+     * 들여쓰기(줄 앞 공백)는 Python 등에서 의미가 있으므로 유지하고,
+     * 중간의 빈 줄도 남겨서 캐시된 issues 의 줄 번호가 어긋나지 않도록 한다.
+     * 문자열 리터럴 ("...", '...', `...`, 여러 줄 """...""" / '''...''') 안의 공백은 값의 일부이므로 그대로 둔다
+     * (리터럴 안 공백만 다른 두 코드가 같은 캐시 키를 갖지 않도록).
+     */
+    public static String normalize(String code) {
+        if (code == null) {
+            return "";
+        }
+        String[] lines = code.replace("\r\n", "\n").replace('\r', '\n').split("\n", -1);
+
+        int last = lines.length - 1;
+        while (last >= 0 && lines[last].isBlank()) {
+            last--;
+        }
+
+        StringBuilder sb = new StringBuilder(code.length());
+        String closer = null;   // 열려 있는 리터럴의 닫는 따옴표 (여러 줄 리터럴이면 다음 줄로 이어짐)
+        for (int i = 0; i <= last; i++) {
+            String line = lines[i];
+            int pos = 0;
+            if (closer == null && line.isBlank()) {
+                line = "";   // 공백만 있는 줄은 빈 줄로
+            }
+            if (closer == null) {
+                while (pos < line.length() && (line.charAt(pos) == ' ' || line.charAt(pos) == '\t')) {
+                    pos++;
+                }
+                sb.append(line, 0, pos);   // 들여쓰기 유지
+            }
+            boolean pendingSpace = false;
+            while (pos < line.length()) {
+                char c = line.charAt(pos);
+                if (closer != null) {
+                    if (c == '\\' && pos + 1 < line.length()) {
+                        sb.append(c).append(line.charAt(pos + 1));
+                        pos += 2;
+                    } else if (line.startsWith(closer, pos)) {
+                        sb.append(closer);
+                        pos += closer.length();
+                        closer = null;
+                    } else {
+                        sb.append(c);
+                        pos++;
+                    }
+                    continue;
+                }
+                if (c == ' ' || c == '\t') {
+                    pendingSpace = true;   // 연속 공백은 다음 글자가 나올 때 하나로, 줄 끝이면 버림
+                    pos++;
+                    continue;
+                }
+                if (pendingSpace) {
+                    sb.append(' ');
+                    pendingSpace = false;
+                }
+                if (c == '"' || c == '\'' || c == '`') {
+                    String triple = String.valueOf(c).repeat(3);
+                    closer = c != '`' && line.startsWith(triple, pos) ? triple : String.valueOf(c);
+                    sb.append(closer);
+                    pos += closer.length();
+                    continue;
+                }
+                sb.append(c);
+                pos++;
+            }
+            if (closer != null && closer.length() == 1 && !"`".equals(closer)) {
+                closer = null;   // 한 줄 문자열은 줄 끝에서 닫힌 것으로 봄 (닫히지 않은 따옴표가 다음 줄까지 번지지 않도록)
+            }
+            if (i < last) {
+                sb.append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    public static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -1,20 +1,63 @@
 package com.codewise.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
+import io.jsonwebtoken.io.Decoders;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.beans.factory.annotation.Value;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
     // JWT 토큰 생성, 검증 및 사용자 정보 추출 기능 제공
+    // 서명 키 / 파서는 한 번만 만들고, 검증을 통과한 토큰은 exp 까지 캐시 (요청마다 같은 토큰을 다시 파싱/서명 검증하지 않음)
 
-    private final String secretKey;
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;   // 토큰 SHA-256 → 검증된 클레임 (원문 토큰은 보관하지 않음)
 
-    public JwtUtil(@Value("${jwt.secret.key}") String secretKey) {
-        this.secretKey = secretKey;
+    // 서명 검증을 통과한 토큰의 클레임
+    public record VerifiedToken(String email, Instant expiresAt) {
+    }
+
+    public JwtUtil(@Value("${jwt.secret.key}") String secretKey,
+                   @Value("${jwt.cache.max-size:10000}") long cacheMaxSize) {
+        // 기존 signWith(HS256, String) / setSigningKey(String) 과 같은 키 (문자열을 Base64 로 디코딩) → 발급된 토큰 그대로 유효
+        this.signingKey = new SecretKeySpec(Decoders.BASE64.decode(secretKey), SignatureAlgorithm.HS256.getJcaName());
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();   // 스레드 안전, 재사용
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(Math.max(0, cacheMaxSize))
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        long remainingMs = token.expiresAt().toEpochMilli() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));   // 토큰 exp 에 맞춰 만료
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     private final long tokenValidity = 1000 * 60 * 60 * 24; // 24시간
@@ -26,29 +69,48 @@ public class JwtUtil {
                 .claim("email", email) // email 클레임도 함께 저장
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + tokenValidity))
-                .signWith(SignatureAlgorithm.HS256, secretKey)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    // 토큰 유효성 검증
-    public boolean validateToken(String token) {
+    /**
+     * 토큰을 한 번만 파싱 + 서명 검증하고 클레임 반환 (유효하지 않으면 empty)
+     * 검증된 토큰은 exp 시각까지 캐시되어 같은 토큰의 다음 요청은 다이제스트 계산 + 캐시 조회로 끝남.
+     * 실패한 토큰은 캐시하지 않음 (잘못된 토큰으로 캐시를 채울 수 없음).
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
         try {
-            Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token);
-            return true;
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            String email = claims.get("email", String.class);
+            VerifiedToken verified = new VerifiedToken(email != null ? email : claims.getSubject(),
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+            if (verified.expiresAt() != null) {   // exp 없는 토큰은 만료 시점을 모르므로 캐시하지 않음
+                verifiedTokens.put(digest, verified);
+            }
+            return Optional.of(verified);
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
         }
     }
 
-    // 토큰에서 email 꺼내기 (email 필드 우선, 없으면 sub 사용)
-    public String getEmail(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(secretKey)
-                .parseClaimsJws(token)
-                .getBody();
+    // 토큰 유효성 검증
+    public boolean validateToken(String token) {
+        return verify(token).isPresent();
+    }
 
-        String email = claims.get("email", String.class);
-        return (email != null) ? email : claims.getSubject();
+    // 토큰에서 email 꺼내기 (email 필드 우선, 없으면 sub 사용), 유효하지 않으면 JwtException
+    public String getEmail(String token) {
+        return verify(token)
+                .map(VerifiedToken::email)
+                .orElseThrow(() -> new JwtException("유효하지 않은 JWT 토큰입니다."));
     }
 
     // HTTP 요청에서 Bearer 토큰 추출
@@ -59,4 +121,13 @@ public class JwtUtil {
         }
         return null;
     }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
 }
@@ -0,0 +1,100 @@
+package com.codewise.util;
+
+import com.codewise.dto.CursorPage;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * keyset 페이지네이션 커서
+ * 마지막으로 내려준 행의 (createdAt, id) 를 불투명한 토큰으로 인코딩해 두고, 다음 페이지는 그 키보다 작은 행만 조회한다.
+ * OFFSET 과 달리 앞 페이지를 건너뛰느라 읽는 행이 없어서 이력이 수만 건이어도 페이지 조회 비용이 일정하다.
+ */
+public final class KeysetCursor {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private KeysetCursor() {
+    }
+
+    // createdAt 은 id 만으로 정렬하는 목록에서는 null
+    public record Key(LocalDateTime createdAt, Long id) {
+    }
+
+    public static String encode(Key key) {
+        String raw = (key.createdAt() != null ? key.createdAt().toString() : "") + "|" + key.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // cursor 가 없으면 첫 페이지 (null)
+    public static Key decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            String createdAt = raw.substring(0, separator);
+            return new Key(createdAt.isEmpty() ? null : LocalDateTime.parse(createdAt),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 cursor 입니다.");
+        }
+    }
+
+    // 요청한 페이지 크기를 1 ~ MAX_SIZE 로 제한
+    public static int pageSize(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_SIZE;
+        }
+        return Math.max(1, Math.min(requested, MAX_SIZE));
+    }
+
+    // 다음 페이지가 있는지 알기 위해 한 행 더 조회 (LIMIT size + 1)
+    public static Pageable probe(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+
+    // size + 1 개로 조회한 결과를 잘라 페이지로 만들고, 더 있으면 마지막 행의 키로 다음 커서 생성
+    public static <E, T> CursorPage<T> page(List<E> rows, int size, Function<E, Key> keyOf, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? encode(keyOf.apply(pageRows.get(pageRows.size() - 1))) : null;
+        return new CursorPage<>(pageRows.stream().map(mapper).toList(), nextCursor);
+    }
+
+    // 최신순으로 정렬된 hot / cold(아카이브) 목록을 합쳐 앞에서 limit 개 (같은 키는 아직 hot 에 남은 행이므로 hot 쪽만)
+    public static <E> List<E> merge(List<E> hot, List<E> cold, Function<E, Key> keyOf, int limit) {
+        List<E> merged = new ArrayList<>(Math.min(limit, hot.size() + cold.size()));
+        int h = 0;
+        int c = 0;
+        while (merged.size() < limit && (h < hot.size() || c < cold.size())) {
+            if (c >= cold.size()) {
+                merged.add(hot.get(h++));
+            } else if (h >= hot.size()) {
+                merged.add(cold.get(c++));
+            } else {
+                int order = compare(keyOf.apply(hot.get(h)), keyOf.apply(cold.get(c)));
+                if (order == 0) {
+                    c++;
+                } else {
+                    merged.add(order > 0 ? hot.get(h++) : cold.get(c++));
+                }
+            }
+        }
+        return merged;
+    }
+
+    // 더 최근(createdAt, id 가 큰) 키면 양수
+    private static int compare(Key a, Key b) {
+        int order = a.createdAt().compareTo(b.createdAt());
+        return order != 0 ? order : Long.compare(a.id(), b.id());
+    }
+}
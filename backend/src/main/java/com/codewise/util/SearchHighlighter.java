@@ -0,0 +1,100 @@
+package com.codewise.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * 검색 결과 하이라이트
+ * 본문에서 검색어가 처음 나오는 위치 주변을 maxLength 만큼 잘라 snippet 을 만들고,
+ * 검색어와 일치하는 부분(대소문자 무시)을 <em> 으로 감싼다. 나머지 본문은 HTML 이스케이프한다.
+ */
+public final class SearchHighlighter {
+
+    private SearchHighlighter() {
+    }
+
+    public static String snippet(String content, String query, int maxLength) {
+        if (content == null || content.isEmpty()) {
+            return "";
+        }
+        // 긴 검색어부터 맞춰서 겹치는 검색어 중 가장 긴 부분이 강조되도록
+        // (본문을 toLowerCase 한 사본으로 찾으면 'İ' 처럼 길이가 바뀌는 문자 뒤에서 위치가 어긋나므로 regionMatches 로 비교)
+        String[] terms = Arrays.stream(query.split("\\s+"))
+                .filter(term -> !term.isEmpty())
+                .sorted(Comparator.comparingInt(String::length).reversed())
+                .toArray(String[]::new);
+
+        int first = -1;
+        for (String term : terms) {
+            int index = indexOfIgnoreCase(content, term);
+            if (index >= 0 && (first < 0 || index < first)) {
+                first = index;
+            }
+        }
+
+        int start = first < 0 ? 0 : Math.max(0, first - maxLength / 3);
+        int end = Math.min(content.length(), start + maxLength);
+        // 서로게이트 쌍(이모지 등) 가운데서 자르지 않음
+        if (start > 0 && Character.isLowSurrogate(content.charAt(start))) {
+            start--;
+        }
+        if (end < content.length() && Character.isLowSurrogate(content.charAt(end))) {
+            end--;
+        }
+
+        StringBuilder out = new StringBuilder(end - start + 32);
+        if (start > 0) {
+            out.append("…");
+        }
+        int i = start;
+        while (i < end) {
+            String matched = matchAt(content, i, terms);
+            if (matched != null) {
+                int matchEnd = Math.min(end, i + matched.length());
+                out.append("<em>");
+                escape(content, i, matchEnd, out);
+                out.append("</em>");
+                i = matchEnd;
+            } else {
+                escape(content, i, i + 1, out);
+                i++;
+            }
+        }
+        if (end < content.length()) {
+            out.append("…");
+        }
+        return out.toString();
+    }
+
+    private static String matchAt(String content, int offset, String[] terms) {
+        for (String term : terms) {
+            if (content.regionMatches(true, offset, term, 0, term.length())) {
+                return term;
+            }
+        }
+        return null;
+    }
+
+    private static int indexOfIgnoreCase(String content, String term) {
+        for (int i = 0; i + term.length() <= content.length(); i++) {
+            if (content.regionMatches(true, i, term, 0, term.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void escape(String text, int from, int to, StringBuilder out) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
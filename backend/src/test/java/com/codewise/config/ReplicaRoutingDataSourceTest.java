@@ -0,0 +1,188 @@
+package com.codewise.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// H2 인메모리 DB 두 개를 primary / 복제본으로 두고, 각 DB 의 node 테이블 값으로 어느 쪽에서 읽었는지 확인
+// (JDBC 트랜잭션 + JpaTransactionManager, open-in-view 처럼 요청 전체가 EntityManager 하나를 쓰는 경우 포함)
+class ReplicaRoutingDataSourceTest {
+
+    private static final String ME = "me@codewise.com";
+    private static final long WINDOW_MS = 300;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private ReadYourWritesWindow readYourWritesWindow;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTx;
+    private TransactionTemplate readOnlyTx;
+    private EntityManagerFactory entityManagerFactory;
+    private TransactionTemplate jpaWriteTx;
+    private TransactionTemplate jpaReadOnlyTx;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        readYourWritesWindow = new ReadYourWritesWindow(WINDOW_MS, 1000, nanos::get);
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, List.of(replica), readYourWritesWindow, new SimpleMeterRegistry()));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writeTx = new TransactionTemplate(transactionManager);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+
+        entityManagerFactory = entityManagerFactory(dataSource);
+        JpaTransactionManager jpaTransactionManager = new JpaTransactionManager(entityManagerFactory);
+        jpaWriteTx = new TransactionTemplate(jpaTransactionManager);
+        jpaReadOnlyTx = new TransactionTemplate(jpaTransactionManager);
+        jpaReadOnlyTx.setReadOnly(true);
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(ME, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        entityManagerFactory.close();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplicaAndEverythingElseUsesPrimary() {
+        assertThat(readOnlyTx.execute(status -> node())).isEqualTo("replica");
+        assertThat(writeTx.execute(status -> node())).isEqualTo("primary");
+        assertThat(node()).isEqualTo("primary");   // 트랜잭션 밖
+    }
+
+    @Test
+    void ownWriteKeepsReadsOnPrimaryUntilWindowExpires() {
+        writeTx.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO history (message) VALUES ('new')");
+            readYourWritesWindow.markWrite(ME);
+            assertThat(readYourWritesWindow.isPinned(ME)).isFalse();   // 커밋 전에는 아직 아님
+        });
+
+        // 복제본은 아직 따라오지 않은 상태 → primary 에서 읽어야 방금 쓴 행이 보임
+        assertThat(readOnlyTx.execute(status -> historyCount())).isEqualTo(1);
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("other@codewise.com", null));
+        assertThat(readOnlyTx.execute(status -> historyCount())).isZero();   // 다른 사용자는 그대로 복제본
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(ME, null));
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(WINDOW_MS - 1));
+        assertThat(readOnlyTx.execute(status -> node())).isEqualTo("primary");
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertThat(readOnlyTx.execute(status -> node())).isEqualTo("replica");
+    }
+
+    @Test
+    void rolledBackWriteDoesNotPinReads() {
+        writeTx.executeWithoutResult(status -> {
+            readYourWritesWindow.markWrite(ME);
+            status.setRollbackOnly();
+        });
+
+        assertThat(readOnlyTx.execute(status -> node())).isEqualTo("replica");
+    }
+
+    @Test
+    void jpaTransactionsRouteByReadOnly() {
+        assertThat(jpaReadOnlyTx.execute(status -> jpaNode())).isEqualTo("replica");
+        assertThat(jpaWriteTx.execute(status -> jpaNode())).isEqualTo("primary");
+    }
+
+    // open-in-view: 요청 시작 때 연 EntityManager 를 트랜잭션들이 같이 씀 → 연결은 트랜잭션마다 다시 골라야 함
+    @Test
+    void sharedEntityManagerStillRoutesEachTransaction() {
+        EntityManager requestScoped = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(requestScoped));
+        try {
+            assertThat(jpaWriteTx.execute(status -> jpaNode())).isEqualTo("primary");
+            assertThat(jpaReadOnlyTx.execute(status -> jpaNode())).isEqualTo("replica");
+            jpaWriteTx.executeWithoutResult(status -> EntityManagerFactoryUtils
+                    .getTransactionalEntityManager(entityManagerFactory)
+                    .createNativeQuery("INSERT INTO history (message) VALUES ('new')")
+                    .executeUpdate());
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            requestScoped.close();
+        }
+
+        assertThat(new JdbcTemplate(primary).queryForObject("SELECT COUNT(*) FROM history", Integer.class)).isEqualTo(1);
+        assertThat(new JdbcTemplate(replica).queryForObject("SELECT COUNT(*) FROM history", Integer.class)).isZero();
+    }
+
+    private String jpaNode() {
+        return (String) EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory)
+                .createNativeQuery("SELECT name FROM node")
+                .getSingleResult();
+    }
+
+    // 엔티티 없이 native 쿼리만 쓰는 영속성 단위, Hibernate 설정은 운영과 같은 customizer 로
+    private static EntityManagerFactory entityManagerFactory(DataSource dataSource) {
+        Map<String, Object> properties = new HashMap<>();
+        new ReplicaDataSourceConfig().replicaConnectionHandlingCustomizer().customize(properties);
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setPackagesToScan(ReplicaRoutingDataSourceTest.class.getPackageName());
+        factory.setJpaPropertyMap(properties);
+        factory.afterPropertiesSet();
+        return factory.getObject();
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private Integer historyCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM history", Integer.class);
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name + "-" + UUID.randomUUID())
+                .build();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(16))");
+        jdbc.execute("CREATE TABLE history (id BIGINT AUTO_INCREMENT PRIMARY KEY, message VARCHAR(64))");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return database;
+    }
+}
@@ -0,0 +1,121 @@
+package com.codewise.controller;
+
+import com.codewise.config.ReadYourWritesWindow;
+import com.codewise.domain.AnalysisHistory;
+import com.codewise.domain.AnalysisResult;
+import com.codewise.domain.CodeSubmission;
+import com.codewise.domain.User;
+import com.codewise.domain.UserRole;
+import com.codewise.dto.AnalysisHistoryDto;
+import com.codewise.dto.CursorPage;
+import com.codewise.repository.AnalysisHistoryRepository;
+import com.codewise.repository.AnalysisResultRepository;
+import com.codewise.repository.CodeSubmissionRepository;
+import com.codewise.repository.UserRepository;
+import com.codewise.service.AnalysisArchiveService;
+import com.codewise.service.AnalysisHistoryService;
+import com.codewise.service.AnalysisSearchIndex;
+import com.codewise.service.UserStatService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// GET /user/history 응답 직렬화: 결과가 연결된 행도 LAZY 프록시 없이 analysisResultId 로 내려가는지 확인
+@DataJpaTest
+class HistoryControllerSerializationTest {
+
+    private static final String EMAIL = "history@codewise.com";
+
+    @Autowired
+    private AnalysisHistoryRepository analysisHistoryRepository;
+    @Autowired
+    private AnalysisResultRepository analysisResultRepository;
+    @Autowired
+    private CodeSubmissionRepository codeSubmissionRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private HistoryController controller;
+    private Long resultId;
+
+    @BeforeEach
+    void setUp() {
+        User newUser = new User();
+        newUser.setEmail(EMAIL);
+        newUser.setPassword("history");
+        newUser.setRole(UserRole.USER);
+        User user = userRepository.save(newUser);
+
+        LocalDateTime now = LocalDateTime.now();
+        CodeSubmission submission = codeSubmissionRepository.save(CodeSubmission.builder()
+                .user(user)
+                .code("print(1)")
+                .language("python")
+                .submittedAt(now)
+                .build());
+        AnalysisResult result = analysisResultRepository.save(AnalysisResult.builder()
+                .codeSubmission(submission)
+                .summary("summary")
+                .suggestions("[]")
+                .score(80)
+                .createdAt(now)
+                .build());
+        resultId = result.getId();
+        analysisHistoryRepository.save(AnalysisHistory.builder()
+                .user(user).analysisResult(result).language("python").purpose("analysis")
+                .errorType("HIGH").errorMessage("null 참조").createdAt(now.plusSeconds(1)).idempotencyKey("a").build());
+        analysisHistoryRepository.save(AnalysisHistory.builder()
+                .user(user).language("java").purpose("review").createdAt(now).idempotencyKey("b").build());
+        // 영속성 컨텍스트를 비워서 조회한 히스토리의 analysisResult 가 초기화되지 않은 프록시가 되도록
+        entityManager.flush();
+        entityManager.clear();
+
+        AnalysisArchiveService archiveService = mock(AnalysisArchiveService.class);
+        when(archiveService.mergeHistory(any(), anyList(), any(), anyInt())).thenAnswer(invocation -> invocation.getArgument(1));
+        AnalysisHistoryService historyService = new AnalysisHistoryService(analysisHistoryRepository,
+                mock(AnalysisSearchIndex.class), mock(UserStatService.class), mock(ReadYourWritesWindow.class),
+                userRepository, archiveService);
+        controller = new HistoryController(analysisHistoryRepository, userRepository, historyService);
+    }
+
+    @Test
+    void historyWithAttachedResultSerializesResultId() throws Exception {
+        AnalysisHistory loaded = analysisHistoryRepository.findFirstPage(userRepository.findByEmail(EMAIL).orElseThrow(),
+                PageRequest.of(0, 1)).get(0);
+        assertThat(Hibernate.isInitialized(loaded.getAnalysisResult())).isFalse();
+
+        CursorPage<AnalysisHistoryDto> page = controller.getUserHistory(
+                new UsernamePasswordAuthenticationToken(EMAIL, null), null, 10).getBody();
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(page));
+
+        JsonNode items = json.path("items");
+        assertThat(items).hasSize(2);
+        assertThat(items.get(0).path("analysisResultId").asLong()).isEqualTo(resultId);
+        assertThat(items.get(0).path("errorMessage").asText()).isEqualTo("null 참조");
+        assertThat(items.get(1).path("analysisResultId").isNull()).isTrue();
+        // 연관 엔티티(사용자 비밀번호 / 프록시 내부 필드)는 응답에 없음
+        assertThat(items.get(0).has("user")).isFalse();
+        assertThat(items.get(0).has("analysisResult")).isFalse();
+        assertThat(items.get(0).has("hibernateLazyInitializer")).isFalse();
+    }
+}
@@ -0,0 +1,184 @@
+package com.codewise.repository;
+
+import com.codewise.domain.AnalysisResult;
+import com.codewise.domain.CodeSubmission;
+import com.codewise.domain.User;
+import com.codewise.domain.UserRole;
+import com.codewise.dto.AnalysisResultDto;
+import com.codewise.dto.CodeSubmissionDto;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 결과/제출 목록 DTO 를 projection 쿼리 한 번으로 만드는지 Hibernate 통계로 확인 (행마다 추가 SELECT 없음)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class DtoProjectionStatementCountTest {
+
+    private static final int ROWS = 30;
+
+    @Autowired
+    private AnalysisResultRepository analysisResultRepository;
+    @Autowired
+    private CodeSubmissionRepository codeSubmissionRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private DataSource dataSource;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        User newUser = new User();
+        newUser.setEmail("projection@codewise.com");
+        newUser.setPassword("projection");
+        newUser.setRole(UserRole.USER);
+        user = userRepository.save(newUser);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ROWS; i++) {
+            CodeSubmission submission = codeSubmissionRepository.save(CodeSubmission.builder()
+                    .user(user)
+                    .code("x = " + i + "\n".repeat(200))
+                    .language("python")
+                    .submittedAt(now.plusSeconds(i))
+                    .build());
+            analysisResultRepository.save(AnalysisResult.builder()
+                    .codeSubmission(submission)
+                    .summary("summary " + i)
+                    .suggestions("[]")
+                    .score(80)
+                    .createdAt(now.plusSeconds(i))
+                    .build());
+        }
+        // 영속성 컨텍스트를 비워서 실제 조회 시 SQL 이 나가도록
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void resultPageIsOneStatementWithoutLoadingEntities() {
+        List<AnalysisResultDto> page = analysisResultRepository.findFirstPageByUserId(user.getId(), PageRequest.of(0, ROWS));
+
+        assertThat(page).hasSize(ROWS);
+        assertThat(page).allSatisfy(dto -> {
+            assertThat(dto.getSubmissionId()).isNotNull();
+            assertThat(dto.getUserId()).isEqualTo(user.getId());
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void filteredSearchIsOneStatementWithoutLoadingEntities() {
+        List<AnalysisResultDto> results = analysisResultRepository.search(user.getId(), "python", "summary",
+                "date", "desc", ROWS);
+
+        assertThat(results).hasSize(ROWS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    // 정렬 방향을 지정하지 않으면 최신순: LIMIT 이 가장 최근 행을 고름
+    @Test
+    void searchWithoutOrderReturnsNewestFirst() {
+        List<AnalysisResultDto> results = analysisResultRepository.search(user.getId(), null, null, null, null, 5);
+
+        assertThat(results).extracting(AnalysisResultDto::getSummary)
+                .containsExactly("summary 29", "summary 28", "summary 27", "summary 26", "summary 25");
+    }
+
+    // 언어 필터는 analysis_result.language(제출 언어 복제)로 걸림
+    @Test
+    void languageFilterUsesCopiedColumn() {
+        assertThat(analysisResultRepository.search(user.getId(), "python", null, "score", "desc", ROWS)).hasSize(ROWS);
+        assertThat(analysisResultRepository.search(user.getId(), "java", null, "score", "desc", ROWS)).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    // 받는 정렬 기준마다 (user_id, 기준 컬럼, id) 인덱스가 있어야 사용자 구간을 정렬 순서대로 읽고 LIMIT 에서 멈출 수 있음
+    // (H2 와 MySQL 의 실행 계획은 다르므로 스키마에 인덱스가 만들어지는지로 확인)
+    @Test
+    void everySortKeyHasUserScopedIndex() throws Exception {
+        List<List<String>> indexes = resultIndexes();
+
+        List<String> sortColumns = new ArrayList<>();
+        sortColumns.add(column(AnalysisResultQueryRepositoryImpl.sortProperty(null)));
+        AnalysisResultQueryRepositoryImpl.SORT_PROPERTIES.values().forEach(property -> sortColumns.add(column(property)));
+        assertThat(sortColumns).allSatisfy(sortColumn ->
+                assertThat(indexes).anySatisfy(index ->
+                        assertThat(index).startsWith("user_id", sortColumn, "id")));
+        assertThat(indexes).anySatisfy(index ->
+                assertThat(index).startsWith("user_id", "language", "created_at", "id"));
+        // 인덱스가 없는 기준은 생성 시각으로 처리
+        assertThat(AnalysisResultQueryRepositoryImpl.sortProperty("id")).isEqualTo("createdAt");
+    }
+
+    @Test
+    void submissionPageIsOneStatementWithoutLoadingEntities() {
+        List<CodeSubmissionDto> page = codeSubmissionRepository.findDtoFirstPage(user.getId(), PageRequest.of(0, ROWS));
+
+        assertThat(page).hasSize(ROWS);
+        assertThat(page).allSatisfy(dto -> assertThat(dto.getUserId()).isEqualTo(user.getId()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    // 비교용: 엔티티 목록 + fromEntity 는 행마다 제출 SELECT 가 추가로 나감 (N+1)
+    @Test
+    void entityMappingIssuesExtraSelectsPerRow() {
+        List<AnalysisResultDto> dtos = analysisResultRepository.findAllByCodeSubmission_User_Email(user.getEmail())
+                .stream()
+                .map(AnalysisResultDto::fromEntity)
+                .toList();
+
+        assertThat(dtos).hasSize(ROWS);
+        assertThat(statistics.getPrepareStatementCount()).isGreaterThan(ROWS);
+    }
+
+    // analysis_result 인덱스별 컬럼 목록 (순서대로, 소문자)
+    private List<List<String>> resultIndexes() throws Exception {
+        Map<String, List<String>> columns = new TreeMap<>();
+        try (Connection connection = dataSource.getConnection();
+             ResultSet rs = connection.getMetaData().getIndexInfo(null, null, "ANALYSIS_RESULT", false, false)) {
+            while (rs.next()) {
+                if (rs.getString("COLUMN_NAME") != null) {
+                    List<String> index = columns.computeIfAbsent(rs.getString("INDEX_NAME"), name -> new ArrayList<>());
+                    int position = rs.getInt("ORDINAL_POSITION");
+                    while (index.size() < position) {
+                        index.add(null);
+                    }
+                    index.set(position - 1, rs.getString("COLUMN_NAME").toLowerCase());
+                }
+            }
+        }
+        return new ArrayList<>(columns.values());
+    }
+
+    // 엔티티 필드 → 컬럼 (Spring 기본 naming: camelCase → snake_case)
+    private static String column(String property) {
+        return property.replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase();
+    }
+}
@@ -0,0 +1,173 @@
+package com.codewise.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 가짜 시계 + 테스트가 직접 응답시키는 상류 호출로 동시 호출 한도 전략을 결정적으로 시뮬레이션
+class AiBulkheadSimulationTest {
+
+    private static final int CLIENTS = 32;
+    private static final int ROUNDS = 10;
+    private static final long FAST_MS = 20;
+    private static final long SLOW_MS = 300;
+
+    @Test
+    void aimdLimitFollowsUpstreamLatency() {
+        Simulation sim = new Simulation(new AimdLimitStrategy(4, 1, 64, 0.9, 150));
+
+        // 빠른 구간: 응답마다 +1 → 라운드마다 약 2배 (4 → 8 → 16 → 32 → 64) 로 늘어 최대치에서 멈춤
+        sim.runPhase(FAST_MS, null);
+        assertThat(sim.limit()).isEqualTo(64);
+
+        // 느린 구간: 응답마다 ×0.9 → 최소치까지 감소
+        sim.runPhase(SLOW_MS, null);
+        assertThat(sim.limit()).isEqualTo(1);
+
+        // 다시 빨라지면 회복
+        sim.runPhase(FAST_MS, null);
+        assertThat(sim.limit()).isEqualTo(64);
+        assertThat(sim.failed).isZero();
+        assertThat(sim.upstreamPeak).isEqualTo(CLIENTS);
+    }
+
+    @Test
+    void gradientLimitShrinksWhenLatencyRises() {
+        Simulation sim = new Simulation(new GradientLimitStrategy(16, 1, 64, 1.5, 0.2));
+
+        sim.runPhase(FAST_MS, null);
+        int limitAfterFast = sim.limit();
+        sim.runPhase(SLOW_MS, null);
+
+        // gradient 는 느려진 지연을 새 기준으로 다시 학습하므로, 느린 구간 도중 최저값으로 감소 여부와 이후 회복을 확인
+        assertThat(limitAfterFast).isEqualTo(64);
+        assertThat(sim.minLimit).isLessThan(limitAfterFast);
+        assertThat(sim.limit()).isGreaterThan(sim.minLimit);
+    }
+
+    @Test
+    void staticLimitNeverChanges() {
+        Simulation sim = new Simulation(new StaticLimitStrategy(8));
+
+        sim.runPhase(FAST_MS, null);
+        sim.runPhase(SLOW_MS, null);
+        sim.runPhase(FAST_MS, null);
+
+        assertThat(sim.limit()).isEqualTo(8);
+        assertThat(sim.minLimit).isEqualTo(8);
+        assertThat(sim.upstreamPeak).isEqualTo(8);
+        assertThat(sim.completed).isEqualTo(8 * ROUNDS * 3);   // 라운드마다 정확히 한도만큼 응답
+    }
+
+    @Test
+    void aimdIgnoresClientErrors() {
+        Simulation sim = new Simulation(new AimdLimitStrategy(4, 1, 64, 0.9, 150));
+
+        sim.runPhase(FAST_MS, httpError(400));
+
+        assertThat(sim.limit()).isEqualTo(64);
+        assertThat(sim.completed).isZero();
+        assertThat(sim.failed).isPositive();
+    }
+
+    @Test
+    void aimdBacksOffOnOverloadSignals() {
+        for (Throwable overload : List.of(httpError(503), httpError(429), new TimeoutException("upstream"))) {
+            Simulation sim = new Simulation(new AimdLimitStrategy(16, 1, 64, 0.9, 150));
+
+            sim.runPhase(FAST_MS, overload);
+
+            assertThat(sim.limit()).as(overload.toString()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void classifiesOverloadSignals() {
+        assertThat(AiBulkhead.isOverload(httpError(500))).isTrue();
+        assertThat(AiBulkhead.isOverload(httpError(429))).isTrue();
+        assertThat(AiBulkhead.isOverload(new IllegalStateException(new TimeoutException("wrapped")))).isTrue();
+        assertThat(AiBulkhead.isOverload(httpError(400))).isFalse();
+        assertThat(AiBulkhead.isOverload(httpError(404))).isFalse();
+        assertThat(AiBulkhead.isOverload(new IllegalStateException("AI 응답 JSON 파싱 실패"))).isFalse();
+    }
+
+    private static WebClientResponseException httpError(int status) {
+        return WebClientResponseException.create(status, "status " + status, HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * CLIENTS 개의 closed-loop 클라이언트 (응답을 받으면 바로 다음 요청)
+     * 한 라운드 = 가짜 시계를 latency 만큼 진행한 뒤, 그 전에 시작된 상류 호출을 모두 응답시킴
+     * → 모든 샘플의 RTT 가 정확히 latency 이고, 같은 입력이면 항상 같은 한도 변화가 나옴
+     */
+    private static final class Simulation {
+
+        private final AtomicLong clock = new AtomicLong();
+        private final AiBulkhead bulkhead;
+        private List<Sinks.One<String>> started = new ArrayList<>();
+        private int upstreamInFlight;
+        private int upstreamPeak;
+        private int completed;
+        private int failed;
+        private int minLimit;
+
+        private Simulation(ConcurrencyLimitStrategy strategy) {
+            this.bulkhead = new AiBulkhead(strategy, new AnalysisScheduler(new SimpleMeterRegistry(), "", 1.0, 100, 5000),
+                    1000, 1000, new SimpleMeterRegistry(), clock::get);
+            for (int i = 0; i < CLIENTS; i++) {
+                submit();
+            }
+        }
+
+        private void submit() {
+            bulkhead.execute(Mono.defer(() -> {
+                        Sinks.One<String> response = Sinks.one();
+                        started.add(response);
+                        upstreamPeak = Math.max(upstreamPeak, ++upstreamInFlight);
+                        return response.asMono();
+                    }))
+                    .subscribe(body -> {
+                        completed++;
+                        submit();
+                    }, error -> {
+                        failed++;
+                        submit();
+                    });
+        }
+
+        // error 가 null 이면 성공 응답, 아니면 그 오류로 응답
+        private void runPhase(long latencyMs, Throwable error) {
+            minLimit = limit();
+            for (int round = 0; round < ROUNDS; round++) {
+                clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMs));
+                List<Sinks.One<String>> responding = started;
+                started = new ArrayList<>();
+                for (Sinks.One<String> response : responding) {
+                    upstreamInFlight--;
+                    if (error == null) {
+                        response.tryEmitValue("{\"summary\":\"ok\",\"metrics\":{},\"issues\":[]}");
+                    } else {
+                        response.tryEmitError(error);
+                    }
+                    minLimit = Math.min(minLimit, limit());
+                }
+            }
+        }
+
+        private int limit() {
+            return bulkhead.currentLimit();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.codewise.service;
+
+import com.codewise.domain.AnalysisHistory;
+import com.codewise.domain.StatDimension;
+import com.codewise.domain.User;
+import com.codewise.domain.UserRole;
+import com.codewise.dto.ArchivedHistory;
+import com.codewise.repository.AnalysisHistoryRepository;
+import com.codewise.repository.AnalysisIssueRepository;
+import com.codewise.repository.AnalysisResultRepository;
+import com.codewise.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// 보관 파일 기록 후 hot 삭제 전에 멈춰 아카이브와 hot 양쪽에 남은 행이 기간 통계 / 카운터 백필 집계에서 한 번만 세어지는지
+@DataJpaTest
+class AnalysisArchiveServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    @TempDir
+    Path dir;
+
+    @Autowired
+    private AnalysisHistoryRepository analysisHistoryRepository;
+    @Autowired
+    private AnalysisResultRepository analysisResultRepository;
+    @Autowired
+    private AnalysisIssueRepository analysisIssueRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ArchiveSegmentStore archiveSegmentStore;
+    private AnalysisArchiveService archiveService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        User newUser = new User();
+        newUser.setEmail("archive@codewise.com");
+        newUser.setPassword("archive");
+        newUser.setRole(UserRole.USER);
+        user = userRepository.save(newUser);
+
+        archiveSegmentStore = new ArchiveSegmentStore(new ObjectMapper(), dir.toString(), 10);
+        archiveService = new AnalysisArchiveService(archiveSegmentStore, analysisHistoryRepository,
+                analysisResultRepository, analysisIssueRepository, mock(AnalysisSearchIndex.class), userRepository,
+                new TransactionTemplate(transactionManager), new SimpleMeterRegistry(), false, 365, 1000);
+    }
+
+    @Test
+    void rowsInBothArchiveAndHotAreCountedOnce() {
+        // hot 3행 중 앞의 2행은 이미 파일에 기록됨 (hot 삭제 전에 멈춤) + 파일에만 있는 1행
+        List<AnalysisHistory> hot = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            hot.add(analysisHistoryRepository.save(AnalysisHistory.builder()
+                    .user(user).language("java").purpose("analysis").errorMessage("null 참조")
+                    .createdAt(START.plusHours(i)).idempotencyKey(UUID.randomUUID().toString()).build()));
+        }
+        analysisHistoryRepository.flush();
+        List<ArchivedHistory> archived = new ArrayList<>();
+        archived.add(archivedRow(hot.get(2).getId() + 1000, START.minusHours(1)));
+        archived.add(archivedRow(hot.get(0).getId(), START));
+        archived.add(archivedRow(hot.get(1).getId(), START.plusHours(1)));
+        archiveSegmentStore.append(ArchiveSegmentStore.HISTORY, user.getId(), YearMonth.of(2024, 3), archived);
+
+        Map<StatDimension, Map<String, Long>> range = archiveService.countHistory(user.getId(), null, null);
+        assertThat(range.get(StatDimension.LANGUAGE)).containsEntry("java", 4L);
+        assertThat(range.get(StatDimension.ERROR)).containsEntry("null 참조", 4L);
+
+        Map<StatDimension, Map<String, Long>> bounded = archiveService.countHistory(user.getId(),
+                START.minusHours(1), START.plusHours(1));
+        assertThat(bounded.get(StatDimension.LANGUAGE)).containsEntry("java", 2L);
+
+        // 카운터 백필 / 검사는 hot 전체 집계 + 이 값이라 파일에만 있는 행만 들어 있어야 함
+        assertThat(archiveService.countArchivedHistory(user.getId()).get(StatDimension.LANGUAGE))
+                .containsEntry("java", 1L);
+    }
+
+    private ArchivedHistory archivedRow(Long id, LocalDateTime createdAt) {
+        return new ArchivedHistory(id, user.getId(), "java", "analysis", null, "null 참조", null, createdAt);
+    }
+}
@@ -0,0 +1,111 @@
+package com.codewise.service;
+
+import com.codewise.domain.AnalysisCacheEntry;
+import com.codewise.repository.AnalysisCacheRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 2단계 캐시 조회 경로: 메모리 hit / DB hit (메모리로 승격) / TTL 지난 DB 항목은 miss / 전체 miss, 요청 카운터 확인 (peek 은 지표를 남기지 않음)
+class AnalysisCacheServiceTest {
+
+    private static final String KEY = "key";
+    private static final String JSON = "{\"summary\":\"ok\"}";
+
+    private AnalysisCacheRepository repository;
+    private SimpleMeterRegistry meterRegistry;
+    private AnalysisCacheService cacheService;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(AnalysisCacheRepository.class);
+        when(repository.findById(anyString())).thenReturn(Optional.empty());
+        meterRegistry = new SimpleMeterRegistry();
+        cacheService = new AnalysisCacheService(repository, meterRegistry, 100, 60, 1000);
+    }
+
+    @Test
+    void missThenMemoryHitAfterPut() {
+        assertThat(cacheService.get(KEY)).isEmpty();
+
+        cacheService.put(KEY, "java", JSON);
+
+        assertThat(cacheService.get(KEY)).contains(JSON);
+        verify(repository, times(1)).findById(KEY);   // 두 번째 조회는 메모리에서 끝남
+        assertThat(requests("miss", "none")).isEqualTo(1);
+        assertThat(requests("hit", "memory")).isEqualTo(1);
+    }
+
+    @Test
+    void dbHitIsPromotedToMemory() {
+        when(repository.findById(KEY)).thenReturn(Optional.of(entry(LocalDateTime.now().minusMinutes(5))));
+
+        assertThat(cacheService.get(KEY)).contains(JSON);
+        assertThat(cacheService.get(KEY)).contains(JSON);
+
+        verify(repository, times(1)).findById(KEY);
+        verify(repository).touch(eq(KEY), any(LocalDateTime.class));
+        assertThat(requests("hit", "db")).isEqualTo(1);
+        assertThat(requests("hit", "memory")).isEqualTo(1);
+    }
+
+    @Test
+    void expiredDbEntryIsMiss() {
+        when(repository.findById(KEY)).thenReturn(Optional.of(entry(LocalDateTime.now().minusMinutes(61))));
+
+        assertThat(cacheService.get(KEY)).isEmpty();
+
+        verify(repository, never()).touch(anyString(), any(LocalDateTime.class));
+        assertThat(requests("miss", "none")).isEqualTo(1);
+    }
+
+    @Test
+    void dbFailureIsTreatedAsMiss() {
+        when(repository.findById(KEY)).thenThrow(new IllegalStateException("db down"));
+
+        assertThat(cacheService.get(KEY)).isEmpty();
+        assertThat(requests("miss", "none")).isEqualTo(1);
+    }
+
+    @Test
+    void peekRecordsNothing() {
+        when(repository.findById(KEY)).thenReturn(Optional.of(entry(LocalDateTime.now().minusMinutes(5))));
+
+        assertThat(cacheService.peek(KEY)).contains(JSON);
+        assertThat(cacheService.peek("other")).isEmpty();
+        cacheService.put("memory", "java", JSON);
+        assertThat(cacheService.peek("memory")).contains(JSON);
+
+        verify(repository, never()).touch(anyString(), any(LocalDateTime.class));
+        assertThat(requests("hit", "memory") + requests("hit", "db") + requests("miss", "none")).isZero();
+        assertThat(meterRegistry.get("cache.gets")
+                .tag("cache", "ai.analysis.cache.memory").tag("result", "hit").functionCounter().count()).isZero();
+    }
+
+    private double requests(String result, String tier) {
+        return meterRegistry.get("ai.analysis.cache.requests").tag("result", result).tag("tier", tier).counter().count();
+    }
+
+    private static AnalysisCacheEntry entry(LocalDateTime createdAt) {
+        return AnalysisCacheEntry.builder()
+                .cacheKey(KEY)
+                .language("java")
+                .responseJson(JSON)
+                .createdAt(createdAt)
+                .lastAccessedAt(createdAt)
+                .build();
+    }
+}
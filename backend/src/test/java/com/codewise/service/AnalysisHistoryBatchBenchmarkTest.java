@@ -0,0 +1,120 @@
+package com.codewise.service;
+
+import com.codewise.config.PersistenceBatchConfig;
+import com.codewise.config.ReadYourWritesWindow;
+import com.codewise.domain.AnalysisHistory;
+import com.codewise.domain.User;
+import com.codewise.domain.UserRole;
+import com.codewise.repository.AnalysisHistoryRepository;
+import com.codewise.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// issue 50개짜리 분석 결과의 히스토리 저장: 행마다 save (기존) vs 한 트랜잭션 saveAll + JDBC 배치
+// 테스트 전체 트랜잭션을 끄고 (NOT_SUPPORTED) 실제 커밋/flush 횟수로 비교
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({PersistenceBatchConfig.class, ReadYourWritesWindow.class, AnalysisHistoryService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AnalysisHistoryBatchBenchmarkTest {
+
+    private static final int ISSUES = 50;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private AnalysisHistoryRepository analysisHistoryRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AnalysisHistoryService analysisHistoryService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @MockBean
+    private AnalysisSearchIndex analysisSearchIndex;   // MySQL 전용 색인은 측정에서 제외
+    @MockBean
+    private UserStatService userStatService;           // MySQL upsert 카운터도 측정에서 제외
+    @MockBean
+    private AnalysisArchiveService analysisArchiveService;   // 조회 전용 의존성 (저장 경로에서는 쓰지 않음)
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        analysisHistoryRepository.deleteAll();
+        userRepository.deleteAll();
+        User newUser = new User();
+        newUser.setEmail("bench@codewise.com");
+        newUser.setPassword("bench");
+        newUser.setRole(UserRole.USER);
+        user = userRepository.save(newUser);
+    }
+
+    @Test
+    void batchedSaveAllUsesFarFewerStatementsThanPerRowSave() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // 워밍업 (시퀀스 첫 할당이 측정 구간에 섞이지 않도록)
+        for (int i = 0; i < 3; i++) {
+            saveOneByOne();
+            analysisHistoryService.saveAll(histories());
+        }
+
+        statistics.clear();
+        for (int i = 0; i < ROUNDS; i++) {
+            saveOneByOne();
+        }
+        long perRowStatements = statistics.getPrepareStatementCount();
+        long perRowTransactions = statistics.getTransactionCount();
+
+        statistics.clear();
+        for (int i = 0; i < ROUNDS; i++) {
+            analysisHistoryService.saveAll(histories());
+        }
+        long batchedStatements = statistics.getPrepareStatementCount();
+        long batchedTransactions = statistics.getTransactionCount();
+
+        assertThat(analysisHistoryRepository.count()).isEqualTo((long) ISSUES * (ROUNDS + 3) * 2);
+        assertThat(batchedTransactions).isEqualTo(ROUNDS);
+        assertThat(perRowTransactions).isEqualTo((long) ISSUES * ROUNDS);
+        assertThat(batchedStatements * 5).isLessThan(perRowStatements);
+    }
+
+    // 기존 방식: issue 마다 repository.save → 행마다 트랜잭션 하나
+    private void saveOneByOne() {
+        for (AnalysisHistory history : histories()) {
+            analysisHistoryRepository.save(history);
+        }
+    }
+
+    private List<AnalysisHistory> histories() {
+        LocalDateTime now = LocalDateTime.now();
+        List<AnalysisHistory> histories = new ArrayList<>(ISSUES);
+        for (int i = 0; i < ISSUES; i++) {
+            histories.add(AnalysisHistory.builder()
+                    .user(user)
+                    .language("python")
+                    .purpose("analysis")
+                    .errorType(i % 3 == 0 ? "HIGH" : "LOW")
+                    .errorMessage("issue " + i)
+                    .createdAt(now)
+                    .idempotencyKey(UUID.randomUUID().toString())
+                    .build());
+        }
+        return histories;
+    }
+}
@@ -0,0 +1,89 @@
+package com.codewise.service;
+
+import com.codewise.domain.AnalysisJob;
+import com.codewise.domain.JobStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.DefaultUserDestinationResolver;
+import org.springframework.messaging.simp.user.SimpSession;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.messaging.simp.user.UserDestinationResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 작업 완료 알림이 DefaultUserDestinationResolver 를 거쳐 실제로 구독 중인 세션의 /queue/result 로 가는지 (로그인 / 비로그인)
+class AnalysisJobWorkerTest {
+
+    private static final String EMAIL = "job@codewise.com";
+    private static final String LOGGED_IN_SESSION = "session-1";
+    private static final String ANONYMOUS_SESSION = "anon-session";
+
+    private final List<Message<?>> sent = new ArrayList<>();
+    private DefaultUserDestinationResolver resolver;
+    private AnalysisJobWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        SimpSession session = mock(SimpSession.class);
+        when(session.getId()).thenReturn(LOGGED_IN_SESSION);
+        SimpUser user = mock(SimpUser.class);
+        when(user.getName()).thenReturn(EMAIL);
+        when(user.getSessions()).thenReturn(Set.of(session));
+        SimpUserRegistry userRegistry = mock(SimpUserRegistry.class);
+        when(userRegistry.getUser(EMAIL)).thenReturn(user);
+        resolver = new DefaultUserDestinationResolver(userRegistry);
+
+        SimpMessagingTemplate messaging = new SimpMessagingTemplate((message, timeout) -> sent.add(message));
+        worker = new AnalysisJobWorker(mock(AnalysisJobService.class), mock(IncrementalAnalysisService.class),
+                mock(AnalysisResultService.class), mock(AiResponseIngestor.class), messaging, new ObjectMapper(),
+                new SimpleMeterRegistry(), false, 1, 1, 1000, 1000, 3, 1000);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        worker.shutdown();
+    }
+
+    @Test
+    void loggedInJobIsDeliveredToUserSessions() {
+        worker.notifyUser(job(EMAIL, false), JobStatus.DONE, "{\"summary\":\"ok\"}", null);
+
+        // 구독한 세션의 /queue/result-user{세션 id} 로 변환됨
+        assertThat(targets()).containsExactly("/queue/result-user" + LOGGED_IN_SESSION);
+    }
+
+    @Test
+    void anonymousJobIsDeliveredToOwningSession() {
+        worker.notifyUser(job(ANONYMOUS_SESSION, true), JobStatus.FAILED, null, "timeout");
+
+        assertThat(targets()).containsExactly("/queue/result-user" + ANONYMOUS_SESSION);
+    }
+
+    private Set<String> targets() {
+        assertThat(sent).hasSize(1);
+        UserDestinationResult result = resolver.resolveDestination(sent.get(0));
+        assertThat(result).isNotNull();
+        return result.getTargetDestinations();
+    }
+
+    private static AnalysisJob job(String userKey, boolean sessionOwned) {
+        return AnalysisJob.builder()
+                .id(1L)
+                .userEmail(userKey)
+                .sessionOwned(sessionOwned)
+                .status(JobStatus.RUNNING)
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.codewise.service;
+
+import com.codewise.domain.AnalysisPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 대기열 순서: 등급 우선 + aging 으로 아래 등급 기아 방지, 등급 안에서는 사용자별 가중 공정 큐
+class AnalysisSchedulerTest {
+
+    private static final long AGING_MS = 5000;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void higherClassFirstUntilLowerClassAges() {
+        AnalysisScheduler scheduler = scheduler("");
+        scheduler.enqueue("background", AnalysisPriority.BACKGROUND, "a");
+        scheduler.enqueue("interactive-1", AnalysisPriority.INTERACTIVE, "b");
+
+        assertThat(scheduler.poll().item).isEqualTo("interactive-1");
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(AGING_MS - 2000));
+        scheduler.enqueue("standard", AnalysisPriority.STANDARD, "c");
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(2000));
+        scheduler.enqueue("interactive-2", AnalysisPriority.INTERACTIVE, "b");
+
+        // background 는 agingMs 를 채워 새로 들어온 interactive 보다 먼저, standard 는 아직 등급 순서대로
+        assertThat(drain(scheduler)).containsExactly("background", "interactive-2", "standard");
+    }
+
+    @Test
+    void lowerClassWaitsWhileYoungerThanAging() {
+        AnalysisScheduler scheduler = scheduler("");
+        scheduler.enqueue("background", AnalysisPriority.BACKGROUND, "a");
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(AGING_MS - 1));
+        scheduler.enqueue("standard", AnalysisPriority.STANDARD, "b");
+
+        assertThat(drain(scheduler)).containsExactly("standard", "background");
+    }
+
+    @Test
+    void interleavesUsersWithinClass() {
+        AnalysisScheduler scheduler = scheduler("");
+        scheduler.enqueue("a1", AnalysisPriority.STANDARD, "a");
+        scheduler.enqueue("a2", AnalysisPriority.STANDARD, "a");
+        scheduler.enqueue("a3", AnalysisPriority.STANDARD, "a");
+        scheduler.enqueue("b1", AnalysisPriority.STANDARD, "b");
+
+        assertThat(drain(scheduler)).containsExactly("a1", "b1", "a2", "a3");
+    }
+
+    @Test
+    void weightGivesProportionalShare() {
+        AnalysisScheduler scheduler = scheduler("heavy=2");
+        for (int i = 1; i <= 4; i++) {
+            scheduler.enqueue("h" + i, AnalysisPriority.STANDARD, "heavy");
+        }
+        scheduler.enqueue("l1", AnalysisPriority.STANDARD, "light");
+        scheduler.enqueue("l2", AnalysisPriority.STANDARD, "light");
+
+        assertThat(drain(scheduler)).containsExactly("h1", "h2", "l1", "h3", "h4", "l2");
+    }
+
+    @Test
+    void shedsNewestOfLowestClass() {
+        AnalysisScheduler scheduler = scheduler("");
+        scheduler.enqueue("standard", AnalysisPriority.STANDARD, "a");
+        scheduler.enqueue("background-1", AnalysisPriority.BACKGROUND, "a");
+        scheduler.enqueue("background-2", AnalysisPriority.BACKGROUND, "a");
+
+        assertThat(scheduler.shedLowerThan(AnalysisPriority.INTERACTIVE).item).isEqualTo("background-2");
+        assertThat(scheduler.shedLowerThan(AnalysisPriority.BACKGROUND)).isNull();
+        assertThat(scheduler.size()).isEqualTo(2);
+    }
+
+    private AnalysisScheduler scheduler(String weights) {
+        return new AnalysisScheduler(new SimpleMeterRegistry(), weights, 1.0, 100, AGING_MS, clock::get);
+    }
+
+    private static List<Object> drain(AnalysisScheduler scheduler) {
+        List<Object> items = new ArrayList<>();
+        for (AnalysisScheduler.Ticket ticket = scheduler.poll(); ticket != null; ticket = scheduler.poll()) {
+            items.add(ticket.item);
+        }
+        return items;
+    }
+}
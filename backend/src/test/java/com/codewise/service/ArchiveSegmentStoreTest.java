@@ -0,0 +1,146 @@
+package com.codewise.service;
+
+import com.codewise.dto.ArchivedHistory;
+import com.codewise.util.KeysetCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 세그먼트 쓰기/읽기, block 인덱스, 같은 달 이어 쓰기, 중복 보관 행 제거, 필요한 block 까지만 읽기, 잘린 인덱스 줄 복구 확인
+class ArchiveSegmentStoreTest {
+
+    private static final Long USER = 7L;
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    @TempDir
+    Path dir;
+
+    private ArchiveSegmentStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ArchiveSegmentStore(new ObjectMapper(), dir.toString(), 10);
+    }
+
+    @Test
+    void appendsBlocksAndReadsNewestFirstAcrossMonths() {
+        // 3월 25행 (block 3개) + 4월 5행
+        store.append(ArchiveSegmentStore.HISTORY, USER, YearMonth.of(2025, 3), rows(1, 25, START));
+        store.append(ArchiveSegmentStore.HISTORY, USER, YearMonth.of(2025, 4), rows(26, 5, START.plusMonths(1)));
+
+        assertThat(store.months(ArchiveSegmentStore.HISTORY, USER))
+                .containsExactly(YearMonth.of(2025, 4), YearMonth.of(2025, 3));
+        assertThat(store.index(ArchiveSegmentStore.HISTORY, USER, YearMonth.of(2025, 3))).hasSize(3);
+        assertThat(store.newest(ArchiveSegmentStore.HISTORY, USER)).contains(START.plusMonths(1).plusHours(4));
+
+        List<ArchivedHistory> first = store.readBefore(ArchiveSegmentStore.HISTORY, USER, null, 8, ArchivedHistory.class);
+        assertThat(first).extracting(ArchivedHistory::id).containsExactly(30L, 29L, 28L, 27L, 26L, 25L, 24L, 23L);
+
+        ArchivedHistory last = first.get(first.size() - 1);
+        List<ArchivedHistory> next = store.readBefore(ArchiveSegmentStore.HISTORY, USER,
+                new KeysetCursor.Key(last.createdAt(), last.id()), 100, ArchivedHistory.class);
+        assertThat(next).extracting(ArchivedHistory::id).hasSize(22).startsWith(22L).endsWith(1L);
+    }
+
+    @Test
+    void appendingSameMonthAgainKeepsEarlierBlocksReadable() {
+        store.append(ArchiveSegmentStore.HISTORY, USER, YearMonth.of(2025, 3), rows(1, 12, START));
+        store.append(ArchiveSegmentStore.HISTORY, USER, YearMonth.of(2025, 3), rows(13, 12, START.plusHours(12)));
+
+        List<ArchiveSegmentStore.BlockIndex> blocks = store.index(ArchiveSegmentStore.HISTORY, USER, YearMonth.of(2025, 3));
+        assertThat(blocks).hasSize(4);
+        assertThat(blocks.get(2).offset()).isEqualTo(blocks.get(1).offset() + blocks.get(1).length());
+
+        List<ArchivedHistory> range = store.readRange(ArchiveSegmentStore.HISTORY, USER,
+                START.plusHours(10), START.plusHours(14), ArchivedHistory.class);
+        assertThat(range).extracting(ArchivedHistory::id).containsExactly(14L, 13L, 12L, 11L);
+    }
+
+    @Test
+    void rowsArchivedTwiceAreReturnedOnce() {
+        // 파일 저장 후 hot 삭제 전에 멈춰 다음 실행에서 같은 행을 다시 보관한 경우
+        store.append(ArchiveSegmentStore.HISTORY, USER, YearMonth.of(2025, 3), rows(1, 5, START));
+        store.append(ArchiveSegmentStore.HISTORY, USER, YearMonth.of(2025, 3), rows(1, 5, START));
+
+        assertThat(store.readBefore(ArchiveSegmentStore.HISTORY, USER, null, 100, ArchivedHistory.class))
+                .extracting(ArchivedHistory::id).containsExactly(5L, 4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    void readBeforeStopsBeforeOlderBlocks() throws Exception {
+        // block 3개 (1~10, 11~20, 21~25), 가장 오래된 block 은 깨뜨려서 읽으면 실패하도록
+        store.append(ArchiveSegmentStore.HISTORY, USER, YearMonth.of(2025, 3), rows(1, 25, START));
+        ArchiveSegmentStore.BlockIndex oldest = store.index(ArchiveSegmentStore.HISTORY, USER, YearMonth.of(2025, 3)).get(0);
+        try (FileChannel channel = FileChannel.open(dir.resolve("history/7/2025-03.ndjson.gz"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[oldest.length()]), oldest.offset());
+        }
+
+        List<ArchivedHistory> page = store.readBefore(ArchiveSegmentStore.HISTORY, USER, null, 12, ArchivedHistory.class);
+
+        assertThat(page).extracting(ArchivedHistory::id).hasSize(12).startsWith(25L).endsWith(14L);
+    }
+
+    @Test
+    void readBeforeOrdersBlocksAppendedOutOfOrder() {
+        // 같은 달에 최근 행이 먼저, 더 오래된 행이 나중에 보관된 경우 (파일 순서와 시간 순서가 다름)
+        store.append(ArchiveSegmentStore.HISTORY, USER, YearMonth.of(2025, 3), rows(11, 10, START.plusHours(10)));
+        store.append(ArchiveSegmentStore.HISTORY, USER, YearMonth.of(2025, 3), rows(1, 10, START));
+
+        List<ArchivedHistory> first = store.readBefore(ArchiveSegmentStore.HISTORY, USER, null, 5, ArchivedHistory.class);
+        assertThat(first).extracting(ArchivedHistory::id).containsExactly(20L, 19L, 18L, 17L, 16L);
+
+        ArchivedHistory last = store.readBefore(ArchiveSegmentStore.HISTORY, USER, null, 12, ArchivedHistory.class).get(11);
+        assertThat(last.id()).isEqualTo(9L);
+    }
+
+    @Test
+    void tornIndexLineIsSkippedAndRepairedOnNextAppend() throws Exception {
+        // 인덱스 줄을 쓰다가 멈춘 경우: 줄바꿈 없이 잘린 JSON 조각이 끝에 남음
+        store.append(ArchiveSegmentStore.HISTORY, USER, YearMonth.of(2025, 3), rows(1, 5, START));
+        Path index = dir.resolve("history/7/2025-03.idx");
+        Files.writeString(index, "{\"offset\":123,\"torn", StandardOpenOption.APPEND);
+
+        assertThat(store.index(ArchiveSegmentStore.HISTORY, USER, YearMonth.of(2025, 3))).hasSize(1);
+        assertThat(store.readBefore(ArchiveSegmentStore.HISTORY, USER, null, 100, ArchivedHistory.class))
+                .extracting(ArchivedHistory::id).containsExactly(5L, 4L, 3L, 2L, 1L);
+
+        store.append(ArchiveSegmentStore.HISTORY, USER, YearMonth.of(2025, 3), rows(6, 5, START.plusHours(5)));
+
+        assertThat(Files.readString(index)).doesNotContain("torn").endsWith("\n");
+        assertThat(store.index(ArchiveSegmentStore.HISTORY, USER, YearMonth.of(2025, 3))).hasSize(2);
+        assertThat(store.readBefore(ArchiveSegmentStore.HISTORY, USER, null, 100, ArchivedHistory.class))
+                .extracting(ArchivedHistory::id).hasSize(10).startsWith(10L).endsWith(1L);
+    }
+
+    @Test
+    void deleteUserRemovesSegments() {
+        store.append(ArchiveSegmentStore.HISTORY, USER, YearMonth.of(2025, 3), rows(1, 3, START));
+
+        store.deleteUser(USER);
+
+        assertThat(store.months(ArchiveSegmentStore.HISTORY, USER)).isEmpty();
+    }
+
+    // id 순서대로 한 시간 간격인 행
+    private static List<ArchivedHistory> rows(long firstId, int count, LocalDateTime firstCreatedAt) {
+        List<ArchivedHistory> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new ArchivedHistory(firstId + i, USER, "java", "analysis", "HIGH", "error " + (firstId + i),
+                    null, firstCreatedAt.plusHours(i)));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,64 @@
+package com.codewise.service;
+
+import com.codewise.util.CodeChunker.CodeChunk;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 조각별 AI 응답 병합: issue 줄 번호를 원본 기준으로 보정, metrics 는 줄 수 가중 평균, summary / fix 이어 붙임
+class ChunkedAnalysisServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ChunkedAnalysisService service = new ChunkedAnalysisService(null, objectMapper, 800, 300, 4);
+
+    @Test
+    void mergesChunkResultsInSourceCoordinates() throws Exception {
+        ObjectNode merged = service.merge(List.of(
+                result(new CodeChunk("a", 0, 100),
+                        "{\"summary\":\"first\",\"fix\":\"A\",\"metrics\":{\"score\":80,\"readability\":70.0},"
+                                + "\"issues\":[{\"severity\":\"HIGH\",\"message\":\"m1\",\"line\":3}]}"),
+                result(new CodeChunk("b", 100, 300),
+                        "{\"summary\":\"second\",\"fix\":\"B\",\"metrics\":{\"score\":60,\"readability\":90.0},"
+                                + "\"issues\":[{\"severity\":\"LOW\",\"message\":\"m2\",\"start_line\":5,\"end_line\":7}]}")));
+
+        assertThat(merged.path("summary").asText()).isEqualTo("first\nsecond");
+        assertThat(merged.path("fix").asText()).isEqualTo("A\nB");
+        assertThat(merged.path("metrics").path("score").isIntegralNumber()).isTrue();
+        assertThat(merged.path("metrics").path("score").asLong()).isEqualTo(65);          // (80*100 + 60*300) / 400
+        assertThat(merged.path("metrics").path("readability").asDouble()).isEqualTo(85.0);
+
+        JsonNode issues = merged.path("issues");
+        assertThat(issues).hasSize(2);
+        assertThat(issues.get(0).path("line").asInt()).isEqualTo(3);
+        assertThat(issues.get(1).path("start_line").asInt()).isEqualTo(105);
+        assertThat(issues.get(1).path("end_line").asInt()).isEqualTo(107);
+    }
+
+    @Test
+    void dropsFixWhenAnyChunkHasNone() throws Exception {
+        ObjectNode merged = service.merge(List.of(
+                result(new CodeChunk("a", 0, 10), "{\"summary\":\"s\",\"fix\":\"A\",\"issues\":[]}"),
+                result(new CodeChunk("b", 10, 10), "{\"summary\":\"\",\"issues\":[]}")));
+
+        assertThat(merged.has("fix")).isFalse();
+        assertThat(merged.path("summary").asText()).isEqualTo("s");
+    }
+
+    @Test
+    void shiftLinesLeavesOriginalUntouched() throws Exception {
+        JsonNode issue = objectMapper.readTree("{\"line\":2,\"message\":\"x\"}");
+
+        assertThat(ChunkedAnalysisService.shiftLines(issue, 40).path("line").asInt()).isEqualTo(42);
+        assertThat(issue.path("line").asInt()).isEqualTo(2);
+        assertThat(ChunkedAnalysisService.firstLine(objectMapper.readTree("{\"message\":\"x\"}"))).isEqualTo(-1);
+    }
+
+    private ChunkedAnalysisService.ChunkResult result(CodeChunk chunk, String json) throws Exception {
+        return new ChunkedAnalysisService.ChunkResult(chunk, objectMapper.readTree(json));
+    }
+}
@@ -0,0 +1,125 @@
+package com.codewise.service;
+
+import com.codewise.domain.CodeBlob;
+import com.codewise.domain.CodeSubmission;
+import com.codewise.domain.User;
+import com.codewise.domain.UserRole;
+import com.codewise.repository.CodeBlobRepository;
+import com.codewise.repository.CodeSubmissionRepository;
+import com.codewise.repository.UserRepository;
+import com.codewise.util.CodeHashUtil;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 코드 blob: Deflate 저장 → 압축 해제 왕복, 같은 코드 재저장은 한 행 유지(insertIfAbsent), 참조가 없어진 blob 만 삭제
+// insertIfAbsent 가 MySQL 문법(ON DUPLICATE KEY UPDATE)이라 H2 를 MySQL 모드로 띄움
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:codeblob;MODE=MySQL;DATABASE_TO_LOWER=TRUE")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CodeBlobStore.class)
+class CodeBlobStoreTest {
+
+    @Autowired
+    private CodeBlobStore codeBlobStore;
+    @Autowired
+    private CodeBlobRepository codeBlobRepository;
+    @Autowired
+    private CodeSubmissionRepository codeSubmissionRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        User newUser = new User();
+        newUser.setEmail("blob@codewise.com");
+        newUser.setPassword("blob");
+        newUser.setRole(UserRole.USER);
+        user = userRepository.save(newUser);
+    }
+
+    @Test
+    void largeCodeIsDeflatedAndInflatedBack() {
+        String code = "def 합계(values):\n    return sum(v for v in values)  # 주석 ✅\n".repeat(200);
+
+        CodeSubmission submission = submit(code);
+        entityManager.flush();
+        entityManager.clear();
+
+        CodeBlob blob = codeBlobRepository.findById(CodeHashUtil.sha256Hex(code)).orElseThrow();
+        assertThat(blob.getCompression()).isEqualTo(CodeBlobStore.DEFLATE);
+        assertThat(blob.getOriginalSize()).isEqualTo(code.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(blob.getStoredSize()).isEqualTo(blob.getContent().length).isLessThan(blob.getOriginalSize());
+
+        CodeSubmission loaded = codeSubmissionRepository.findById(submission.getId()).orElseThrow();
+        assertThat(codeBlobStore.text(loaded)).isEqualTo(code);
+    }
+
+    @Test
+    void smallCodeIsStoredAsIs() {
+        String code = "print('안녕')";
+
+        CodeSubmission submission = submit(code);
+        entityManager.flush();
+        entityManager.clear();
+
+        CodeBlob blob = codeBlobRepository.findById(CodeHashUtil.sha256Hex(code)).orElseThrow();
+        assertThat(blob.getCompression()).isEqualTo(CodeBlobStore.NONE);
+        assertThat(new String(blob.getContent(), StandardCharsets.UTF_8)).isEqualTo(code);
+        assertThat(codeBlobStore.text(codeSubmissionRepository.findById(submission.getId()).orElseThrow())).isEqualTo(code);
+    }
+
+    @Test
+    void storingSameCodeKeepsOneRow() {
+        String code = "x = 1\n".repeat(300);
+        String hash = CodeHashUtil.sha256Hex(code);
+
+        codeBlobStore.store(code);
+        codeBlobStore.store(code);
+        // 이미 있는 hash 면 다른 내용으로 넣으려 해도 처음 저장된 행이 그대로 남음
+        codeBlobRepository.insertIfAbsent(hash, CodeBlobStore.NONE, new byte[]{1}, 1, 1, LocalDateTime.now());
+        entityManager.clear();
+
+        assertThat(codeBlobRepository.count()).isEqualTo(1);
+        CodeBlob blob = codeBlobRepository.findById(hash).orElseThrow();
+        assertThat(blob.getCompression()).isEqualTo(CodeBlobStore.DEFLATE);
+        assertThat(blob.getOriginalSize()).isEqualTo(code.length());
+    }
+
+    @Test
+    void deletesOnlyUnreferencedBlobs() {
+        CodeSubmission sharedA = submit("shared = True");
+        submit("shared = True");
+        CodeSubmission only = submit("only = True");
+        List<String> hashes = codeSubmissionRepository.findBlobHashesByIdIn(List.of(sharedA.getId(), only.getId()));
+
+        codeSubmissionRepository.deleteAllByIdInBatch(List.of(sharedA.getId(), only.getId()));
+
+        assertThat(hashes).hasSize(2);
+        assertThat(codeBlobStore.deleteUnreferenced(hashes)).isEqualTo(1);
+        assertThat(codeBlobRepository.existsById(CodeHashUtil.sha256Hex("shared = True"))).isTrue();
+        assertThat(codeBlobRepository.existsById(CodeHashUtil.sha256Hex("only = True"))).isFalse();
+    }
+
+    private CodeSubmission submit(String code) {
+        return codeSubmissionRepository.saveAndFlush(CodeSubmission.builder()
+                .user(user)
+                .blob(codeBlobStore.store(code))
+                .language("python")
+                .submittedAt(LocalDateTime.now())
+                .build());
+    }
+}
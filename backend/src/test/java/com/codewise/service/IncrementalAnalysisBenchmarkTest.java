@@ -0,0 +1,283 @@
+package com.codewise.service;
+
+import com.codewise.domain.CodeSubmission;
+import com.codewise.dto.AnalyzeRequest;
+import com.codewise.repository.AnalysisCacheRepository;
+import com.codewise.repository.CodeBlobRepository;
+import com.codewise.repository.CodeSubmissionRepository;
+import com.codewise.util.CodeChunker;
+import com.codewise.util.CodeHashUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 같은 파일을 여러 번 고쳐 재제출하는 시나리오에서 전체 분석과 증분 분석의 업스트림 전송량/요청 수 비교
+// (지연은 CI 부하에 따라 흔들리므로 검증하지 않고 로그로만 남김)
+class IncrementalAnalysisBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(IncrementalAnalysisBenchmarkTest.class);
+
+    private static final int FUNCTIONS = 60;
+    private static final int MAX_REGION_LINES = 120;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong upstreamBytes = new AtomicLong();
+    private final AtomicLong upstreamRequests = new AtomicLong();
+    private StubAiServer stubServer;
+
+    // 요청 코드 크기에 비례해 느려지고, "def " 로 시작하는 줄마다 issue 하나를 돌려주는 stub AI 서버
+    @BeforeEach
+    void startStubServer() throws Exception {
+        stubServer = StubAiServer.start(request -> {
+            upstreamBytes.addAndGet(request.length);
+            upstreamRequests.incrementAndGet();
+            String code = objectMapper.readTree(request).path("code").asText();
+            Thread.sleep(5 + request.length / 200);
+
+            ObjectNode response = objectMapper.createObjectNode();
+            response.put("summary", "ok");
+            response.putObject("metrics").put("score", 80);
+            ArrayNode issues = response.putArray("issues");
+            String[] lines = code.split("\n", -1);
+            for (int i = 0; i < lines.length; i++) {
+                if (lines[i].startsWith("def ")) {
+                    issues.addObject().put("severity", "info").put("message", lines[i]).put("line", i + 1);
+                }
+            }
+            return objectMapper.writeValueAsBytes(response);
+        });
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        stubServer.close();
+    }
+
+    @Test
+    void incrementalSendsLessOnEditSequence() throws Exception {
+        List<String> versions = editSequence();
+
+        ChunkedAnalysisService full = chunkedAnalysisService();
+        AtomicReference<String> previous = new AtomicReference<>();
+        RegionStoreCache regionStore = new RegionStoreCache();
+        IncrementalAnalysisService incremental = incrementalAnalysisService(previous, regionStore);
+
+        long fullBytes = 0;
+        long fullNanos = 0;
+        long incrementalBytes = 0;
+        long incrementalNanos = 0;
+        long editRequests = 0;   // 첫 제출 이후 수정본에서 증분 분석이 보낸 요청 수
+        long editRegions = 0;    // 같은 수정본들의 전체 영역 수 (모든 영역을 다시 보냈다면 요청 수)
+
+        for (int v = 0; v < versions.size(); v++) {
+            String code = versions.get(v);
+            AnalyzeRequest req = new AnalyzeRequest(code, "python", "service.py");
+
+            upstreamBytes.set(0);
+            long startedAt = System.nanoTime();
+            JsonNode fullResult = objectMapper.readTree(full.analyze(req).block(Duration.ofSeconds(10)));
+            fullNanos += System.nanoTime() - startedAt;
+            fullBytes += upstreamBytes.get();
+
+            CountDownLatch regionsStored = regionStore.expect(regionKeys(code));
+            upstreamBytes.set(0);
+            upstreamRequests.set(0);
+            startedAt = System.nanoTime();
+            JsonNode incrementalResult = objectMapper.readTree(
+                    incremental.analyze("user@codewise.com", req).block(Duration.ofSeconds(10)));
+            incrementalNanos += System.nanoTime() - startedAt;
+            incrementalBytes += upstreamBytes.get();
+            if (v > 0) {
+                editRequests += upstreamRequests.get();
+                editRegions += regionKeys(code).size();
+            }
+
+            // 증분 결과도 전체 분석과 같은 issue 를 원본 기준 줄 번호로 가리켜야 함
+            assertThat(issueLines(incrementalResult)).isEqualTo(expectedIssueLines(code));
+            assertThat(issueLines(fullResult)).isEqualTo(expectedIssueLines(code));
+
+            previous.set(code);   // saveNewResult 로 저장된 직전 제출
+            // 영역별 결과는 비동기로 저장되므로 이번 버전의 모든 영역이 저장된 뒤 다음 수정으로 넘어감
+            assertThat(regionsStored.await(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        log.info("증분 분석 비교: bytes full={} incremental={}, 수정본 요청 {}/{} 영역, 지연 full={}ms incremental={}ms",
+                fullBytes, incrementalBytes, editRequests, editRegions,
+                TimeUnit.NANOSECONDS.toMillis(fullNanos), TimeUnit.NANOSECONDS.toMillis(incrementalNanos));
+        assertThat(incrementalBytes).isLessThan(fullBytes / 2);
+        // 수정본마다 바뀐 영역만 보냄 (바뀌지 않은 영역은 저장된 결과 재사용)
+        assertThat(editRequests).isPositive().isLessThan(editRegions);
+    }
+
+    // 최초 제출 → 함수 본문 수정, 함수 추가/삭제/삽입, 이름 변경 등이 이어지는 재제출 시퀀스
+    private List<String> editSequence() {
+        List<String> functions = new ArrayList<>();
+        for (int i = 0; i < FUNCTIONS; i++) {
+            functions.add(function("func_" + i, i));
+        }
+
+        List<UnaryOperator<List<String>>> edits = List.of(
+                fs -> replace(fs, 10, fs.get(10).replace("total += k * 10", "total += k * 11")),
+                fs -> append(fs, function("helper_a", 100)),
+                fs -> replace(fs, 30, fs.get(30).replace("return total - 30", "return total - 31")),
+                fs -> insert(fs, 21, function("helper_b", 200)),
+                fs -> remove(fs, 45),
+                fs -> replace(replace(fs, 0, fs.get(0).replace("k * 0", "k * 2")), fs.size() - 1,
+                        fs.get(fs.size() - 1).replace("return total + 100", "return total")),
+                fs -> replace(fs, 5, fs.get(5).replace("def func_5(", "def renamed_5("))
+        );
+
+        List<String> versions = new ArrayList<>();
+        versions.add(render(functions));
+        for (UnaryOperator<List<String>> edit : edits) {
+            functions = edit.apply(functions);
+            versions.add(render(functions));
+        }
+        return versions;
+    }
+
+    private static String function(String name, int n) {
+        return "def " + name + "(x):\n"
+                + "    \"\"\"" + name + " 계산\"\"\"\n"
+                + "    total = 0\n"
+                + "    for k in range(x):\n"
+                + "        total += k * " + n + "\n"
+                + "    if total > 100:\n"
+                + "        return total - " + n + "\n"
+                + "    return total + " + n + "\n";
+    }
+
+    private static String render(List<String> functions) {
+        return "import math\nimport os\n\n\n" + String.join("\n\n", functions);
+    }
+
+    private static List<String> replace(List<String> fs, int index, String function) {
+        List<String> copy = new ArrayList<>(fs);
+        copy.set(index, function);
+        return copy;
+    }
+
+    private static List<String> append(List<String> fs, String function) {
+        List<String> copy = new ArrayList<>(fs);
+        copy.add(function);
+        return copy;
+    }
+
+    private static List<String> insert(List<String> fs, int index, String function) {
+        List<String> copy = new ArrayList<>(fs);
+        copy.add(index, function);
+        return copy;
+    }
+
+    private static List<String> remove(List<String> fs, int index) {
+        List<String> copy = new ArrayList<>(fs);
+        copy.remove(index);
+        return copy;
+    }
+
+    private static List<String> expectedIssueLines(String code) {
+        List<String> expected = new ArrayList<>();
+        String[] lines = code.split("\n", -1);
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i].startsWith("def ")) {
+                expected.add((i + 1) + ":" + lines[i]);
+            }
+        }
+        return expected;
+    }
+
+    private static List<String> issueLines(JsonNode result) {
+        List<String> lines = new ArrayList<>();
+        for (JsonNode issue : result.path("issues")) {
+            lines.add(issue.path("line").asInt() + ":" + issue.path("message").asText());
+        }
+        return lines;
+    }
+
+    private static Set<String> regionKeys(String code) {
+        return CodeChunker.regions(code, "python", MAX_REGION_LINES).stream()
+                .map(region -> CodeHashUtil.regionKey(region.code(), "python"))
+                .collect(Collectors.toSet());
+    }
+
+    private ChunkedAnalysisService chunkedAnalysisService() {
+        return chunkedAnalysisService(newCacheService());
+    }
+
+    private ChunkedAnalysisService chunkedAnalysisService(AnalysisCacheService cacheService) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AiBulkhead bulkhead = new AiBulkhead(new StaticLimitStrategy(8),
+                new AnalysisScheduler(registry, "", 1.0, 100, 5000), 100, 1000, registry);
+        AiServerClient client = new AiServerClient(stubServer.baseUrl(), "/analyze/stream", cacheService, bulkhead, objectMapper, registry);
+        return new ChunkedAnalysisService(client, objectMapper, 800, 300, 4);
+    }
+
+    private IncrementalAnalysisService incrementalAnalysisService(AtomicReference<String> previous,
+                                                                  AnalysisCacheService cacheService) {
+        CodeSubmissionRepository submissions = mock(CodeSubmissionRepository.class);
+        when(submissions.findTopByUser_EmailAndFileNameOrderByIdDesc(any(), any()))
+                .thenAnswer(invocation -> Optional.ofNullable(previous.get())
+                        .map(code -> CodeSubmission.builder().code(code).build()));
+
+        return new IncrementalAnalysisService(chunkedAnalysisService(cacheService), cacheService, submissions,
+                new CodeBlobStore(mock(CodeBlobRepository.class), 512), objectMapper, new SimpleMeterRegistry(),
+                true, 80, MAX_REGION_LINES, 4);
+    }
+
+    // DB 계층은 비어 있는 mock, 메모리 계층만 사용
+    private AnalysisCacheService newCacheService() {
+        return new AnalysisCacheService(mock(AnalysisCacheRepository.class), new SimpleMeterRegistry(), 10_000, 60, 1000);
+    }
+
+    // 기다리는 영역 key 가 모두 저장되면 열리는 latch 를 돌려주는 캐시
+    private static final class RegionStoreCache extends AnalysisCacheService {
+
+        private final Set<String> pending = ConcurrentHashMap.newKeySet();
+        private volatile CountDownLatch latch = new CountDownLatch(0);
+
+        private RegionStoreCache() {
+            super(mock(AnalysisCacheRepository.class), new SimpleMeterRegistry(), 10_000, 60, 1000);
+        }
+
+        // 분석 요청 전에 호출: 아직 저장되지 않은 key 수만큼 기다림
+        synchronized CountDownLatch expect(Set<String> keys) {
+            pending.clear();
+            keys.stream().filter(key -> peek(key).isEmpty()).forEach(pending::add);
+            latch = new CountDownLatch(pending.size());
+            return latch;
+        }
+
+        @Override
+        public void put(String cacheKey, String language, String responseJson) {
+            super.put(cacheKey, language, responseJson);
+            if (pending.remove(cacheKey)) {
+                latch.countDown();
+            }
+        }
+    }
+}
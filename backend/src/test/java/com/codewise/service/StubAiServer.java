@@ -0,0 +1,61 @@
+package com.codewise.service;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 테스트용 로컬 stub AI 서버: POST /analyze 요청 본문을 handler 에 넘기고 돌려준 JSON 으로 응답
+final class StubAiServer implements AutoCloseable {
+
+    @FunctionalInterface
+    interface Handler {
+        byte[] handle(byte[] requestBody) throws Exception;
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private StubAiServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    static StubAiServer start(Handler handler) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/analyze", exchange -> {
+            try {
+                byte[] body = handler.handle(exchange.getRequestBody().readAllBytes());
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exchange.sendResponseHeaders(503, -1);
+            } catch (Exception e) {
+                exchange.sendResponseHeaders(500, -1);
+            } finally {
+                exchange.close();
+            }
+        });
+        ExecutorService executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+        return new StubAiServer(server, executor);
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
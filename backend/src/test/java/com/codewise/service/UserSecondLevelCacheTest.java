@@ -0,0 +1,163 @@
+package com.codewise.service;
+
+import com.codewise.config.HibernateCacheConfig;
+import com.codewise.domain.User;
+import com.codewise.domain.UserRole;
+import com.codewise.dto.SignupRequestDto;
+import com.codewise.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.NaturalIdStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 사용자 2차 캐시 (HibernateCacheConfig): email 조회 적중, email 변경 / 탈퇴 뒤 조회, UserCacheEvictor 의 커밋 후 제거
+// 커밋 시점의 캐시 갱신을 보려고 테스트 전체 트랜잭션을 끄고 (NOT_SUPPORTED) 조회마다 새 세션으로 읽음
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({HibernateCacheConfig.class, UserCacheEvictor.class, UserService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserSecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserCacheEvictor userCacheEvictor;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+    @MockBean
+    private AnalysisResultService analysisResultService;
+
+    private Statistics statistics;
+    private Cache cache;
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+        cache = sessionFactory.getCache();
+        cache.evictAllRegions();
+        statistics.clear();
+    }
+
+    @Test
+    void findByEmailIsServedFromCacheAfterFirstLoad() {
+        Long id = saveUser("cached@codewise.com");
+        cache.evictAllRegions();
+        statistics.clear();
+
+        assertThat(userRepository.findByEmail("cached@codewise.com")).map(User::getId).contains(id);
+        assertThat(naturalIdStatistics().getCacheMissCount()).isEqualTo(1);
+        long statements = statistics.getPrepareStatementCount();
+        assertThat(statements).isPositive();
+
+        // 새 세션: email → id, id → 사용자 둘 다 캐시에서 찾고 SQL 없음
+        assertThat(userRepository.findByEmail("cached@codewise.com")).map(User::getId).contains(id);
+        assertThat(naturalIdStatistics().getCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+    }
+
+    @Test
+    void updatedEmailResolvesAndOldEmailStops() {
+        Long id = saveUser("before@codewise.com");
+        assertThat(userRepository.findByEmail("before@codewise.com")).isPresent();   // 캐시에 올림
+
+        SignupRequestDto dto = new SignupRequestDto();
+        dto.setEmail("after@codewise.com");
+        userService.updateUser(dto, "before@codewise.com");
+
+        assertThat(userRepository.findByEmail("before@codewise.com")).isEmpty();
+        assertThat(userRepository.findByEmail("after@codewise.com")).map(User::getId).contains(id);
+
+        // 바뀐 email 도 다시 캐시에서 찾음
+        statistics.clear();
+        assertThat(userRepository.findByEmail("after@codewise.com")).map(User::getId).contains(id);
+        assertThat(naturalIdStatistics().getCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void deletedUserIsNotServedFromCache() {
+        Long id = saveUser("leaving@codewise.com");
+        assertThat(userRepository.findByEmail("leaving@codewise.com")).isPresent();   // 캐시에 올림
+        assertThat(cache.containsEntity(User.class, id)).isTrue();
+
+        userService.deleteUser("leaving@codewise.com");
+
+        assertThat(cache.containsEntity(User.class, id)).isFalse();
+        statistics.clear();
+        assertThat(userRepository.findByEmail("leaving@codewise.com")).isEmpty();
+        // 자리표시 email 로도 찾을 수 없음 (@SQLRestriction 으로 탈퇴 표시된 행 제외)
+        assertThat(userRepository.findByEmail(UserPurgeService.tombstoneEmail(id))).isEmpty();
+        assertThat(naturalIdStatistics().getCacheHitCount()).isZero();
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getCacheHitCount()).isZero();
+    }
+
+    @Test
+    void evictorRemovesEntryOnlyAfterCommit() {
+        Long id = saveUser("evict@codewise.com");
+        assertThat(userRepository.findByEmail("evict@codewise.com")).isPresent();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userCacheEvictor.evict(id);
+            status.setRollbackOnly();
+        });
+        assertThat(cache.containsEntity(User.class, id)).isTrue();   // 롤백되면 그대로
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userCacheEvictor.evict(id);
+            assertThat(cache.containsEntity(User.class, id)).isTrue();   // 커밋 전에는 아직 남아 있음
+        });
+        assertThat(cache.containsEntity(User.class, id)).isFalse();
+
+        // natural id 영역도 비워져서 다음 조회는 캐시 miss
+        statistics.clear();
+        assertThat(userRepository.findByEmail("evict@codewise.com")).map(User::getId).contains(id);
+        assertThat(naturalIdStatistics().getCacheMissCount()).isEqualTo(1);
+        assertThat(naturalIdStatistics().getCacheHitCount()).isZero();
+    }
+
+    private Long saveUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("cache");
+        user.setRole(UserRole.USER);
+        return userRepository.save(user).getId();
+    }
+
+    private NaturalIdStatistics naturalIdStatistics() {
+        return statistics.getNaturalIdStatistics(User.class.getName());
+    }
+}
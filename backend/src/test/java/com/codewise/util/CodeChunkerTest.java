@@ -0,0 +1,80 @@
+package com.codewise.util;
+
+import com.codewise.util.CodeChunker.CodeChunk;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 함수/클래스 경계 분할: 데코레이터/주석은 선언과 같은 조각, 문자열 안 중괄호 무시, 경계가 없으면 2배에서 강제 분할
+class CodeChunkerTest {
+
+    @Test
+    void splitsPythonAtDecoratedDefinitions() {
+        StringBuilder code = new StringBuilder("import os\n\n");
+        for (int f = 0; f < 4; f++) {
+            code.append("@dec\ndef f").append(f).append("():\n");
+            for (int i = 0; i < 5; i++) {
+                code.append("    x = ").append(i).append('\n');
+            }
+            code.append('\n');
+        }
+
+        List<CodeChunk> chunks = CodeChunker.split(code.toString(), "python", 8);
+
+        assertThat(chunks).extracting(CodeChunk::startLine).containsExactly(0, 10, 18, 26);
+        assertThat(chunks.subList(1, chunks.size())).allSatisfy(chunk -> assertThat(chunk.code()).startsWith("@dec\ndef f"));
+        assertReassembles(code.toString(), chunks);
+    }
+
+    @Test
+    void regionsFollowClassMembersAndIgnoreBracesInStrings() {
+        StringBuilder code = new StringBuilder("public class A {\n");
+        for (int m = 0; m < 3; m++) {
+            code.append("    // doc ").append(m).append('\n')
+                    .append("    void m").append(m).append("() {\n")
+                    .append("        String s = \"}\";\n")
+                    .append("        if (x) {\n")
+                    .append("        } else {\n")
+                    .append("        }\n")
+                    .append("    }\n");
+        }
+        code.append("}\n");
+
+        List<CodeChunk> regions = CodeChunker.regions(code.toString(), "java", 100);
+
+        assertThat(regions).extracting(CodeChunk::startLine).containsExactly(0, 1, 8, 15);
+        assertThat(regions.get(1).code()).startsWith("    // doc 0\n    void m0()");
+        assertReassembles(code.toString(), regions);
+    }
+
+    @Test
+    void forcesCutAtTwiceTargetWithoutBoundaries() {
+        StringBuilder body = new StringBuilder("{\n");
+        for (int i = 0; i < 25; i++) {
+            body.append("x").append(i).append(";\n");
+        }
+        body.append('}');
+
+        List<CodeChunk> chunks = CodeChunker.split(body.toString(), "js", 5);
+
+        assertThat(chunks).extracting(CodeChunk::lineCount).containsExactly(10, 10, 7);
+        assertReassembles(body.toString(), chunks);
+    }
+
+    @Test
+    void smallCodeIsOneChunk() {
+        assertThat(CodeChunker.split("a\nb", "java", 5)).containsExactly(new CodeChunk("a\nb", 0, 2));
+    }
+
+    // 조각을 순서대로 이으면 원본과 같고 줄 오프셋이 연속
+    private static void assertReassembles(String code, List<CodeChunk> chunks) {
+        int expectedStart = 0;
+        for (CodeChunk chunk : chunks) {
+            assertThat(chunk.startLine()).isEqualTo(expectedStart);
+            expectedStart += chunk.lineCount();
+        }
+        assertThat(String.join("\n", chunks.stream().map(CodeChunk::code).toList())).isEqualTo(code);
+    }
+}
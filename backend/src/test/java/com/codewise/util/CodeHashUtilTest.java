@@ -0,0 +1,46 @@
+package com.codewise.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 캐시 키 정규화: 의미 없는 공백 차이는 같은 키, 문자열 리터럴 안의 공백 차이는 다른 키
+class CodeHashUtilTest {
+
+    @Test
+    void collapsesWhitespaceOutsideLiteralsAndKeepsIndentation() {
+        assertThat(CodeHashUtil.normalize("a  =\t 1   \r\n\n  b   c  \n\n  \n"))
+                .isEqualTo("a = 1\n\n  b c");
+        assertThat(CodeHashUtil.analysisKey("def f():\n    return  1\n", "Python"))
+                .isEqualTo(CodeHashUtil.analysisKey("def f():\r\n    return 1", "python "));
+    }
+
+    @Test
+    void keepsWhitespaceInsideStringLiterals() {
+        assertThat(CodeHashUtil.normalize("print(\"a   b\")  ")).isEqualTo("print(\"a   b\")");
+        assertThat(CodeHashUtil.normalize("x  =  'it''s   ok'   +  y")).isEqualTo("x = 'it''s   ok' + y");
+        assertThat(CodeHashUtil.normalize("s = \"esc \\\"  q\"   z")).isEqualTo("s = \"esc \\\"  q\" z");
+
+        assertThat(CodeHashUtil.analysisKey("x = \"a  b\"", "python"))
+                .isNotEqualTo(CodeHashUtil.analysisKey("x = \"a b\"", "python"));
+    }
+
+    @Test
+    void keepsMultiLineLiteralsVerbatim() {
+        assertThat(CodeHashUtil.normalize("doc = \"\"\"a   \n   b    c\n\"\"\"   +  1"))
+                .isEqualTo("doc = \"\"\"a   \n   b    c\n\"\"\" + 1");
+        assertThat(CodeHashUtil.normalize("t = `x   ${y}\n  z  `  ;"))
+                .isEqualTo("t = `x   ${y}\n  z  ` ;");
+    }
+
+    @Test
+    void unterminatedQuoteDoesNotLeakIntoNextLine() {
+        assertThat(CodeHashUtil.normalize("// don't   do\nx   = 1")).isEqualTo("// don't   do\nx = 1");
+    }
+
+    @Test
+    void regionKeyDiffersFromAnalysisKey() {
+        assertThat(CodeHashUtil.regionKey("x = 1", "java")).isNotEqualTo(CodeHashUtil.analysisKey("x = 1", "java"));
+        assertThat(CodeHashUtil.normalizeLanguage(null)).isEqualTo("auto");
+    }
+}
@@ -0,0 +1,60 @@
+package com.codewise.util;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Encoders;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 한 번 검증 + 클레임 캐시: 기존 방식으로 발급한 토큰 호환, 변조/만료 토큰 거부, 캐시된 결과 재사용
+class JwtUtilTest {
+
+    private static final String SECRET = Encoders.BASE64.encode("codewise-test-secret-key-0123456789".getBytes());
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 100);
+
+    @Test
+    void verifiesOnceAndReusesCachedClaims() {
+        String token = jwtUtil.generateToken("me@codewise.com");
+
+        JwtUtil.VerifiedToken first = jwtUtil.verify(token).orElseThrow();
+        assertThat(first.email()).isEqualTo("me@codewise.com");
+        assertThat(first.expiresAt()).isAfter(new Date().toInstant());
+        assertThat(jwtUtil.verify(token)).containsSame(first);
+        assertThat(jwtUtil.getEmail(token)).isEqualTo("me@codewise.com");
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void acceptsTokensSignedWithRawSecretString() {
+        // 변경 전 generateToken 과 같은 방식 (문자열 키를 Base64 로 디코딩해 서명), email 클레임 없이 sub 만
+        String legacy = Jwts.builder()
+                .setSubject("legacy@codewise.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(SignatureAlgorithm.HS256, SECRET)
+                .compact();
+
+        assertThat(jwtUtil.verify(legacy)).hasValueSatisfying(t -> assertThat(t.email()).isEqualTo("legacy@codewise.com"));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void rejectsTamperedAndExpiredTokens() {
+        String token = jwtUtil.generateToken("me@codewise.com");
+        int signatureStart = token.lastIndexOf('.') + 1;   // 서명 첫 글자 (6비트 전부 서명 바이트) 변경
+        String tampered = token.substring(0, signatureStart) + (token.charAt(signatureStart) == 'A' ? 'B' : 'A')
+                + token.substring(signatureStart + 1);
+        String expired = Jwts.builder()
+                .setSubject("old@codewise.com")
+                .setExpiration(new Date(System.currentTimeMillis() - 1_000))
+                .signWith(SignatureAlgorithm.HS256, SECRET)
+                .compact();
+
+        assertThat(jwtUtil.verify(tampered)).isEmpty();
+        assertThat(jwtUtil.verify(expired)).isEmpty();
+        assertThat(jwtUtil.validateToken(null)).isFalse();
+    }
+}
@@ -0,0 +1,58 @@
+package com.codewise.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 검색 snippet: 겹치는 검색어는 가장 긴 것 하나만 강조, 대소문자 무시, 한국어/서로게이트 경계, 본문 HTML 이스케이프
+class SearchHighlighterTest {
+
+    @Test
+    void overlappingTermsHighlightLongestMatchOnce() {
+        assertThat(SearchHighlighter.snippet("CodeWise code", "code codewise", 100))
+                .isEqualTo("<em>CodeWise</em> <em>code</em>");
+        // 겹치는 두 검색어 중 먼저 맞은 쪽만 강조 (em 이 중첩되거나 글자가 두 번 나오지 않음)
+        assertThat(SearchHighlighter.snippet("abcd", "abc bcd", 100)).isEqualTo("<em>abc</em>d");
+        assertThat(SearchHighlighter.snippet("aaaaa", "aa", 100)).isEqualTo("<em>aa</em><em>aa</em>a");
+    }
+
+    @Test
+    void matchesIgnoringCase() {
+        assertThat(SearchHighlighter.snippet("NullPointerException thrown", "nullpointer", 100))
+                .isEqualTo("<em>NullPointer</em>Exception thrown");
+        assertThat(SearchHighlighter.snippet("null check", "NULL", 100)).isEqualTo("<em>null</em> check");
+        // 소문자로 바꾸면 길이가 늘어나는 문자('İ' → "i̇") 뒤에서도 위치가 어긋나지 않음
+        assertThat(SearchHighlighter.snippet("İİİ error", "error", 100)).isEqualTo("İİİ <em>error</em>");
+    }
+
+    @Test
+    void highlightsKoreanText() {
+        assertThat(SearchHighlighter.snippet("널 포인터 예외가 발생할 수 있습니다", "포인터 예외", 100))
+                .isEqualTo("널 <em>포인터</em> <em>예외</em>가 발생할 수 있습니다");
+        // 첫 일치 위치 앞 maxLength/3 글자부터 잘라 말줄임 표시
+        assertThat(SearchHighlighter.snippet("가나다라마바사아자차카타파하 변수명 규칙 위반", "변수명", 9))
+                .isEqualTo("…파하 <em>변수명</em> 규칙…");
+    }
+
+    @Test
+    void doesNotSplitSurrogatePairs() {
+        String snippet = SearchHighlighter.snippet("🔥🔥 경고 🔥🔥", "경고", 6);
+
+        assertThat(snippet).isEqualTo("…🔥 <em>경고</em> …");
+        assertThat(snippet.codePoints().noneMatch(cp -> Character.isSurrogate((char) cp))).isTrue();
+    }
+
+    @Test
+    void escapesHtmlOutsideAndInsideMatches() {
+        assertThat(SearchHighlighter.snippet("<b>x & y</b> \"q\" 'r'", "x", 100))
+                .isEqualTo("&lt;b&gt;<em>x</em> &amp; y&lt;/b&gt; &quot;q&quot; &#39;r&#39;");
+        assertThat(SearchHighlighter.snippet("if (a<b) return", "a<b", 100))
+                .isEqualTo("if (<em>a&lt;b</em>) return");
+    }
+
+    @Test
+    void noMatchReturnsEscapedPrefix() {
+        assertThat(SearchHighlighter.snippet("a<b long text", "zzz", 5)).isEqualTo("a&lt;b l…");
+        assertThat(SearchHighlighter.snippet(null, "x", 10)).isEmpty();
+    }
+}